@@ -0,0 +1,148 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A local HTTP server that answers every request for a path with a fixed payload, along with a {@link ConnectionContext} and {@link TokenProvider} that connect to it
+ */
+public final class StubServer implements AutoCloseable {
+
+    private final DefaultConnectionContext connectionContext;
+
+    private final Map<String, Payload> payloads = new ConcurrentHashMap<>();
+
+    private final DisposableServer server;
+
+    private final TokenProvider tokenProvider = connectionContext -> Mono.just("bearer test-token");
+
+    public StubServer() {
+        this.server = HttpServer.create()
+            .host("localhost")
+            .port(0)
+            .handle(this::respond)
+            .bindNow();
+
+        this.connectionContext = DefaultConnectionContext.builder()
+            .apiHost(this.server.host())
+            .port(this.server.port())
+            .secure(false)
+            .build();
+    }
+
+    /**
+     * Read a payload from the classpath
+     *
+     * @param path the path of the payload
+     * @return the contents of the payload
+     */
+    public static byte[] fixture(String path) {
+        try (InputStream in = StubServer.class.getClassLoader().getResourceAsStream(path)) {
+            if (in == null) {
+                throw new IllegalArgumentException(String.format("Fixture %s does not exist", path));
+            }
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        this.connectionContext.dispose();
+        this.server.disposeNow();
+    }
+
+    public ConnectionContext getConnectionContext() {
+        return this.connectionContext;
+    }
+
+    public Mono<String> getRoot() {
+        return getRoot("/");
+    }
+
+    public Mono<String> getRoot(String path) {
+        return Mono.just(String.format("http://%s:%d%s", this.server.host(), this.server.port(), path));
+    }
+
+    public TokenProvider getTokenProvider() {
+        return this.tokenProvider;
+    }
+
+    /**
+     * Answer every request for a path with a payload
+     *
+     * @param path        the path, excluding any query
+     * @param contentType the content type of the payload
+     * @param payload     the payload
+     * @return this server
+     */
+    public StubServer respond(String path, String contentType, byte[] payload) {
+        this.payloads.put(path, new Payload(contentType, payload));
+        return this;
+    }
+
+    private Mono<Void> respond(HttpServerRequest request, HttpServerResponse response) {
+        Payload payload = this.payloads.get(request.fullPath());
+
+        if (payload == null) {
+            return response
+                .status(HttpResponseStatus.NOT_FOUND)
+                .send();
+        }
+
+        return response
+            .header(HttpHeaderNames.CONTENT_LENGTH, String.valueOf(payload.body.length))
+            .header(HttpHeaderNames.CONTENT_TYPE, payload.contentType)
+            .sendByteArray(Mono.just(payload.body))
+            .then();
+    }
+
+    private static final class Payload {
+
+        private final byte[] body;
+
+        private final String contentType;
+
+        private Payload(String contentType, byte[] body) {
+            this.body = body;
+            this.contentType = contentType;
+        }
+
+    }
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.client;
+
+import org.cloudfoundry.client.v2.applications.ListApplicationsRequest;
+import org.cloudfoundry.reactor.client.v2.AbstractClientV2Operations;
+import org.cloudfoundry.reactor.client.v3.AbstractClientV3Operations;
+import org.cloudfoundry.reactor.util.DelegatingUriQueryParameterBuilder;
+import org.cloudfoundry.reactor.util.UriQueryParameterBuilder;
+import org.cloudfoundry.reactor.util.UriQueryParameters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Measures the construction of v2 and v3 list URIs from the {@link QueryBuilder} and filter parameters of a request, as performed by {@link AbstractClientV2Operations} and
+ * {@link AbstractClientV3Operations}
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+public class FilterBuilderBenchmark {
+
+    private ListApplicationsRequest v2Request;
+
+    private UriQueryParameterBuilder v2UriQueryParameterBuilder;
+
+    private org.cloudfoundry.client.v3.applications.ListApplicationsRequest v3Request;
+
+    private UriQueryParameterBuilder v3UriQueryParameterBuilder;
+
+    @Benchmark
+    public String buildUriV2() {
+        return buildUri("v2", this.v2UriQueryParameterBuilder, this.v2Request);
+    }
+
+    @Benchmark
+    public String buildUriV3() {
+        return buildUri("v3", this.v3UriQueryParameterBuilder, this.v3Request);
+    }
+
+    @Setup
+    public void setUp() {
+        this.v2UriQueryParameterBuilder = DelegatingUriQueryParameterBuilder.builder()
+            .builders(new org.cloudfoundry.reactor.client.v2.FilterBuilder(), new QueryBuilder())
+            .build();
+
+        this.v2Request = ListApplicationsRequest.builder()
+            .names("test-application-name-1", "test-application-name-2")
+            .organizationIds("test-organization-id")
+            .spaceIds("test-space-id-1", "test-space-id-2")
+            .page(1)
+            .build();
+
+        this.v3UriQueryParameterBuilder = DelegatingUriQueryParameterBuilder.builder()
+            .builders(new org.cloudfoundry.reactor.client.v3.FilterBuilder(), new QueryBuilder())
+            .build();
+
+        this.v3Request = org.cloudfoundry.client.v3.applications.ListApplicationsRequest.builder()
+            .names("test-application-name-1", "test-application-name-2")
+            .organizationIds("test-organization-id")
+            .spaceIds("test-space-id-1", "test-space-id-2")
+            .page(1)
+            .build();
+    }
+
+    private static String buildUri(String version, UriQueryParameterBuilder uriQueryParameterBuilder, Object request) {
+        UriComponentsBuilder builder = UriComponentsBuilder.fromUriString("https://api.run.pivotal.io/")
+            .pathSegment(version, "apps");
+        UriQueryParameters.set(builder, uriQueryParameterBuilder.build(request));
+
+        return builder
+            .encode()
+            .build()
+            .toUriString();
+    }
+
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.doppler;
+
+import okio.ByteString;
+import org.cloudfoundry.doppler.Envelope;
+import org.cloudfoundry.doppler.EventType;
+import org.cloudfoundry.doppler.RecentLogsRequest;
+import org.cloudfoundry.dropsonde.events.LogMessage;
+import org.cloudfoundry.reactor.StubServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Measures {@link MultipartCodec} and {@link EnvelopeCodec} decoding of a recent logs response containing a configurable number of log envelopes, served by a local server, with and
+ * without an event type filter
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+public class MultipartCodecBenchmark {
+
+    private static final String BOUNDARY = "92d42123ec83c0af6a27ba0de34528b702a53e2e67ba99636286b6a4cafb";
+
+    @Param({"100", "3000"})
+    public int envelopes;
+
+    private ReactorDopplerEndpoints dopplerEndpoints;
+
+    private StubServer server;
+
+    @Benchmark
+    public List<Envelope> recentLogs() {
+        return this.dopplerEndpoints
+            .recentLogs(RecentLogsRequest.builder()
+                .applicationId("test-application-id")
+                .build())
+            .collectList()
+            .block();
+    }
+
+    @Benchmark
+    public List<Envelope> recentLogsFiltered() {
+        return this.dopplerEndpoints
+            .recentLogs(RecentLogsRequest.builder()
+                .applicationId("test-application-id")
+                .eventType(EventType.ERROR)
+                .build())
+            .collectList()
+            .block();
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        this.server = new StubServer()
+            .respond("/apps/test-application-id/recentlogs", String.format("multipart/x-protobuf; boundary=%s", BOUNDARY), recentLogsPayload(this.envelopes));
+
+        this.dopplerEndpoints = new ReactorDopplerEndpoints(this.server.getConnectionContext(), this.server.getRoot(), this.server.getTokenProvider(), Collections.emptyMap());
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.server.close();
+    }
+
+    private static byte[] recentLogsPayload(int count) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        for (int i = 0; i < count; i++) {
+            out.write(String.format(i == 0 ? "--%s\r\n\r\n" : "\r\n--%s\r\n\r\n", BOUNDARY).getBytes(StandardCharsets.UTF_8));
+            out.write(org.cloudfoundry.dropsonde.events.Envelope.ADAPTER.encode(new org.cloudfoundry.dropsonde.events.Envelope.Builder()
+                .deployment("cf-cfapps-io2-diego")
+                .eventType(org.cloudfoundry.dropsonde.events.Envelope.EventType.LogMessage)
+                .index("33")
+                .ip("10.10.115.68")
+                .job("cell_z2")
+                .logMessage(new LogMessage.Builder()
+                    .app_id("1a95eadc-95c6-4675-aa07-8c02f80ea8a4")
+                    .message(ByteString.encodeUtf8(String.format("2016-04-21 22:36:28.035  INFO 24 --- [           main] o.s.j.e.a.AnnotationMBeanExporter        : Log message %d", i)))
+                    .message_type(LogMessage.MessageType.OUT)
+                    .source_instance("0")
+                    .source_type("APP")
+                    .timestamp(1461278188035928339L + i)
+                    .build())
+                .origin("rep")
+                .timestamp(1461278188035930425L + i)
+                .build()));
+        }
+
+        out.write(String.format("\r\n--%s--\r\n", BOUNDARY).getBytes(StandardCharsets.UTF_8));
+        return out.toByteArray();
+    }
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.routing.v1.tcproutes;
+
+import org.cloudfoundry.reactor.StubServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import reactor.netty.Connection;
+import reactor.netty.http.client.HttpClientResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Measures {@link EventStreamCodec} decoding of a server-sent event stream containing a configurable number of events, served by a local server
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+public class EventStreamCodecBenchmark {
+
+    @Param({"100", "3000"})
+    public int events;
+
+    private String root;
+
+    private StubServer server;
+
+    @Benchmark
+    public List<ServerSentEvent> decode() {
+        return this.server.getConnectionContext().getHttpClient()
+            .get()
+            .uri(this.root)
+            .responseConnection(EventStreamCodecBenchmark::toEventsFlux)
+            .collectList()
+            .block();
+    }
+
+    @Setup
+    public void setUp() {
+        this.server = new StubServer()
+            .respond("/v1/tcp_routes/events", "text/event-stream", eventStreamPayload(this.events));
+
+        this.root = this.server.getRoot("/v1/tcp_routes/events")
+            .block();
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.server.close();
+    }
+
+    private static byte[] eventStreamPayload(int count) {
+        StringBuilder payload = new StringBuilder();
+
+        for (int i = 0; i < count; i++) {
+            payload
+                .append("event: Upsert\n")
+                .append("id: ").append(i).append('\n')
+                .append("data: {\"router_group_guid\":\"test-router-group-id\",\"backend_port\":1024,\"backend_ip\":\"10.10.1.1\",\"port\":").append(i).append(",\"ttl\":120}\n")
+                .append('\n');
+        }
+
+        return payload.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Flux<ServerSentEvent> toEventsFlux(HttpClientResponse response, Connection connection) {
+        connection.addHandler(EventStreamCodec.createDecoder(response));
+
+        return EventStreamCodec.decode(connection.inbound().receive());
+    }
+
+}
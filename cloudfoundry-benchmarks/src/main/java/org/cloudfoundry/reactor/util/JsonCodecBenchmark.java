@@ -0,0 +1,143 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.cloudfoundry.client.v2.applications.CreateApplicationRequest;
+import org.cloudfoundry.client.v2.applications.ListApplicationsResponse;
+import org.cloudfoundry.client.v3.Relationship;
+import org.cloudfoundry.client.v3.ToOneRelationship;
+import org.cloudfoundry.client.v3.applications.ApplicationRelationships;
+import org.cloudfoundry.reactor.DefaultConnectionContext;
+import org.cloudfoundry.reactor.StubServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import reactor.netty.ByteBufFlux;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures {@link JsonCodec} decoding of representative v2 and v3 payloads delivered in chunks, and the serialization performed when encoding request payloads
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+public class JsonCodecBenchmark {
+
+    @Param({"1024", "8192"})
+    public int chunkSize;
+
+    private DefaultConnectionContext connectionContext;
+
+    private CreateApplicationRequest createApplicationRequestV2;
+
+    private org.cloudfoundry.client.v3.applications.CreateApplicationRequest createApplicationRequestV3;
+
+    private byte[] listApplicationsResponseV2;
+
+    private byte[] listApplicationsResponseV3;
+
+    private ObjectMapper objectMapper;
+
+    @Benchmark
+    public ListApplicationsResponse decodeV2() {
+        return JsonCodec.decode(this.objectMapper, chunks(this.listApplicationsResponseV2), ListApplicationsResponse.class)
+            .block();
+    }
+
+    @Benchmark
+    public org.cloudfoundry.client.v3.applications.ListApplicationsResponse decodeV3() {
+        return JsonCodec.decode(this.objectMapper, chunks(this.listApplicationsResponseV3), org.cloudfoundry.client.v3.applications.ListApplicationsResponse.class)
+            .block();
+    }
+
+    @Benchmark
+    public byte[] encodeV2() throws JsonProcessingException {
+        return this.objectMapper.writeValueAsBytes(this.createApplicationRequestV2);
+    }
+
+    @Benchmark
+    public byte[] encodeV3() throws JsonProcessingException {
+        return this.objectMapper.writeValueAsBytes(this.createApplicationRequestV3);
+    }
+
+    @Setup
+    public void setUp() {
+        this.connectionContext = DefaultConnectionContext.builder()
+            .apiHost("localhost")
+            .build();
+        this.objectMapper = this.connectionContext.getObjectMapper();
+
+        this.listApplicationsResponseV2 = StubServer.fixture("fixtures/client/v2/apps/GET_response.json");
+        this.listApplicationsResponseV3 = StubServer.fixture("fixtures/client/v3/apps/GET_response.json");
+
+        this.createApplicationRequestV2 = CreateApplicationRequest.builder()
+            .buildpack("test-buildpack")
+            .diskQuota(1024)
+            .environmentJson("test-key", "test-value")
+            .healthCheckType("port")
+            .instances(2)
+            .memory(512)
+            .name("test-application-name")
+            .spaceId("test-space-id")
+            .stackId("test-stack-id")
+            .build();
+
+        this.createApplicationRequestV3 = org.cloudfoundry.client.v3.applications.CreateApplicationRequest.builder()
+            .environmentVariable("test-key", "test-value")
+            .name("test-application-name")
+            .relationships(ApplicationRelationships.builder()
+                .space(ToOneRelationship.builder()
+                    .data(Relationship.builder()
+                        .id("test-space-id")
+                        .build())
+                    .build())
+                .build())
+            .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.connectionContext.dispose();
+    }
+
+    private ByteBufFlux chunks(byte[] payload) {
+        List<ByteBuf> chunks = new ArrayList<>();
+        for (int offset = 0; offset < payload.length; offset += this.chunkSize) {
+            chunks.add(Unpooled.wrappedBuffer(payload, offset, Math.min(this.chunkSize, payload.length - offset)));
+        }
+
+        return ByteBufFlux.fromInbound(Flux.fromIterable(chunks));
+    }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import org.cloudfoundry.client.v2.applications.ListApplicationsResponse;
+import org.cloudfoundry.reactor.StubServer;
+import org.cloudfoundry.reactor.client.v2.applications.ReactorApplicationsV2;
+import org.cloudfoundry.reactor.client.v3.applications.ReactorApplicationsV3;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+
+/**
+ * Measures a complete request through {@link Operator}, from building the URI and headers to decoding the response, against a local server
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+public class OperatorBenchmark {
+
+    private ReactorApplicationsV2 applicationsV2;
+
+    private ReactorApplicationsV3 applicationsV3;
+
+    private StubServer server;
+
+    @Benchmark
+    public ListApplicationsResponse listApplicationsV2() {
+        return this.applicationsV2
+            .list(org.cloudfoundry.client.v2.applications.ListApplicationsRequest.builder()
+                .name("test-application-name")
+                .spaceId("test-space-id")
+                .page(1)
+                .build())
+            .block();
+    }
+
+    @Benchmark
+    public org.cloudfoundry.client.v3.applications.ListApplicationsResponse listApplicationsV3() {
+        return this.applicationsV3
+            .list(org.cloudfoundry.client.v3.applications.ListApplicationsRequest.builder()
+                .name("test-application-name")
+                .spaceId("test-space-id")
+                .page(1)
+                .build())
+            .block();
+    }
+
+    @Setup
+    public void setUp() {
+        this.server = new StubServer()
+            .respond("/v2/apps", "application/json", StubServer.fixture("fixtures/client/v2/apps/GET_response.json"))
+            .respond("/v3/apps", "application/json", StubServer.fixture("fixtures/client/v3/apps/GET_response.json"));
+
+        this.applicationsV2 = new ReactorApplicationsV2(this.server.getConnectionContext(), this.server.getRoot("/v2"), this.server.getTokenProvider(), Collections.emptyMap());
+        this.applicationsV3 = new ReactorApplicationsV3(this.server.getConnectionContext(), this.server.getRoot("/v3"), this.server.getTokenProvider(), Collections.emptyMap());
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.server.close();
+    }
+
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Measures {@link FileUtils#compress(Path)} and {@link FileUtils#hash(Path)} over an application directory containing a configurable number of files
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+public class FileUtilsBenchmark {
+
+    @Param({"100", "1000"})
+    public int files;
+
+    @Param({"16384"})
+    public int fileSize;
+
+    private Path application;
+
+    private List<Path> applicationFiles;
+
+    @Benchmark
+    public long compress() throws IOException {
+        Path archive = FileUtils.compress(this.application).block();
+
+        try {
+            return Files.size(archive);
+        } finally {
+            Files.delete(archive);
+        }
+    }
+
+    @Benchmark
+    public int hash() {
+        int hashes = 0;
+        for (Path file : this.applicationFiles) {
+            hashes += FileUtils.hash(file).length();
+        }
+        return hashes;
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        this.application = Files.createTempDirectory("cloudfoundry-benchmarks-");
+
+        Random random = new Random(0);
+        byte[] content = new byte[this.fileSize];
+        for (int i = 0; i < this.files; i++) {
+            Path file = this.application.resolve(String.format("directory-%d", i % 10)).resolve(String.format("file-%d", i));
+            Files.createDirectories(file.getParent());
+
+            random.nextBytes(content);
+            Files.write(file, content);
+        }
+
+        try (Stream<Path> paths = Files.walk(this.application)) {
+            this.applicationFiles = paths
+                .filter(Files::isRegularFile)
+                .collect(Collectors.toList());
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(this.application)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Measures excluding matched resources with {@link ResourceMatchingUtils#isUnmatched(java.util.Collection)} over an application directory laid out like a large {@code node_modules} tree, with
+ * half of its files matched
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+public class ResourceMatchingUtilsBenchmark {
+
+    @Param({"50000"})
+    public int files;
+
+    private Path application;
+
+    private List<ResourceMatchingUtils.ArtifactMetadata> matchedResources;
+
+    private List<String> paths;
+
+    @Benchmark
+    public long compress() throws IOException {
+        Path archive = FileUtils.compress(this.application, ResourceMatchingUtils.isUnmatched(this.matchedResources)).block();
+
+        try {
+            return Files.size(archive);
+        } finally {
+            Files.delete(archive);
+        }
+    }
+
+    @Benchmark
+    public int filter() {
+        Predicate<String> filter = ResourceMatchingUtils.isUnmatched(this.matchedResources);
+
+        int unmatched = 0;
+        for (String path : this.paths) {
+            if (filter.test(path)) {
+                unmatched++;
+            }
+        }
+        return unmatched;
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        this.application = Files.createTempDirectory("cloudfoundry-benchmarks-");
+
+        byte[] content = new byte[256];
+        for (int i = 0; i < this.files; i++) {
+            Path file = this.application.resolve("node_modules").resolve(String.format("package-%d", i % 1000)).resolve("lib").resolve(String.format("file-%d.js", i));
+            Files.createDirectories(file.getParent());
+            Files.write(file, content);
+        }
+
+        try (Stream<Path> paths = Files.walk(this.application)) {
+            this.paths = paths
+                .filter(path -> !path.equals(this.application))
+                .map(path -> FileUtils.getRelativePathName(this.application, path))
+                .collect(Collectors.toList());
+        }
+
+        this.matchedResources = new ArrayList<>();
+        for (int i = 0; i < this.paths.size(); i += 2) {
+            String path = this.paths.get(i);
+
+            if (!path.endsWith("/")) {
+                this.matchedResources.add(new ResourceMatchingUtils.ArtifactMetadata(String.format("%040x", i), path, "rw-r--r--", 256));
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(this.application)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+
+}
@@ -48,11 +48,42 @@ public interface ConnectionContext {
      */
     ObjectMapper getObjectMapper();
 
+    /**
+     * The {@link RequestCoalescer} to share identical, concurrent {@code GET} requests through.  Since not all {@link ConnectionContext}s coalesce requests, the default implementation returns
+     * {@link Optional#empty()}.
+     */
+    default Optional<RequestCoalescer> getRequestCoalescer() {
+        return Optional.empty();
+    }
+
+    /**
+     * The {@link RequestMetricsRecorder} to record the metrics of each request with.  Since not all {@link ConnectionContext}s record metrics, the default implementation returns
+     * {@link Optional#empty()}.
+     */
+    default Optional<RequestMetricsRecorder> getRequestMetricsRecorder() {
+        return Optional.empty();
+    }
+
+    /**
+     * The {@link ResponseCache} to serve repeated {@code GET} requests from.  Since not all {@link ConnectionContext}s cache responses, the default implementation returns {@link Optional#empty()}.
+     */
+    default Optional<ResponseCache> getResponseCache() {
+        return Optional.empty();
+    }
+
     /**
      * The {@link RootProvider} to use
      */
     RootProvider getRootProvider();
 
+    /**
+     * Whether multipart uploads are streamed with chunked transfer encoding, compressing directories as they are sent.  Since not all {@link ConnectionContext}s stream uploads, the default
+     * implementation returns {@link Optional#empty()}.
+     */
+    default Optional<Boolean> getStreamUploads() {
+        return Optional.empty();
+    }
+
     /**
      * Attempt to explicitly trust the TLS certificate of an endpoint.  Implementations can choose whether any actual trusting will happen.
      *
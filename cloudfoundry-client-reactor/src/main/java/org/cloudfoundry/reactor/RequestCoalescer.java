@@ -0,0 +1,60 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor;
+
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Shares a single in-flight request among all of the subscribers that make the same request while it is in flight.  Once the request completes, the next subscriber makes a new request.  If every
+ * subscriber cancels before the request completes, the request is cancelled.
+ */
+public final class RequestCoalescer {
+
+    private final ConcurrentMap<String, Mono<?>> requests = new ConcurrentHashMap<>();
+
+    /**
+     * Coalesce a request
+     *
+     * @param key      the key identifying the request, typically including its method, URI and credentials
+     * @param bodyType the type of the response body
+     * @param request  the request to make if an identical request is not already in flight
+     * @param <T>      the type of the response body
+     * @return the response body of the in-flight request
+     */
+    public <T> Mono<T> coalesce(String key, Class<T> bodyType, Mono<T> request) {
+        String requestKey = String.format("%s %s", bodyType.getName(), key);
+
+        return Mono.defer(() -> this.requests.computeIfAbsent(requestKey, k -> {
+            AtomicReference<Mono<?>> coalesced = new AtomicReference<>();
+            coalesced.set(request
+                .doOnCancel(() -> this.requests.remove(k, coalesced.get()))
+                .doOnTerminate(() -> this.requests.remove(k, coalesced.get()))
+                .flux()
+                .replay(1)
+                .refCount()
+                .singleOrEmpty());
+
+            return coalesced.get();
+        }))
+            .cast(bodyType);
+    }
+
+}
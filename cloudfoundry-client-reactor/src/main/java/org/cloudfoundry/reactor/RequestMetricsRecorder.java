@@ -0,0 +1,32 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor;
+
+/**
+ * A recorder of the metrics of each HTTP request made through a {@link ConnectionContext}.  Typically used to adapt those metrics to a metrics library such as Micrometer, tagging timers and
+ * distribution summaries with {@link RequestMetrics#getMethod()} and {@link RequestMetrics#getUri()}.
+ */
+public interface RequestMetricsRecorder {
+
+    /**
+     * Record the metrics of a request.  Called on the thread that completed the request, so implementations must not block.
+     *
+     * @param requestMetrics the metrics of the request
+     */
+    void record(RequestMetrics requestMetrics);
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor;
+
+import org.immutables.value.Value;
+
+import java.util.Optional;
+
+/**
+ * A parsed response held in a {@link ResponseCache}
+ */
+@Value.Immutable
+public interface _CachedResponse {
+
+    /**
+     * The parsed body of the response
+     */
+    Object getBody();
+
+    /**
+     * The {@code ETag} returned with the response
+     */
+    Optional<String> getEntityTag();
+
+    /**
+     * The {@link System#nanoTime()} after which the response must be revalidated before it is served again
+     */
+    long getExpiresAt();
+
+    /**
+     * The {@code Last-Modified} date returned with the response
+     */
+    Optional<String> getLastModified();
+
+}
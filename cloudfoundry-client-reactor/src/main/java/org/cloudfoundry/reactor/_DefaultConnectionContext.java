@@ -128,6 +128,22 @@ abstract class _DefaultConnectionContext implements ConnectionContext {
         return objectMapper;
     }
 
+    @Override
+    @Value.Derived
+    public Optional<RequestCoalescer> getRequestCoalescer() {
+        if (getCoalesceRequests().orElse(false)) {
+            return Optional.of(new RequestCoalescer());
+        } else {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public abstract Optional<RequestMetricsRecorder> getRequestMetricsRecorder();
+
+    @Override
+    public abstract Optional<ResponseCache> getResponseCache();
+
     @Override
     @Value.Default
     public RootProvider getRootProvider() {
@@ -139,6 +155,12 @@ abstract class _DefaultConnectionContext implements ConnectionContext {
             .build();
     }
 
+    /**
+     * Whether multipart uploads should be streamed with chunked transfer encoding, compressing directories as they are sent rather than into a temporary file. Defaults to {@code false}.
+     */
+    @Override
+    public abstract Optional<Boolean> getStreamUploads();
+
     /**
      * The number of worker threads to use when processing requests and responses
      */
@@ -164,6 +186,11 @@ abstract class _DefaultConnectionContext implements ConnectionContext {
      */
     abstract String getApiHost();
 
+    /**
+     * Whether identical {@code GET} requests that are in flight at the same time should share a single response. Defaults to {@code false}.
+     */
+    abstract Optional<Boolean> getCoalesceRequests();
+
     /**
      * The {@code CONNECT_TIMEOUT_MILLIS} value
      */
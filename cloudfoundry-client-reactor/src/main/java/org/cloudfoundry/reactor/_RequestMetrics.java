@@ -0,0 +1,71 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor;
+
+import org.immutables.value.Value;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The metrics of a single HTTP request
+ */
+@Value.Immutable
+abstract class _RequestMetrics {
+
+    /**
+     * The number of body bytes received
+     */
+    abstract long getBytesReceived();
+
+    /**
+     * The number of body bytes sent
+     */
+    abstract long getBytesSent();
+
+    /**
+     * The time between sending the request and receiving the complete response
+     */
+    abstract Duration getDuration();
+
+    /**
+     * The HTTP method of the request
+     */
+    abstract String getMethod();
+
+    /**
+     * The status code of the response.  Absent if no response was received.
+     */
+    abstract Optional<Integer> getStatus();
+
+    /**
+     * The number of times the request had already been sent and rejected because of an invalid token
+     */
+    abstract int getTokenRetries();
+
+    /**
+     * The URI of the request, without its query and with identifiers in its path replaced with {@code {id}}
+     */
+    abstract String getUri();
+
+    /**
+     * The {@code X-Cf-Warnings} returned with the response
+     */
+    abstract List<String> getWarnings();
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor;
+
+import org.immutables.value.Value;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * An in-memory cache of parsed {@code GET} responses.  Only responses for the resource types that have a time to live are cached, for example:
+ *
+ * <pre>
+ * ResponseCache.builder()
+ *     .timeToLive("feature_flags", Duration.ofMinutes(5))
+ *     .timeToLive("info", Duration.ofHours(1))
+ *     .timeToLive("shared_domains", Duration.ofMinutes(5))
+ *     .timeToLive("stacks", Duration.ofHours(1))
+ *     .build();
+ * </pre>
+ *
+ * Once a response has expired, it is revalidated with a conditional request if it was returned with an {@code ETag} or {@code Last-Modified} header, and requested again otherwise.
+ */
+@Value.Immutable
+abstract class _ResponseCache {
+
+    private static final Pattern NAMED_SEGMENT = Pattern.compile("[a-z]+(_[a-z]+)*");
+
+    /**
+     * Returns the cached response for a key
+     *
+     * @param key the key of the response
+     * @return the cached response, if any
+     */
+    public Optional<CachedResponse> get(String key) {
+        return Optional.ofNullable(getResponses().get(key));
+    }
+
+    /**
+     * The maximum number of responses to cache.  Once reached, the least recently used response is evicted.  Defaults to {@code 1000}.
+     */
+    @Value.Default
+    public int getMaximumSize() {
+        return 1000;
+    }
+
+    /**
+     * The cached responses.  Each instance has its own store, so a copy made with {@code from()} or a {@code with} method starts empty.
+     */
+    @Value.Lazy
+    Map<String, CachedResponse> getResponses() {
+        int maximumSize = getMaximumSize();
+
+        return Collections.synchronizedMap(new LinkedHashMap<String, CachedResponse>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 2706418153187305491L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > maximumSize;
+            }
+
+        });
+    }
+
+    /**
+     * The time to live of the responses for each resource type, keyed by the path segment naming the resource type (e.g. {@code stacks}).  A request is for a resource type if that segment is
+     * either the last segment of its path or is followed only by an identifier.  A segment that names something, like {@code usage_summary}, is not an identifier.
+     */
+    public abstract Map<String, Duration> getTimeToLive();
+
+    /**
+     * Caches a response
+     *
+     * @param key      the key of the response
+     * @param response the response
+     */
+    public void put(String key, CachedResponse response) {
+        getResponses().put(key, response);
+    }
+
+    /**
+     * Returns the time to live of the responses to requests for a URI
+     *
+     * @param uri the URI of the request
+     * @return the time to live, if responses to requests for the URI should be cached
+     */
+    public Optional<Duration> resolveTimeToLive(String uri) {
+        String[] segments = URI.create(uri).getRawPath().split("/");
+        if (segments.length == 0) {
+            return Optional.empty();
+        }
+
+        String last = segments[segments.length - 1];
+
+        Duration timeToLive = getTimeToLive().get(last);
+        if (timeToLive == null && segments.length > 1 && isIdentifier(last)) {
+            timeToLive = getTimeToLive().get(segments[segments.length - 2]);
+        }
+
+        return Optional.ofNullable(timeToLive);
+    }
+
+    private static boolean isIdentifier(String segment) {
+        return !segment.isEmpty() && !NAMED_SEGMENT.matcher(segment).matches();
+    }
+
+}
@@ -16,11 +16,13 @@
 
 package org.cloudfoundry.reactor.client.v2;
 
+import org.cloudfoundry.client.DownloadTarget;
 import org.cloudfoundry.reactor.ConnectionContext;
 import org.cloudfoundry.reactor.TokenProvider;
 import org.cloudfoundry.reactor.client.QueryBuilder;
 import org.cloudfoundry.reactor.util.AbstractReactorOperations;
 import org.cloudfoundry.reactor.util.DelegatingUriQueryParameterBuilder;
+import org.cloudfoundry.reactor.util.DownloadCodec;
 import org.cloudfoundry.reactor.util.ErrorPayloadMappers;
 import org.cloudfoundry.reactor.util.MultipartHttpClientRequest;
 import org.cloudfoundry.reactor.util.Operator;
@@ -31,17 +33,18 @@ import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.netty.ByteBufFlux;
-import reactor.netty.http.client.HttpClientForm;
-import reactor.netty.http.client.HttpClientRequest;
 
 import java.util.Map;
-import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
 public abstract class AbstractClientV2Operations extends AbstractReactorOperations {
 
+    private static final UriQueryParameterBuilder URI_QUERY_PARAMETER_BUILDER = DelegatingUriQueryParameterBuilder.builder()
+        .builders(new FilterBuilder(), new QueryBuilder())
+        .build();
+
     protected AbstractClientV2Operations(ConnectionContext connectionContext, Mono<String> root, TokenProvider tokenProvider, Map<String, String> requestTags) {
         super(connectionContext, root, tokenProvider, requestTags);
     }
@@ -69,12 +72,22 @@ public abstract class AbstractClientV2Operations extends AbstractReactorOperatio
                 .parseBodyToFlux(responseWithBody -> bodyTransformer.apply(responseWithBody.getBody())));
     }
 
+    protected final Mono<Long> get(Object requestPayload, Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer, DownloadTarget target) {
+        return createOperator()
+            .flatMap(operator -> operator.followRedirects()
+                .headers(headers -> DownloadCodec.setRange(headers, target))
+                .get()
+                .uri(queryTransformer(requestPayload).andThen(uriTransformer))
+                .response()
+                .parseBodyToMono(responseWithBody -> DownloadCodec.write(responseWithBody, target)));
+    }
+
     protected final <T> Mono<T> get(Object requestPayload, Class<T> responseType, Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer) {
         return createOperator()
             .flatMap(operator -> operator.get()
                 .uri(queryTransformer(requestPayload).andThen(uriTransformer))
                 .response()
-                .parseBody(responseType));
+                .parseCacheableBody(responseType));
     }
 
     protected final <T> Mono<T> post(Object requestPayload, Class<T> responseType, Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer) {
@@ -91,7 +104,7 @@ public abstract class AbstractClientV2Operations extends AbstractReactorOperatio
         return createOperator()
             .flatMap(operator -> operator.put()
                 .uri(queryTransformer(requestPayload).andThen(uriTransformer))
-                .sendForm(multipartRequest(requestTransformer))
+                .sendMultipart(requestTransformer)
                 .response()
                 .parseBody(responseType))
             .doFinally(signalType -> onTerminate.run());
@@ -110,24 +123,9 @@ public abstract class AbstractClientV2Operations extends AbstractReactorOperatio
         return operator.withErrorPayloadMapper(ErrorPayloadMappers.clientV2(this.connectionContext.getObjectMapper()));
     }
 
-    private MultipartHttpClientRequest createMultipartRequest(HttpClientRequest request, HttpClientForm form) {
-        return new MultipartHttpClientRequest(this.connectionContext.getObjectMapper(), request, form);
-    }
-
-    private UriQueryParameterBuilder getUriQueryParameterBuilder() {
-        return DelegatingUriQueryParameterBuilder.builder().builders(new FilterBuilder(), new QueryBuilder()).build();
-    }
-
-    private BiConsumer<HttpClientRequest, HttpClientForm> multipartRequest(Consumer<MultipartHttpClientRequest> requestTransformer) {
-        return (request, form) -> {
-            MultipartHttpClientRequest multipartRequest = createMultipartRequest(request, form);
-            requestTransformer.accept(multipartRequest);
-        };
-    }
-
     private Function<UriComponentsBuilder, UriComponentsBuilder> queryTransformer(Object requestPayload) {
         return builder -> {
-            Stream<UriQueryParameter> parameters = getUriQueryParameterBuilder().build(requestPayload);
+            Stream<UriQueryParameter> parameters = URI_QUERY_PARAMETER_BUILDER.build(requestPayload);
             UriQueryParameters.set(builder, parameters);
             return builder;
         };
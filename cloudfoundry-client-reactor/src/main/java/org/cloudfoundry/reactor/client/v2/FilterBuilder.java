@@ -31,7 +31,7 @@ import java.util.stream.Stream;
 /**
  * A builder for Cloud Foundry V2 filters
  */
-final class FilterBuilder implements UriQueryParameterBuilder {
+public final class FilterBuilder implements UriQueryParameterBuilder {
 
     public Stream<UriQueryParameter> build(Object instance) {
         return AnnotationUtils.streamAnnotatedValues(instance, FilterParameter.class)
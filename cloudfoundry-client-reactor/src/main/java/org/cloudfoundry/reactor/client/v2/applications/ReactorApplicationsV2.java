@@ -16,6 +16,7 @@
 
 package org.cloudfoundry.reactor.client.v2.applications;
 
+import org.cloudfoundry.client.DownloadTarget;
 import org.cloudfoundry.client.v2.applications.ApplicationEnvironmentRequest;
 import org.cloudfoundry.client.v2.applications.ApplicationEnvironmentResponse;
 import org.cloudfoundry.client.v2.applications.ApplicationInstancesRequest;
@@ -119,12 +120,24 @@ public final class ReactorApplicationsV2 extends AbstractClientV2Operations impl
             .checkpoint();
     }
 
+    @Override
+    public Mono<Long> download(DownloadApplicationRequest request, DownloadTarget target) {
+        return get(request, builder -> builder.pathSegment("apps", request.getApplicationId(), "download"), target)
+            .checkpoint();
+    }
+
     @Override
     public Flux<byte[]> downloadDroplet(DownloadApplicationDropletRequest request) {
         return get(request, builder -> builder.pathSegment("apps", request.getApplicationId(), "droplet", "download"), ByteBufFlux::asByteArray)
             .checkpoint();
     }
 
+    @Override
+    public Mono<Long> downloadDroplet(DownloadApplicationDropletRequest request, DownloadTarget target) {
+        return get(request, builder -> builder.pathSegment("apps", request.getApplicationId(), "droplet", "download"), target)
+            .checkpoint();
+    }
+
     @Override
     public Mono<ApplicationEnvironmentResponse> environment(ApplicationEnvironmentRequest request) {
         return get(request, ApplicationEnvironmentResponse.class, builder -> builder.pathSegment("apps", request.getApplicationId(), "env"))
@@ -213,7 +226,7 @@ public final class ReactorApplicationsV2 extends AbstractClientV2Operations impl
     public Mono<UploadApplicationResponse> upload(UploadApplicationRequest request) {
         Path application = request.getApplication();
 
-        if (application.toFile().isDirectory()) {
+        if (requiresCompression(application)) {
             return FileUtils.compress(application)
                 .map(temporaryFile -> UploadApplicationRequest.builder()
                     .from(request)
@@ -93,7 +93,7 @@ public final class ReactorBuildpacks extends AbstractClientV2Operations implemen
     public Mono<UploadBuildpackResponse> upload(UploadBuildpackRequest request) {
         Path buildpack = request.getBuildpack();
 
-        if (buildpack.toFile().isDirectory()) {
+        if (requiresCompression(buildpack)) {
             return FileUtils.compress(buildpack)
                 .map(temporaryFile -> UploadBuildpackRequest.builder()
                     .from(request)
@@ -106,6 +106,9 @@ public final class ReactorBuildpacks extends AbstractClientV2Operations implemen
                         throw Exceptions.propagate(e);
                     }
                 }));
+        } else if (buildpack.toFile().isDirectory()) {
+            return upload(request, request.getFilename() + ".zip", () -> {
+            });
         } else {
             return upload(request, request.getFilename(), () -> {
             });
@@ -17,35 +17,40 @@
 package org.cloudfoundry.reactor.client.v3;
 
 import io.netty.handler.codec.http.HttpHeaderNames;
+import org.cloudfoundry.client.DownloadTarget;
+import org.cloudfoundry.client.v3.PaginatedResponse;
 import org.cloudfoundry.reactor.ConnectionContext;
 import org.cloudfoundry.reactor.HttpClientResponseWithParsedBody;
 import org.cloudfoundry.reactor.TokenProvider;
 import org.cloudfoundry.reactor.client.QueryBuilder;
 import org.cloudfoundry.reactor.util.AbstractReactorOperations;
 import org.cloudfoundry.reactor.util.DelegatingUriQueryParameterBuilder;
+import org.cloudfoundry.reactor.util.DownloadCodec;
 import org.cloudfoundry.reactor.util.ErrorPayloadMappers;
 import org.cloudfoundry.reactor.util.MultipartHttpClientRequest;
 import org.cloudfoundry.reactor.util.Operator;
 import org.cloudfoundry.reactor.util.UriQueryParameter;
 import org.cloudfoundry.reactor.util.UriQueryParameterBuilder;
 import org.cloudfoundry.reactor.util.UriQueryParameters;
+import org.cloudfoundry.util.PaginationUtils;
 import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.netty.ByteBufFlux;
-import reactor.netty.http.client.HttpClientForm;
-import reactor.netty.http.client.HttpClientRequest;
 import reactor.netty.http.client.HttpClientResponse;
 
 import java.util.List;
 import java.util.Map;
-import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
 public abstract class AbstractClientV3Operations extends AbstractReactorOperations {
 
+    private static final UriQueryParameterBuilder URI_QUERY_PARAMETER_BUILDER = DelegatingUriQueryParameterBuilder.builder()
+        .builders(new FilterBuilder(), new QueryBuilder())
+        .build();
+
     protected AbstractClientV3Operations(ConnectionContext connectionContext, Mono<String> root, TokenProvider tokenProvider, Map<String, String> requestTags) {
         super(connectionContext, root, tokenProvider, requestTags);
     }
@@ -93,12 +98,43 @@ public abstract class AbstractClientV3Operations extends AbstractReactorOperatio
                 .parseBodyToFlux(responseWithBody -> bodyTransformer.apply(responseWithBody.getBody())));
     }
 
+    protected final Mono<Long> get(Object requestPayload, Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer, DownloadTarget target) {
+        return createOperator()
+            .flatMap(operator -> operator.followRedirects()
+                .headers(headers -> DownloadCodec.setRange(headers, target))
+                .get()
+                .uri(queryTransformer(requestPayload).andThen(uriTransformer))
+                .response()
+                .parseBodyToMono(responseWithBody -> DownloadCodec.write(responseWithBody, target)));
+    }
+
     protected final <T> Mono<T> get(Object requestPayload, Class<T> responseType, Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer) {
         return createOperator()
             .flatMap(operator -> operator.get()
                 .uri(queryTransformer(requestPayload).andThen(uriTransformer))
                 .response()
-                .parseBody(responseType));
+                .parseCacheableBody(responseType));
+    }
+
+    /**
+     * Lists the resources of every page of a paginated request, emitting each resource as soon as it is decoded and requesting each page after the first only once the resources of
+     * the previous page have been consumed and more are requested.  Pages are requested from page {@code 1}, replacing any page in the request.
+     *
+     * @param requestPayload the request of the first page
+     * @param responseType   the type of each page
+     * @param resourceType   the type of the resources of each page
+     * @param uriTransformer the transformer of the request URI
+     * @param <T>            the type of the resources of each page
+     * @param <U>            the type of each page
+     * @return the resources of every page
+     */
+    protected final <T, U extends PaginatedResponse<T>> Flux<T> list(Object requestPayload, Class<U> responseType, Class<T> resourceType,
+                                                                   Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer) {
+        return PaginationUtils.<T, U>requestClientV3StreamedResources((page, pageConsumer) -> createOperator()
+            .flatMapMany(operator -> operator.get()
+                .uri(queryTransformer(requestPayload).andThen(uriTransformer).andThen(builder -> builder.replaceQueryParam("page", page)))
+                .response()
+                .parseCacheableElements("resources", resourceType, responseType, PaginatedResponse::getResources, pageConsumer)));
     }
 
     protected final <T> Mono<T> patch(Object requestPayload, Class<T> responseType, Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer) {
@@ -125,7 +161,7 @@ public abstract class AbstractClientV3Operations extends AbstractReactorOperatio
         return createOperator()
             .flatMap(operator -> operator.post()
                 .uri(queryTransformer(requestPayload).andThen(uriTransformer))
-                .sendForm(multipartRequest(requestTransformer))
+                .sendMultipart(requestTransformer)
                 .response()
                 .parseBody(responseType))
             .doFinally(signalType -> onTerminate.run());
@@ -183,25 +219,9 @@ public abstract class AbstractClientV3Operations extends AbstractReactorOperatio
         return operator.withErrorPayloadMapper(ErrorPayloadMappers.clientV3(this.connectionContext.getObjectMapper()));
     }
 
-    private MultipartHttpClientRequest createMultipartRequest(HttpClientRequest request, HttpClientForm form) {
-        return new MultipartHttpClientRequest(this.connectionContext.getObjectMapper(), request, form);
-    }
-
-    private UriQueryParameterBuilder getUriQueryParameterBuilder() {
-        return DelegatingUriQueryParameterBuilder.builder().builders(new FilterBuilder(), new QueryBuilder()).build();
-    }
-
-    private BiConsumer<HttpClientRequest, HttpClientForm>
-    multipartRequest(Consumer<MultipartHttpClientRequest> requestTransformer) {
-        return (request, outbound) -> {
-            MultipartHttpClientRequest multipartRequest = createMultipartRequest(request, outbound);
-            requestTransformer.accept(multipartRequest);
-        };
-    }
-
     private Function<UriComponentsBuilder, UriComponentsBuilder> queryTransformer(Object requestPayload) {
         return builder -> {
-            Stream<UriQueryParameter> parameters = getUriQueryParameterBuilder().build(requestPayload);
+            Stream<UriQueryParameter> parameters = URI_QUERY_PARAMETER_BUILDER.build(requestPayload);
             UriQueryParameters.set(builder, parameters);
             return builder;
         };
@@ -27,7 +27,10 @@ import java.util.Objects;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-final class FilterBuilder implements UriQueryParameterBuilder {
+/**
+ * A builder for Cloud Foundry V3 filters
+ */
+public final class FilterBuilder implements UriQueryParameterBuilder {
 
     public Stream<UriQueryParameter> build(Object instance) {
         return AnnotationUtils.streamAnnotatedValues(instance, FilterParameter.class)
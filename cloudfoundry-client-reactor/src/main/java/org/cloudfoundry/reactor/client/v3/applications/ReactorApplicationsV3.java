@@ -16,6 +16,7 @@
 
 package org.cloudfoundry.reactor.client.v3.applications;
 
+import org.cloudfoundry.client.v3.applications.ApplicationResource;
 import org.cloudfoundry.client.v3.applications.ApplicationsV3;
 import org.cloudfoundry.client.v3.applications.CreateApplicationRequest;
 import org.cloudfoundry.client.v3.applications.CreateApplicationResponse;
@@ -74,6 +75,7 @@ import org.cloudfoundry.client.v3.applications.UpdateApplicationResponse;
 import org.cloudfoundry.reactor.ConnectionContext;
 import org.cloudfoundry.reactor.TokenProvider;
 import org.cloudfoundry.reactor.client.v3.AbstractClientV3Operations;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.Map;
@@ -203,6 +205,17 @@ public final class ReactorApplicationsV3 extends AbstractClientV3Operations impl
             .checkpoint();
     }
 
+    /**
+     * Lists the applications on every page of a request as they are decoded
+     *
+     * @param request the List Applications request
+     * @return the applications on every page
+     */
+    public Flux<ApplicationResource> listResources(ListApplicationsRequest request) {
+        return list(request, ListApplicationsResponse.class, ApplicationResource.class, builder -> builder.pathSegment("apps"))
+            .checkpoint();
+    }
+
     @Override
     public Mono<ListApplicationRoutesResponse> listRoutes(ListApplicationRoutesRequest request) {
         return get(request, ListApplicationRoutesResponse.class, builder -> builder.pathSegment("apps", request.getApplicationId(), "routes"))
@@ -92,7 +92,7 @@ public final class ReactorBuildpacksV3 extends AbstractClientV3Operations implem
     public Mono<UploadBuildpackResponse> upload(UploadBuildpackRequest request) {
         Path bits = request.getBits();
 
-        if (bits.toFile().isDirectory()) {
+        if (requiresCompression(bits)) {
             return FileUtils.compress(bits)
                 .map(temporaryFile -> UploadBuildpackRequest.builder()
                     .from(request)
@@ -16,6 +16,7 @@
 
 package org.cloudfoundry.reactor.client.v3.packages;
 
+import org.cloudfoundry.client.DownloadTarget;
 import org.cloudfoundry.client.v3.packages.CopyPackageRequest;
 import org.cloudfoundry.client.v3.packages.CopyPackageResponse;
 import org.cloudfoundry.client.v3.packages.CreatePackageRequest;
@@ -28,6 +29,7 @@ import org.cloudfoundry.client.v3.packages.ListPackageDropletsRequest;
 import org.cloudfoundry.client.v3.packages.ListPackageDropletsResponse;
 import org.cloudfoundry.client.v3.packages.ListPackagesRequest;
 import org.cloudfoundry.client.v3.packages.ListPackagesResponse;
+import org.cloudfoundry.client.v3.packages.PackageResource;
 import org.cloudfoundry.client.v3.packages.Packages;
 import org.cloudfoundry.client.v3.packages.UploadPackageRequest;
 import org.cloudfoundry.client.v3.packages.UploadPackageResponse;
@@ -87,6 +89,12 @@ public final class ReactorPackages extends AbstractClientV3Operations implements
             .checkpoint();
     }
 
+    @Override
+    public Mono<Long> download(DownloadPackageRequest request, DownloadTarget target) {
+        return get(request, builder -> builder.pathSegment("packages", request.getPackageId(), "download"), target)
+            .checkpoint();
+    }
+
     @Override
     public Mono<GetPackageResponse> get(GetPackageRequest request) {
         return get(request, GetPackageResponse.class, builder -> builder.pathSegment("packages", request.getPackageId()))
@@ -105,11 +113,22 @@ public final class ReactorPackages extends AbstractClientV3Operations implements
             .checkpoint();
     }
 
+    /**
+     * Lists the packages on every page of a request as they are decoded
+     *
+     * @param request the List Packages request
+     * @return the packages on every page
+     */
+    public Flux<PackageResource> listResources(ListPackagesRequest request) {
+        return list(request, ListPackagesResponse.class, PackageResource.class, builder -> builder.pathSegment("packages"))
+            .checkpoint();
+    }
+
     @Override
     public Mono<UploadPackageResponse> upload(UploadPackageRequest request) {
         Path bits = request.getBits();
 
-        if (bits.toFile().isDirectory()) {
+        if (requiresCompression(bits)) {
             return FileUtils.compress(bits)
                 .map(temporaryFile -> UploadPackageRequest.builder()
                     .from(request)
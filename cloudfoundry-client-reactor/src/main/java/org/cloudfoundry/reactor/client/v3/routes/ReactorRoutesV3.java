@@ -14,12 +14,14 @@ import org.cloudfoundry.client.v3.routes.ListRoutesResponse;
 import org.cloudfoundry.client.v3.routes.RemoveRouteDestinationsRequest;
 import org.cloudfoundry.client.v3.routes.ReplaceRouteDestinationsRequest;
 import org.cloudfoundry.client.v3.routes.ReplaceRouteDestinationsResponse;
+import org.cloudfoundry.client.v3.routes.RouteResource;
 import org.cloudfoundry.client.v3.routes.RoutesV3;
 import org.cloudfoundry.client.v3.routes.UpdateRouteRequest;
 import org.cloudfoundry.client.v3.routes.UpdateRouteResponse;
 import org.cloudfoundry.reactor.ConnectionContext;
 import org.cloudfoundry.reactor.TokenProvider;
 import org.cloudfoundry.reactor.client.v3.AbstractClientV3Operations;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.Map;
@@ -77,6 +79,17 @@ public class ReactorRoutesV3 extends AbstractClientV3Operations implements Route
             .checkpoint();
     }
 
+    /**
+     * Lists the routes on every page of a request as they are decoded
+     *
+     * @param request the List Routes request
+     * @return the routes on every page
+     */
+    public Flux<RouteResource> listResources(ListRoutesRequest request) {
+        return list(request, ListRoutesResponse.class, RouteResource.class, uriComponentsBuilder -> uriComponentsBuilder.pathSegment("routes"))
+            .checkpoint();
+    }
+
     @Override
     public Mono<Void> removeDestinations(RemoveRouteDestinationsRequest request) {
         return delete(request, Void.class, uriComponentsBuilder -> uriComponentsBuilder.pathSegment("routes", request.getRouteId(), "destinations", request.getDestinationId()))
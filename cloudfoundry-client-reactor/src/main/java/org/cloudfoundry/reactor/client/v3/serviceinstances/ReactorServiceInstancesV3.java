@@ -41,6 +41,7 @@ import org.cloudfoundry.reactor.ConnectionContext;
 import org.cloudfoundry.reactor.HttpClientResponseWithParsedBody;
 import org.cloudfoundry.reactor.TokenProvider;
 import org.cloudfoundry.reactor.client.v3.AbstractClientV3Operations;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.Map;
@@ -108,6 +109,17 @@ public final class ReactorServiceInstancesV3 extends AbstractClientV3Operations
             .checkpoint();
     }
 
+    /**
+     * Lists the service instances on every page of a request as they are decoded
+     *
+     * @param request the List ServiceInstances request
+     * @return the service instances on every page
+     */
+    public Flux<ServiceInstanceResource> listResources(ListServiceInstancesRequest request) {
+        return list(request, ListServiceInstancesResponse.class, ServiceInstanceResource.class, builder -> builder.pathSegment("service_instances"))
+            .checkpoint();
+    }
+
     @Override
     public Mono<ListSharedSpacesRelationshipResponse> listSharedSpacesRelationship(ListSharedSpacesRelationshipRequest request) {
         return get(request, ListSharedSpacesRelationshipResponse.class, builder -> builder.pathSegment("service_instances", request.getServiceInstanceId(), "relationships", "shared_spaces"))
@@ -26,7 +26,6 @@ import reactor.core.publisher.Mono;
 import reactor.netty.ByteBufFlux;
 import reactor.netty.http.client.HttpClientResponse;
 
-import java.io.InputStream;
 import java.util.Map;
 import java.util.function.Function;
 
@@ -45,10 +44,10 @@ abstract class AbstractDopplerOperations extends AbstractReactorOperations {
             .parseBodyToFlux(responseWithBody -> bodyTransformer.apply(responseWithBody.getBody())));
     }
 
-    final Flux<InputStream> ws(Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer) {
+    final <T> Flux<T> ws(Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer, Function<ByteBufFlux, Flux<T>> bodyTransformer) {
         return createOperator().flatMapMany(operator -> operator.websocket()
             .uri(uriTransformer)
-            .get());
+            .get(bodyTransformer));
     }
 
 }
@@ -0,0 +1,443 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.doppler;
+
+import io.netty.buffer.ByteBuf;
+import org.cloudfoundry.doppler.ContainerMetric;
+import org.cloudfoundry.doppler.CounterEvent;
+import org.cloudfoundry.doppler.Envelope;
+import org.cloudfoundry.doppler.Error;
+import org.cloudfoundry.doppler.EventType;
+import org.cloudfoundry.doppler.HttpStartStop;
+import org.cloudfoundry.doppler.LogMessage;
+import org.cloudfoundry.doppler.MessageType;
+import org.cloudfoundry.doppler.Method;
+import org.cloudfoundry.doppler.PeerType;
+import org.cloudfoundry.doppler.ValueMetric;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Decodes dropsonde protocol {@link Envelope}s directly from the frames received from Doppler, without first materializing the generated protocol objects. Frames whose event type is not
+ * requested are skipped after reading only the event type field.
+ */
+final class EnvelopeCodec {
+
+    private static final int WIRE_TYPE_FIXED32 = 5;
+
+    private static final int WIRE_TYPE_FIXED64 = 1;
+
+    private static final int WIRE_TYPE_LENGTH_DELIMITED = 2;
+
+    private static final int WIRE_TYPE_VARINT = 0;
+
+    private EnvelopeCodec() {
+    }
+
+    static Flux<Envelope> decode(Flux<ByteBuf> frames, Collection<EventType> eventTypes) {
+        if (eventTypes.isEmpty()) {
+            return frames.map(EnvelopeCodec::decode);
+        }
+
+        Set<EventType> filter = EnumSet.copyOf(eventTypes);
+
+        return frames
+            .handle((frame, sink) -> {
+                if (filter.contains(peekEventType(frame))) {
+                    sink.next(decode(frame));
+                }
+            });
+    }
+
+    static Envelope decode(ByteBuf frame) {
+        ByteBuf buffer = frame.duplicate();
+        Envelope.Builder builder = Envelope.builder();
+
+        while (buffer.isReadable()) {
+            int tag = (int) readVarint(buffer);
+
+            switch (tag >>> 3) {
+                case 1:
+                    builder.origin(readString(buffer));
+                    break;
+                case 2:
+                    builder.eventType(toEventType((int) readVarint(buffer)));
+                    break;
+                case 6:
+                    builder.timestamp(readVarint(buffer));
+                    break;
+                case 7:
+                    builder.httpStartStop(decodeHttpStartStop(readMessage(buffer)));
+                    break;
+                case 8:
+                    builder.logMessage(decodeLogMessage(readMessage(buffer)));
+                    break;
+                case 9:
+                    builder.valueMetric(decodeValueMetric(readMessage(buffer)));
+                    break;
+                case 10:
+                    builder.counterEvent(decodeCounterEvent(readMessage(buffer)));
+                    break;
+                case 11:
+                    builder.error(decodeError(readMessage(buffer)));
+                    break;
+                case 12:
+                    builder.containerMetric(decodeContainerMetric(readMessage(buffer)));
+                    break;
+                case 13:
+                    builder.deployment(readString(buffer));
+                    break;
+                case 14:
+                    builder.job(readString(buffer));
+                    break;
+                case 15:
+                    builder.index(readString(buffer));
+                    break;
+                case 16:
+                    builder.ip(readString(buffer));
+                    break;
+                case 17:
+                    decodeTag(readMessage(buffer), builder);
+                    break;
+                default:
+                    skipField(buffer, tag & 0x07);
+            }
+        }
+
+        return builder.build();
+    }
+
+    static EventType peekEventType(ByteBuf frame) {
+        ByteBuf buffer = frame.duplicate();
+
+        while (buffer.isReadable()) {
+            int tag = (int) readVarint(buffer);
+
+            if (tag >>> 3 == 2) {
+                return toEventType((int) readVarint(buffer));
+            }
+
+            skipField(buffer, tag & 0x07);
+        }
+
+        throw new IllegalStateException("Envelope does not contain an event type");
+    }
+
+    private static ContainerMetric decodeContainerMetric(ByteBuf buffer) {
+        ContainerMetric.Builder builder = ContainerMetric.builder();
+
+        while (buffer.isReadable()) {
+            int tag = (int) readVarint(buffer);
+
+            switch (tag >>> 3) {
+                case 1:
+                    builder.applicationId(readString(buffer));
+                    break;
+                case 2:
+                    builder.instanceIndex((int) readVarint(buffer));
+                    break;
+                case 3:
+                    builder.cpuPercentage(readDouble(buffer));
+                    break;
+                case 4:
+                    builder.memoryBytes(readVarint(buffer));
+                    break;
+                case 5:
+                    builder.diskBytes(readVarint(buffer));
+                    break;
+                case 6:
+                    builder.memoryBytesQuota(readVarint(buffer));
+                    break;
+                case 7:
+                    builder.diskBytesQuota(readVarint(buffer));
+                    break;
+                default:
+                    skipField(buffer, tag & 0x07);
+            }
+        }
+
+        return builder.build();
+    }
+
+    private static CounterEvent decodeCounterEvent(ByteBuf buffer) {
+        CounterEvent.Builder builder = CounterEvent.builder();
+
+        while (buffer.isReadable()) {
+            int tag = (int) readVarint(buffer);
+
+            switch (tag >>> 3) {
+                case 1:
+                    builder.name(readString(buffer));
+                    break;
+                case 2:
+                    builder.delta(readVarint(buffer));
+                    break;
+                case 3:
+                    builder.total(readVarint(buffer));
+                    break;
+                default:
+                    skipField(buffer, tag & 0x07);
+            }
+        }
+
+        return builder.build();
+    }
+
+    private static Error decodeError(ByteBuf buffer) {
+        Error.Builder builder = Error.builder();
+
+        while (buffer.isReadable()) {
+            int tag = (int) readVarint(buffer);
+
+            switch (tag >>> 3) {
+                case 1:
+                    builder.source(readString(buffer));
+                    break;
+                case 2:
+                    builder.code((int) readVarint(buffer));
+                    break;
+                case 3:
+                    builder.message(readString(buffer));
+                    break;
+                default:
+                    skipField(buffer, tag & 0x07);
+            }
+        }
+
+        return builder.build();
+    }
+
+    private static HttpStartStop decodeHttpStartStop(ByteBuf buffer) {
+        HttpStartStop.Builder builder = HttpStartStop.builder();
+
+        while (buffer.isReadable()) {
+            int tag = (int) readVarint(buffer);
+
+            switch (tag >>> 3) {
+                case 1:
+                    builder.startTimestamp(readVarint(buffer));
+                    break;
+                case 2:
+                    builder.stopTimestamp(readVarint(buffer));
+                    break;
+                case 3:
+                    builder.requestId(decodeUuid(readMessage(buffer)));
+                    break;
+                case 4:
+                    builder.peerType(PeerType.from(org.cloudfoundry.dropsonde.events.PeerType.fromValue((int) readVarint(buffer))));
+                    break;
+                case 5:
+                    builder.method(Method.from(org.cloudfoundry.dropsonde.events.Method.fromValue((int) readVarint(buffer))));
+                    break;
+                case 6:
+                    builder.uri(readString(buffer));
+                    break;
+                case 7:
+                    builder.remoteAddress(readString(buffer));
+                    break;
+                case 8:
+                    builder.userAgent(readString(buffer));
+                    break;
+                case 9:
+                    builder.statusCode((int) readVarint(buffer));
+                    break;
+                case 10:
+                    builder.contentLength(readVarint(buffer));
+                    break;
+                case 12:
+                    builder.applicationId(decodeUuid(readMessage(buffer)));
+                    break;
+                case 13:
+                    builder.instanceIndex((int) readVarint(buffer));
+                    break;
+                case 14:
+                    builder.instanceId(readString(buffer));
+                    break;
+                case 15:
+                    builder.forwarded(readString(buffer));
+                    break;
+                default:
+                    skipField(buffer, tag & 0x07);
+            }
+        }
+
+        return builder.build();
+    }
+
+    private static LogMessage decodeLogMessage(ByteBuf buffer) {
+        LogMessage.Builder builder = LogMessage.builder();
+
+        while (buffer.isReadable()) {
+            int tag = (int) readVarint(buffer);
+
+            switch (tag >>> 3) {
+                case 1:
+                    builder.message(readString(buffer));
+                    break;
+                case 2:
+                    builder.messageType(MessageType.from(org.cloudfoundry.dropsonde.events.LogMessage.MessageType.fromValue((int) readVarint(buffer))));
+                    break;
+                case 3:
+                    builder.timestamp(readVarint(buffer));
+                    break;
+                case 4:
+                    builder.applicationId(readString(buffer));
+                    break;
+                case 5:
+                    builder.sourceType(readString(buffer));
+                    break;
+                case 6:
+                    builder.sourceInstance(readString(buffer));
+                    break;
+                default:
+                    skipField(buffer, tag & 0x07);
+            }
+        }
+
+        return builder.build();
+    }
+
+    private static void decodeTag(ByteBuf buffer, Envelope.Builder builder) {
+        String key = "";
+        String value = "";
+
+        while (buffer.isReadable()) {
+            int tag = (int) readVarint(buffer);
+
+            switch (tag >>> 3) {
+                case 1:
+                    key = readString(buffer);
+                    break;
+                case 2:
+                    value = readString(buffer);
+                    break;
+                default:
+                    skipField(buffer, tag & 0x07);
+            }
+        }
+
+        builder.tag(key, value);
+    }
+
+    private static UUID decodeUuid(ByteBuf buffer) {
+        long high = 0;
+        long low = 0;
+
+        while (buffer.isReadable()) {
+            int tag = (int) readVarint(buffer);
+
+            switch (tag >>> 3) {
+                case 1:
+                    low = readVarint(buffer);
+                    break;
+                case 2:
+                    high = readVarint(buffer);
+                    break;
+                default:
+                    skipField(buffer, tag & 0x07);
+            }
+        }
+
+        return new UUID(Long.reverseBytes(low), Long.reverseBytes(high));
+    }
+
+    private static ValueMetric decodeValueMetric(ByteBuf buffer) {
+        ValueMetric.Builder builder = ValueMetric.builder();
+
+        while (buffer.isReadable()) {
+            int tag = (int) readVarint(buffer);
+
+            switch (tag >>> 3) {
+                case 1:
+                    builder.name(readString(buffer));
+                    break;
+                case 2:
+                    builder.value(readDouble(buffer));
+                    break;
+                case 3:
+                    builder.unit(readString(buffer));
+                    break;
+                default:
+                    skipField(buffer, tag & 0x07);
+            }
+        }
+
+        return builder.build();
+    }
+
+    private static double readDouble(ByteBuf buffer) {
+        return Double.longBitsToDouble(buffer.readLongLE());
+    }
+
+    private static ByteBuf readMessage(ByteBuf buffer) {
+        return buffer.readSlice((int) readVarint(buffer));
+    }
+
+    private static String readString(ByteBuf buffer) {
+        return readMessage(buffer).toString(StandardCharsets.UTF_8);
+    }
+
+    private static long readVarint(ByteBuf buffer) {
+        long value = 0;
+
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.readByte();
+            value |= (long) (b & 0x7F) << shift;
+
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new IllegalStateException("Malformed varint");
+    }
+
+    private static void skipField(ByteBuf buffer, int wireType) {
+        switch (wireType) {
+            case WIRE_TYPE_VARINT:
+                readVarint(buffer);
+                break;
+            case WIRE_TYPE_FIXED64:
+                buffer.skipBytes(8);
+                break;
+            case WIRE_TYPE_LENGTH_DELIMITED:
+                buffer.skipBytes((int) readVarint(buffer));
+                break;
+            case WIRE_TYPE_FIXED32:
+                buffer.skipBytes(4);
+                break;
+            default:
+                throw new IllegalStateException(String.format("Unsupported wire type: %d", wireType));
+        }
+    }
+
+    private static EventType toEventType(int value) {
+        org.cloudfoundry.dropsonde.events.Envelope.EventType eventType = org.cloudfoundry.dropsonde.events.Envelope.EventType.fromValue(value);
+
+        if (eventType == null) {
+            throw new IllegalStateException(String.format("Unknown event type: %d", value));
+        }
+
+        return EventType.from(eventType);
+    }
+
+}
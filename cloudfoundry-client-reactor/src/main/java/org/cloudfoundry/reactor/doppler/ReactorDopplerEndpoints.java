@@ -19,50 +19,89 @@ package org.cloudfoundry.reactor.doppler;
 import org.cloudfoundry.doppler.ContainerMetricsRequest;
 import org.cloudfoundry.doppler.Envelope;
 import org.cloudfoundry.doppler.FirehoseRequest;
+import org.cloudfoundry.doppler.OverflowPolicy;
 import org.cloudfoundry.doppler.RecentLogsRequest;
 import org.cloudfoundry.doppler.StreamRequest;
 import org.cloudfoundry.reactor.ConnectionContext;
 import org.cloudfoundry.reactor.TokenProvider;
-import reactor.core.Exceptions;
+import reactor.core.publisher.BufferOverflowStrategy;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
-import java.io.IOException;
-import java.io.InputStream;
+import java.util.Collections;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 final class ReactorDopplerEndpoints extends AbstractDopplerOperations {
 
+    private final AtomicLong droppedEnvelopes = new AtomicLong();
+
     ReactorDopplerEndpoints(ConnectionContext connectionContext, Mono<String> root, TokenProvider tokenProvider, Map<String, String> requestTags) {
         super(connectionContext, root, tokenProvider, requestTags);
     }
 
     Flux<Envelope> containerMetrics(ContainerMetricsRequest request) {
-        return get(builder -> builder.pathSegment("apps", request.getApplicationId(), "containermetrics"), MultipartCodec::createDecoder, MultipartCodec::decode).map(ReactorDopplerEndpoints::toEnvelope)
+        return get(builder -> builder.pathSegment("apps", request.getApplicationId(), "containermetrics"), MultipartCodec::createDecoder,
+            body -> EnvelopeCodec.decode(MultipartCodec.decode(body), Collections.emptyList()))
             .checkpoint();
     }
 
+    Consumer<Envelope> countDropped(Consumer<Envelope> droppedEnvelopeConsumer) {
+        return envelope -> {
+            this.droppedEnvelopes.incrementAndGet();
+
+            if (droppedEnvelopeConsumer != null) {
+                droppedEnvelopeConsumer.accept(envelope);
+            }
+        };
+    }
+
     Flux<Envelope> firehose(FirehoseRequest request) {
-        return ws(builder -> builder.pathSegment("firehose", request.getSubscriptionId())).map(ReactorDopplerEndpoints::toEnvelope)
+        return ws(builder -> builder.pathSegment("firehose", request.getSubscriptionId()), body -> EnvelopeCodec.decode(body, request.getEventTypes()))
+            .transform(overflow(request.getBufferSize(), request.getOverflowPolicy(), countDropped(request.getDroppedEnvelopeConsumer())))
             .checkpoint();
     }
 
+    long getDroppedEnvelopes() {
+        return this.droppedEnvelopes.get();
+    }
+
     Flux<Envelope> recentLogs(RecentLogsRequest request) {
-        return get(builder -> builder.pathSegment("apps", request.getApplicationId(), "recentlogs"), MultipartCodec::createDecoder, MultipartCodec::decode).map(ReactorDopplerEndpoints::toEnvelope)
+        return get(builder -> builder.pathSegment("apps", request.getApplicationId(), "recentlogs"), MultipartCodec::createDecoder,
+            body -> EnvelopeCodec.decode(MultipartCodec.decode(body), request.getEventTypes()))
             .checkpoint();
     }
 
     Flux<Envelope> stream(StreamRequest request) {
-        return ws(builder -> builder.pathSegment("apps", request.getApplicationId(), "stream")).map(ReactorDopplerEndpoints::toEnvelope)
+        return ws(builder -> builder.pathSegment("apps", request.getApplicationId(), "stream"), body -> EnvelopeCodec.decode(body, request.getEventTypes()))
+            .transform(overflow(request.getBufferSize(), request.getOverflowPolicy(), countDropped(request.getDroppedEnvelopeConsumer())))
             .checkpoint();
     }
 
-    private static Envelope toEnvelope(InputStream content) {
-        try (InputStream in = content) {
-            return Envelope.from(org.cloudfoundry.dropsonde.events.Envelope.ADAPTER.decode(in));
-        } catch (IOException e) {
-            throw Exceptions.propagate(e);
+    static Function<Flux<Envelope>, Flux<Envelope>> overflow(Integer bufferSize, OverflowPolicy overflowPolicy, Consumer<Envelope> droppedEnvelopeConsumer) {
+        if (overflowPolicy == null) {
+            return envelopes -> envelopes;
         }
+
+        Consumer<Envelope> onDropped = Optional.ofNullable(droppedEnvelopeConsumer).orElse(envelope -> {
+        });
+
+        if (OverflowPolicy.SAMPLE == overflowPolicy) {
+            return envelopes -> envelopes
+                .onBackpressureLatest()
+                .doOnDiscard(Envelope.class, onDropped)
+                .publishOn(Schedulers.boundedElastic(), bufferSize);
+        }
+
+        BufferOverflowStrategy strategy = OverflowPolicy.DROP_OLDEST == overflowPolicy ? BufferOverflowStrategy.DROP_OLDEST : BufferOverflowStrategy.DROP_LATEST;
+
+        return envelopes -> envelopes
+            .onBackpressureBuffer(bufferSize, onDropped, strategy)
+            .publishOn(Schedulers.boundedElastic(), 1);
     }
 
 }
@@ -47,6 +47,15 @@ abstract class _ReactorDopplerClient implements DopplerClient {
         return getDopplerEndpoints().firehose(request);
     }
 
+    /**
+     * Returns the number of envelopes dropped by the overflow policies of the firehose and stream requests made through this client
+     *
+     * @return the number of envelopes dropped
+     */
+    public long getDroppedEnvelopes() {
+        return getDopplerEndpoints().getDroppedEnvelopes();
+    }
+
     @Override
     public Flux<Envelope> recentLogs(RecentLogsRequest request) {
         return getDopplerEndpoints().recentLogs(request);
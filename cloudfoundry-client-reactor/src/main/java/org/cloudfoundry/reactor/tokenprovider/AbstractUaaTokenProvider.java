@@ -37,19 +37,24 @@ import org.slf4j.LoggerFactory;
 import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
 import reactor.core.publisher.Sinks;
 import reactor.netty.ByteBufFlux;
 import reactor.netty.http.client.HttpClientForm;
 import reactor.netty.http.client.HttpClientRequest;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Base64;
 import java.util.Date;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -79,10 +84,16 @@ public abstract class AbstractUaaTokenProvider implements TokenProvider {
 
     private final ConcurrentMap<ConnectionContext, Mono<String>> accessTokens = new ConcurrentHashMap<>(1);
 
+    private final ConcurrentMap<ConnectionContext, Instant> expirationTimes = new ConcurrentHashMap<>(1);
+
     private final ConcurrentMap<ConnectionContext, RefreshToken> refreshTokenStreams = new ConcurrentHashMap<>(1);
 
+    private final ConcurrentMap<ConnectionContext, Instant> refreshTimes = new ConcurrentHashMap<>(1);
+
     private final ConcurrentMap<ConnectionContext, Mono<String>> refreshTokens = new ConcurrentHashMap<>(1);
 
+    private final Set<Mono<String>> pendingNegotiations = ConcurrentHashMap.newKeySet(1);
+
     /**
      * The client id. Defaults to {@code cf}.
      */
@@ -111,12 +122,35 @@ public abstract class AbstractUaaTokenProvider implements TokenProvider {
 
     @Override
     public final Mono<String> getToken(ConnectionContext connectionContext) {
+        Instant refreshTime = this.refreshTimes.get(connectionContext);
+
+        if (refreshTime != null && !Instant.now().isBefore(refreshTime) && this.refreshTimes.remove(connectionContext, refreshTime)) {
+            refresh(connectionContext);
+        }
+
         return this.accessTokens.computeIfAbsent(connectionContext, this::token);
     }
 
+    /**
+     * How long before an access token expires that a replacement should be negotiated. Defaults to {@code 60} seconds.  If the lifetime of a token is shorter than this, the replacement is
+     * negotiated halfway through that lifetime.  The replacement is negotiated in the background, starting with the first request for a token once this point has passed, and the
+     * current token continues to be used until it arrives.  If the replacement cannot be negotiated, it is retried after the shorter of this skew and half of the current token's remaining
+     * lifetime.  A connection that is not in use does not negotiate tokens.
+     */
+    @Value.Default
+    public Duration getTokenRefreshSkew() {
+        return Duration.ofSeconds(60);
+    }
+
     @Override
     public void invalidate(ConnectionContext connectionContext) {
-        this.accessTokens.put(connectionContext, token(connectionContext));
+        this.accessTokens.compute(connectionContext, (c, current) -> {
+            if (current != null && this.pendingNegotiations.contains(current)) {
+                return current;
+            }
+
+            return negotiate(c);
+        });
     }
 
     /**
@@ -148,6 +182,23 @@ public abstract class AbstractUaaTokenProvider implements TokenProvider {
         return String.format("%s %s", payload.get(TOKEN_TYPE), accessToken);
     }
 
+    static Duration getRefreshDelay(Duration remainingLifetime, Duration tokenRefreshSkew) {
+        return remainingLifetime.compareTo(tokenRefreshSkew) > 0 ? remainingLifetime.minus(tokenRefreshSkew) : remainingLifetime.dividedBy(2);
+    }
+
+    private static Optional<Duration> getRemainingLifetime(String accessToken) {
+        return Optional.ofNullable(accessToken)
+            .flatMap(AbstractUaaTokenProvider::parseToken)
+            .map(Claims::getExpiration)
+            .map(expiration -> Duration.between(Instant.now(), expiration.toInstant()))
+            .filter(remaining -> !remaining.isNegative() && !remaining.isZero());
+    }
+
+    static Duration getRetryDelay(Duration remainingLifetime, Duration tokenRefreshSkew) {
+        Duration halfRemaining = remainingLifetime.dividedBy(2);
+        return halfRemaining.compareTo(tokenRefreshSkew) < 0 ? halfRemaining : tokenRefreshSkew;
+    }
+
     private static Optional<Claims> parseToken(String token) {
         if (!token.contains(".")) {
             return Optional.empty();
@@ -214,10 +265,34 @@ public abstract class AbstractUaaTokenProvider implements TokenProvider {
         return this.refreshTokenStreams.computeIfAbsent(connectionContext, c -> new RefreshToken());
     }
 
+    private Mono<String> negotiate(ConnectionContext connectionContext) {
+        AtomicReference<Mono<String>> negotiation = new AtomicReference<>();
+        negotiation.set(token(connectionContext, signalType -> this.pendingNegotiations.remove(negotiation.get())));
+
+        this.pendingNegotiations.add(negotiation.get());
+        return negotiation.get();
+    }
+
     private Mono<String> primaryToken(ConnectionContext connectionContext) {
         return requestToken(connectionContext, this::tokenRequestTransformer, tokensExtractor(connectionContext));
     }
 
+    private void refresh(ConnectionContext connectionContext) {
+        Mono<String> current = this.accessTokens.get(connectionContext);
+        if (current == null) {
+            return;
+        }
+
+        Mono<String> replacement = token(connectionContext);
+
+        replacement
+            .doOnSubscribe(s -> LOGGER.debug("Refreshing access token ahead of expiry"))
+            .subscribe(accessToken -> this.accessTokens.replace(connectionContext, current, replacement), t -> {
+                LOGGER.debug("Unable to refresh access token ahead of expiry", t);
+                setRetryTime(connectionContext);
+            });
+    }
+
     private Mono<String> refreshToken(ConnectionContext connectionContext, String refreshToken) {
         return requestToken(connectionContext, refreshTokenGrantTokenRequestTransformer(refreshToken), tokensExtractor(connectionContext))
             .onErrorResume(t -> t instanceof UaaException && ((UaaException) t).getStatusCode() == HttpResponseStatus.UNAUTHORIZED.code(), t -> Mono.empty());
@@ -248,12 +323,36 @@ public abstract class AbstractUaaTokenProvider implements TokenProvider {
         headers.set(AUTHORIZATION, String.format("Basic %s", encoded));
     }
 
+    private void setRefreshTime(ConnectionContext connectionContext, String accessToken) {
+        getRemainingLifetime(accessToken)
+            .ifPresent(remaining -> {
+                Instant now = Instant.now();
+                this.expirationTimes.put(connectionContext, now.plus(remaining));
+                this.refreshTimes.put(connectionContext, now.plus(getRefreshDelay(remaining, getTokenRefreshSkew())));
+            });
+    }
+
+    private void setRetryTime(ConnectionContext connectionContext) {
+        Instant now = Instant.now();
+
+        Optional.ofNullable(this.expirationTimes.get(connectionContext))
+            .map(expiration -> Duration.between(now, expiration))
+            .filter(remaining -> !remaining.isNegative() && !remaining.isZero())
+            .ifPresent(remaining -> this.refreshTimes.putIfAbsent(connectionContext, now.plus(getRetryDelay(remaining, getTokenRefreshSkew()))));
+    }
+
     private Mono<String> token(ConnectionContext connectionContext) {
+        return token(connectionContext, signalType -> {
+        });
+    }
+
+    private Mono<String> token(ConnectionContext connectionContext, Consumer<SignalType> onTerminate) {
         Mono<String> cached = this.refreshTokens.getOrDefault(connectionContext, Mono.empty())
             .flatMap(refreshToken -> refreshToken(connectionContext, refreshToken)
                 .doOnSubscribe(s -> LOGGER.debug("Negotiating using refresh token")))
             .switchIfEmpty(primaryToken(connectionContext)
-                .doOnSubscribe(s -> LOGGER.debug("Negotiating using token provider")));
+                .doOnSubscribe(s -> LOGGER.debug("Negotiating using token provider")))
+            .doFinally(onTerminate);
 
         return connectionContext.getCacheDuration()
             .map(cached::cache)
@@ -266,6 +365,7 @@ public abstract class AbstractUaaTokenProvider implements TokenProvider {
         return body -> JsonCodec.decode(connectionContext.getObjectMapper(), body, Map.class)
             .map(payload -> (Map<String, String>) payload)
             .doOnNext(extractRefreshToken(connectionContext))
+            .doOnNext(payload -> setRefreshTime(connectionContext, payload.get(ACCESS_TOKEN)))
             .map(AbstractUaaTokenProvider::extractAccessToken);
     }
 
@@ -22,6 +22,7 @@ import org.cloudfoundry.reactor.TokenProvider;
 import reactor.core.publisher.Mono;
 import reactor.netty.http.client.HttpClient;
 
+import java.nio.file.Path;
 import java.util.Map;
 
 import static io.netty.handler.codec.http.HttpHeaderNames.AUTHORIZATION;
@@ -54,6 +55,17 @@ public abstract class AbstractReactorOperations {
             .map(operator -> operator.headersWhen(this::addHeadersWhen));
     }
 
+    /**
+     * Whether a file to upload must first be compressed into a temporary archive.  This is the case for directories, unless the {@link ConnectionContext} streams uploads, in which case they are
+     * compressed as they are sent.
+     *
+     * @param path the file to upload
+     * @return {@code true} if the file must be compressed before it is uploaded
+     */
+    protected final boolean requiresCompression(Path path) {
+        return path.toFile().isDirectory() && !this.connectionContext.getStreamUploads().orElse(false);
+    }
+
     private void addHeaders(HttpHeaders httpHeaders) {
         UserAgent.setUserAgent(httpHeaders);
         JsonCodec.setDecodeHeaders(httpHeaders);
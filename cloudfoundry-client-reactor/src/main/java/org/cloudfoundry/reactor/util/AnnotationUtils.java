@@ -20,16 +20,26 @@ import org.cloudfoundry.reactor.client.MethodNameComparator;
 import reactor.core.Exceptions;
 
 import java.lang.annotation.Annotation;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.function.Function;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public final class AnnotationUtils {
 
+    private static final ConcurrentMap<Class<? extends Annotation>, ClassValue<List<AnnotatedAccessor<?>>>> ACCESSORS = new ConcurrentHashMap<>();
+
+    private static final MethodType ACCESSOR_TYPE = MethodType.methodType(Object.class, Object.class);
+
     private AnnotationUtils() {
     }
 
@@ -71,14 +81,32 @@ public final class AnnotationUtils {
         return Optional.ofNullable(annotation);
     }
 
+    @SuppressWarnings("unchecked")
     public static <T extends Annotation> Stream<AnnotatedValue<T>> streamAnnotatedValues(Object instance, Class<T> annotationClass) {
-        Class<?> instanceClass = instance.getClass();
-        return Arrays.stream(instanceClass.getMethods())
-            .sorted(MethodNameComparator.INSTANCE)
-            .map(processMethod(instance, annotationClass))
+        return ACCESSORS.computeIfAbsent(annotationClass, AnnotationUtils::createAccessors)
+            .get(instance.getClass())
+            .stream()
+            .map(accessor -> ((AnnotatedAccessor<T>) accessor).getAnnotatedValue(instance))
             .filter(Objects::nonNull);
     }
 
+    private static ClassValue<List<AnnotatedAccessor<?>>> createAccessors(Class<? extends Annotation> annotationClass) {
+        return new ClassValue<List<AnnotatedAccessor<?>>>() {
+
+            @Override
+            protected List<AnnotatedAccessor<?>> computeValue(Class<?> type) {
+                return Collections.unmodifiableList(Arrays.stream(type.getMethods())
+                    .sorted(MethodNameComparator.INSTANCE)
+                    .map(method -> findAnnotation(method, annotationClass)
+                        .map(annotation -> new AnnotatedAccessor<>(annotation, method))
+                        .orElse(null))
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList()));
+            }
+
+        };
+    }
+
     private static <T extends Annotation> Optional<T> findAnnotation(Method method, Class<T> annotationType) {
         Class<?> clazz = method.getDeclaringClass();
         T annotation = method.getAnnotation(annotationType);
@@ -101,21 +129,34 @@ public final class AnnotationUtils {
         return Optional.ofNullable(annotation);
     }
 
-    private static Optional<Object> getValue(Method method, Object instance) {
-        try {
-            return Optional.ofNullable(method.invoke(instance));
-        } catch (IllegalAccessException | InvocationTargetException e) {
-            throw Exceptions.propagate(e);
+    private static final class AnnotatedAccessor<T extends Annotation> {
+
+        private final T annotation;
+
+        private final MethodHandle handle;
+
+        private AnnotatedAccessor(T annotation, Method method) {
+            this.annotation = annotation;
+
+            try {
+                this.handle = MethodHandles.lookup().unreflect(method).asType(ACCESSOR_TYPE);
+            } catch (IllegalAccessException e) {
+                throw Exceptions.propagate(e);
+            }
         }
-    }
 
-    private static <T extends Annotation> Function<T, Optional<AnnotatedValue<T>>> processAnnotation(Method method, Object instance) {
-        return annotation -> getValue(method, instance).map(value -> new AnnotatedValue<T>(annotation, value));
-    }
+        private AnnotatedValue<T> getAnnotatedValue(Object instance) {
+            Object value;
+
+            try {
+                value = (Object) this.handle.invokeExact(instance);
+            } catch (Throwable t) {
+                throw Exceptions.propagate(t);
+            }
+
+            return value == null ? null : new AnnotatedValue<>(this.annotation, value);
+        }
 
-    private static <T extends Annotation> Function<Method, AnnotatedValue<T>> processMethod(Object instance, Class<T> annotationClass) {
-        return method -> findAnnotation(method, annotationClass).flatMap(processAnnotation(method, instance))
-            .orElse(null);
     }
 
 }
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.util.ReferenceCountUtil;
+import org.cloudfoundry.client.DownloadTarget;
+import org.cloudfoundry.reactor.HttpClientResponseWithBody;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+/**
+ * Writes the body of a download directly from network buffers to a {@link DownloadTarget}, without copying it to intermediate {@code byte[]}s
+ */
+public final class DownloadCodec {
+
+    private DownloadCodec() {
+    }
+
+    /**
+     * Requests the remainder of the content if the target has an offset
+     *
+     * @param headers the request headers
+     * @param target  the target of the download
+     */
+    public static void setRange(HttpHeaders headers, DownloadTarget target) {
+        getOffset(target)
+            .ifPresent(offset -> headers.set(HttpHeaderNames.RANGE, String.format("bytes=%d-", offset)));
+    }
+
+    /**
+     * Writes the body of a response to a target
+     *
+     * @param responseWithBody the response
+     * @param target           the target of the download
+     * @return the number of bytes written
+     */
+    public static Mono<Long> write(HttpClientResponseWithBody responseWithBody, DownloadTarget target) {
+        boolean partial = HttpResponseStatus.PARTIAL_CONTENT.equals(responseWithBody.getResponse().status());
+        long offset = partial ? getOffset(target).orElse(0L) : 0L;
+
+        if (!partial && getOffset(target).isPresent() && target.getFile() == null) {
+            return Mono.error(new IllegalStateException("Server does not support resuming downloads and the content cannot be rewritten to a channel"));
+        }
+
+        return Mono
+            .using(() -> open(target, offset), channel -> responseWithBody.getBody()
+                .retain()
+                .publishOn(Schedulers.boundedElastic())
+                .doOnDiscard(ByteBuf.class, ReferenceCountUtil::safeRelease)
+                .reduce(offset, (position, buffer) -> {
+                    long written = position + write(channel, buffer);
+                    Optional.ofNullable(target.getProgress()).ifPresent(progress -> progress.accept(written));
+                    return written;
+                })
+                .map(position -> position - offset), channel -> close(channel, target));
+    }
+
+    private static void close(WritableByteChannel channel, DownloadTarget target) {
+        if (target.getFile() == null) {
+            return;
+        }
+
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw Exceptions.propagate(e);
+        }
+    }
+
+    private static Optional<Long> getOffset(DownloadTarget target) {
+        return Optional.ofNullable(target.getOffset())
+            .filter(offset -> offset > 0);
+    }
+
+    private static WritableByteChannel open(DownloadTarget target, long offset) throws IOException {
+        if (target.getFile() == null) {
+            return target.getChannel();
+        }
+
+        FileChannel channel = FileChannel.open(target.getFile(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        channel.truncate(offset);
+        channel.position(offset);
+        return channel;
+    }
+
+    private static int write(WritableByteChannel channel, ByteBuf buffer) {
+        try {
+            int length = buffer.readableBytes();
+
+            for (ByteBuffer nioBuffer : buffer.nioBuffers()) {
+                while (nioBuffer.hasRemaining()) {
+                    channel.write(nioBuffer);
+                }
+            }
+
+            return length;
+        } catch (IOException e) {
+            throw Exceptions.propagate(e);
+        } finally {
+            buffer.release();
+        }
+    }
+
+}
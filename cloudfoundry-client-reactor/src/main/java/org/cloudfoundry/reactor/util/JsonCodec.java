@@ -16,44 +16,70 @@
 
 package org.cloudfoundry.reactor.util;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import io.netty.buffer.ByteBuf;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpHeaderValues;
 import io.netty.handler.codec.http.HttpHeaders;
-import io.netty.handler.codec.json.JsonObjectDecoder;
 import org.reactivestreams.Publisher;
 import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.netty.ByteBufFlux;
 import reactor.netty.NettyOutbound;
 import reactor.netty.http.client.HttpClientRequest;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 
 public final class JsonCodec {
 
     private static final int MAX_PAYLOAD_SIZE = 100 * 1024 * 1024;
 
+    private static final int MAX_REPORTED_PAYLOAD_SIZE = 64 * 1024;
+
     public static <T> Mono<T> decode(ObjectMapper objectMapper, ByteBufFlux responseBody, Class<T> responseType) {
-        return responseBody.aggregate().asByteArray()
-            .map(payload -> {
-                try {
-                    return objectMapper.readValue(payload, responseType);
-                } catch (Throwable t) {
-                    throw new JsonParsingException(t.getMessage(), t, new String(payload, Charset.defaultCharset()));
-                }
-            });
+        return Mono.defer(() -> {
+            ValueDecoder decoder = new ValueDecoder(objectMapper);
+
+            return responseBody
+                .doOnNext(decoder::feed)
+                .then(Mono.fromCallable(() -> decoder.complete(responseType)))
+                .doFinally(signalType -> decoder.close());
+        });
     }
 
-    public static void setDecodeHeaders(HttpHeaders httpHeaders) {
-        httpHeaders.set(HttpHeaderNames.ACCEPT, HttpHeaderValues.APPLICATION_JSON);
+    /**
+     * Decodes a JSON object, emitting the elements of its {@code arrayName} field as they are parsed.  The remaining fields are decoded into {@code remainderType} and passed to
+     * {@code remainderConsumer} before the returned {@link Flux} completes.
+     */
+    public static <T, R> Flux<T> decodeElements(ObjectMapper objectMapper, ByteBufFlux responseBody, String arrayName, Class<T> elementType, Class<R> remainderType,
+                                                Consumer<R> remainderConsumer) {
+        return Flux.defer(() -> {
+            ElementDecoder<T> decoder = new ElementDecoder<>(objectMapper, arrayName, elementType);
+
+            return responseBody
+                .map(decoder::feedElements)
+                .concatMapIterable(elements -> elements)
+                .concatWith(Mono.fromRunnable(() -> Optional.ofNullable(decoder.complete(remainderType)).ifPresent(remainderConsumer)))
+                .doFinally(signalType -> decoder.close());
+        });
     }
 
-    static JsonObjectDecoder createDecoder() {
-        return new JsonObjectDecoder(MAX_PAYLOAD_SIZE);
+    public static void setDecodeHeaders(HttpHeaders httpHeaders) {
+        httpHeaders.set(HttpHeaderNames.ACCEPT, HttpHeaderValues.APPLICATION_JSON);
     }
 
     static BiFunction<HttpClientRequest, NettyOutbound, Publisher<Void>> encode(ObjectMapper objectMapper, Object requestPayload) {
@@ -76,4 +102,231 @@ public final class JsonCodec {
         };
     }
 
+    /**
+     * Feeds response chunks into a non-blocking Jackson parser as they arrive, buffering parsed tokens rather than raw bytes.  Heap buffers are fed without copying, direct buffers are copied
+     * through a single scratch array that is reused for every chunk of the response.  Only the first 64 KiB of the response are retained, as the payload of
+     * any {@link JsonParsingException}.
+     */
+    private abstract static class StreamingDecoder {
+
+        final ObjectMapper objectMapper;
+
+        final JsonParser parser;
+
+        private final ByteArrayOutputStream reportedPayload = new ByteArrayOutputStream();
+
+        boolean complete;
+
+        int depth;
+
+        TokenBuffer tokens;
+
+        private byte[] scratch = new byte[0];
+
+        private long size;
+
+        private StreamingDecoder(ObjectMapper objectMapper) {
+            this.objectMapper = objectMapper;
+
+            try {
+                this.parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+            } catch (IOException e) {
+                throw Exceptions.propagate(e);
+            }
+        }
+
+        final void close() {
+            try {
+                this.parser.close();
+            } catch (IOException e) {
+                // nothing to do, the parser holds no external resources
+            }
+        }
+
+        final <T> T complete(Class<T> type) {
+            try {
+                ((ByteArrayFeeder) this.parser.getNonBlockingInputFeeder()).endOfInput();
+                parseAvailableTokens();
+
+                if (this.tokens == null) {
+                    return null;
+                }
+
+                if (!this.complete) {
+                    throw new JsonParsingException("Unexpected end of JSON payload", null, payload());
+                }
+
+                return this.objectMapper.readValue(this.tokens.asParser(this.objectMapper), type);
+            } catch (JsonParsingException e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new JsonParsingException(t.getMessage(), t, payload());
+            }
+        }
+
+        final void feed(ByteBuf chunk) {
+            int length = chunk.readableBytes();
+            if (this.complete || length == 0) {
+                return;
+            }
+
+            this.size += length;
+            if (this.size > MAX_PAYLOAD_SIZE) {
+                throw new JsonParsingException(String.format("JSON payload exceeds maximum size of %d bytes", MAX_PAYLOAD_SIZE), null, payload());
+            }
+
+            try {
+                int reported = Math.min(length, MAX_REPORTED_PAYLOAD_SIZE - this.reportedPayload.size());
+                if (reported > 0) {
+                    chunk.getBytes(chunk.readerIndex(), this.reportedPayload, reported);
+                }
+
+                ByteArrayFeeder feeder = (ByteArrayFeeder) this.parser.getNonBlockingInputFeeder();
+
+                if (chunk.hasArray()) {
+                    int start = chunk.arrayOffset() + chunk.readerIndex();
+                    feeder.feedInput(chunk.array(), start, start + length);
+                } else {
+                    if (this.scratch.length < length) {
+                        this.scratch = new byte[length];
+                    }
+                    chunk.getBytes(chunk.readerIndex(), this.scratch, 0, length);
+                    feeder.feedInput(this.scratch, 0, length);
+                }
+
+                parseAvailableTokens();
+            } catch (JsonParsingException e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new JsonParsingException(t.getMessage(), t, payload());
+            }
+        }
+
+        abstract void onToken(JsonToken token) throws IOException;
+
+        final String payload() {
+            return new String(this.reportedPayload.toByteArray(), Charset.defaultCharset());
+        }
+
+        final void updateDepth(JsonToken token) {
+            if (token.isStructStart()) {
+                this.depth++;
+            } else if (token.isStructEnd()) {
+                this.depth--;
+            }
+        }
+
+        private void parseAvailableTokens() throws IOException {
+            JsonToken token;
+            while (!this.complete && (token = this.parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                onToken(token);
+            }
+        }
+
+    }
+
+    private static final class ElementDecoder<T> extends StreamingDecoder {
+
+        private final String arrayName;
+
+        private final List<T> elements = new ArrayList<>();
+
+        private final Class<T> elementType;
+
+        private TokenBuffer element;
+
+        private boolean expectingArray;
+
+        private boolean inArray;
+
+        private ElementDecoder(ObjectMapper objectMapper, String arrayName, Class<T> elementType) {
+            super(objectMapper);
+            this.arrayName = arrayName;
+            this.elementType = elementType;
+        }
+
+        @Override
+        void onToken(JsonToken token) throws IOException {
+            if (this.inArray) {
+                onArrayToken(token);
+                return;
+            }
+
+            if (this.expectingArray) {
+                this.expectingArray = false;
+
+                if (token == JsonToken.START_ARRAY) {
+                    this.inArray = true;
+                    updateDepth(token);
+                    return;
+                }
+
+                if (token == JsonToken.VALUE_NULL) {
+                    return;
+                }
+
+                throw new JsonParsingException(String.format("Expected field '%s' to be an array but was %s", this.arrayName, token), null, payload());
+            }
+
+            if (this.depth == 1 && token == JsonToken.FIELD_NAME && this.arrayName.equals(this.parser.getCurrentName())) {
+                this.expectingArray = true;
+                return;
+            }
+
+            if (this.tokens == null) {
+                this.tokens = new TokenBuffer(this.parser);
+            }
+
+            this.tokens.copyCurrentEvent(this.parser);
+            updateDepth(token);
+            this.complete = this.depth == 0;
+        }
+
+        private List<T> feedElements(ByteBuf chunk) {
+            this.elements.clear();
+            feed(chunk);
+            return new ArrayList<>(this.elements);
+        }
+
+        private void onArrayToken(JsonToken token) throws IOException {
+            if (this.depth == 2 && token == JsonToken.END_ARRAY) {
+                this.inArray = false;
+                updateDepth(token);
+                return;
+            }
+
+            if (this.element == null) {
+                this.element = new TokenBuffer(this.parser);
+            }
+
+            this.element.copyCurrentEvent(this.parser);
+            updateDepth(token);
+
+            if (this.depth == 2) {
+                this.elements.add(this.objectMapper.readValue(this.element.asParser(this.objectMapper), this.elementType));
+                this.element = null;
+            }
+        }
+
+    }
+
+    private static final class ValueDecoder extends StreamingDecoder {
+
+        private ValueDecoder(ObjectMapper objectMapper) {
+            super(objectMapper);
+        }
+
+        @Override
+        void onToken(JsonToken token) throws IOException {
+            if (this.tokens == null) {
+                this.tokens = new TokenBuffer(this.parser);
+            }
+
+            this.tokens.copyCurrentEvent(this.parser);
+            updateDepth(token);
+            this.complete = this.depth == 0;
+        }
+
+    }
+
 }
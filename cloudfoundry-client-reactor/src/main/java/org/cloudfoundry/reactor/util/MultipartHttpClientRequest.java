@@ -18,20 +18,40 @@ package org.cloudfoundry.reactor.util;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
 import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import org.cloudfoundry.util.FileUtils;
+import reactor.core.Disposable;
 import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.ByteBufFlux;
+import reactor.netty.NettyOutbound;
 import reactor.netty.http.client.HttpClientForm;
 import reactor.netty.http.client.HttpClientRequest;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 public final class MultipartHttpClientRequest {
 
+    private static final int CHUNK_SIZE = 64 * 1_024;
+
     private final HttpClientForm form;
 
     private final ObjectMapper objectMapper;
@@ -40,10 +60,29 @@ public final class MultipartHttpClientRequest {
 
     private final HttpClientRequest request;
 
+    private NettyOutbound outbound;
+
     public MultipartHttpClientRequest(ObjectMapper objectMapper, HttpClientRequest request, HttpClientForm form) {
+        this(objectMapper, request, form, null);
+    }
+
+    /**
+     * Creates a request that writes its parts directly to {@code outbound} using chunked transfer encoding, rather than encoding them as a form.  Directories sent as parts are compressed as they are
+     * written, so no temporary archive is staged on disk.
+     *
+     * @param objectMapper the {@link ObjectMapper} to serialize payloads with
+     * @param request      the request
+     * @param outbound     the outbound to write the parts to
+     */
+    public MultipartHttpClientRequest(ObjectMapper objectMapper, HttpClientRequest request, NettyOutbound outbound) {
+        this(objectMapper, request, null, outbound);
+    }
+
+    private MultipartHttpClientRequest(ObjectMapper objectMapper, HttpClientRequest request, HttpClientForm form, NettyOutbound outbound) {
+        this.form = form;
         this.objectMapper = objectMapper;
+        this.outbound = outbound;
         this.request = request;
-        this.form = form;
     }
 
     public MultipartHttpClientRequest addPart(Consumer<PartHttpClientRequest> partConsumer) {
@@ -60,6 +99,11 @@ public final class MultipartHttpClientRequest {
             })
             .collect(Collectors.toList());
 
+        if (this.form == null) {
+            this.outbound = this.outbound.send(encode(parts));
+            return;
+        }
+
         this.request.requestHeaders()
             .remove(HttpHeaderNames.TRANSFER_ENCODING);
 
@@ -71,8 +115,66 @@ public final class MultipartHttpClientRequest {
         }
     }
 
+    /**
+     * Returns the outbound that the parts are written to once {@link #done()} has been called.  Only available for requests created with a {@link NettyOutbound}.
+     *
+     * @return the outbound that the parts are written to
+     */
+    public NettyOutbound getOutbound() {
+        return this.outbound;
+    }
+
+    private static Flux<ByteBuf> compress(Path directory, ByteBufAllocator allocator) {
+        return Flux.create(sink -> {
+            SinkOutputStream out = new SinkOutputStream(allocator, sink);
+
+            sink.onRequest(n -> out.demand());
+
+            Disposable compression = Schedulers.boundedElastic().schedule(() -> {
+                try {
+                    FileUtils.compress(directory, out);
+                    sink.complete();
+                } catch (RuntimeException e) {
+                    sink.error(Exceptions.unwrap(e));
+                }
+            });
+
+            sink.onDispose(() -> {
+                out.dispose();
+                compression.dispose();
+            });
+        }, FluxSink.OverflowStrategy.ERROR);
+    }
+
+    private static long size(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            throw Exceptions.propagate(e);
+        }
+    }
+
+    private static Mono<ByteBuf> text(String value) {
+        return Mono.fromSupplier(() -> Unpooled.copiedBuffer(value, StandardCharsets.UTF_8));
+    }
+
+    private Flux<ByteBuf> encode(List<PartHttpClientRequest> parts) {
+        String boundary = Long.toHexString(ThreadLocalRandom.current().nextLong());
+
+        this.request.requestHeaders()
+            .remove(HttpHeaderNames.CONTENT_LENGTH)
+            .set(HttpHeaderNames.CONTENT_TYPE, String.format("%s; %s=%s", HttpHeaderValues.MULTIPART_FORM_DATA, HttpHeaderValues.BOUNDARY, boundary))
+            .set(HttpHeaderNames.TRANSFER_ENCODING, HttpHeaderValues.CHUNKED);
+
+        return Flux.fromIterable(parts)
+            .concatMap(part -> part.encode(boundary, this.outbound.alloc()))
+            .concatWith(text(String.format("--%s--\r\n", boundary)));
+    }
+
     public static final class PartHttpClientRequest {
 
+        private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
         private final ObjectMapper objectMapper;
 
         private String contentType;
@@ -83,7 +185,7 @@ public final class MultipartHttpClientRequest {
 
         private String name;
 
-        private ByteArrayInputStream payload;
+        private byte[] payload;
 
         private PartHttpClientRequest(ObjectMapper objectMapper) {
             this.objectMapper = objectMapper;
@@ -91,13 +193,17 @@ public final class MultipartHttpClientRequest {
 
         public void send(Object source) {
             try {
-                byte[] bytes = this.objectMapper.writeValueAsBytes(source);
-                this.payload = new ByteArrayInputStream(bytes);
+                this.payload = this.objectMapper.writeValueAsBytes(source);
             } catch (JsonProcessingException e) {
                 throw Exceptions.propagate(e);
             }
         }
 
+        /**
+         * Send the contents of a file.  When the request writes directly to an outbound, a directory is compressed as it is sent.
+         *
+         * @param file the file to send
+         */
         public void sendFile(Path file) {
             this.file = file;
         }
@@ -117,19 +223,159 @@ public final class MultipartHttpClientRequest {
             return this;
         }
 
+        private Flux<ByteBuf> encode(String boundary, ByteBufAllocator allocator) {
+            if (this.file == null && this.payload == null) {
+                return Flux.empty();
+            }
+
+            return Flux.defer(() -> {
+                StringBuilder header = new StringBuilder()
+                    .append("--").append(boundary).append("\r\n")
+                    .append("content-disposition: form-data; name=\"").append(this.name).append("\"");
+
+                String filename = getFilenameOrDefault();
+                if (filename != null) {
+                    header.append("; filename=\"").append(filename).append("\"");
+                }
+                header.append("\r\n");
+
+                Flux<ByteBuf> content;
+                if (this.payload != null) {
+                    header.append("content-length: ").append(this.payload.length).append("\r\n");
+                    content = Flux.just(this.payload).map(Unpooled::wrappedBuffer);
+                } else if (Files.isDirectory(this.file)) {
+                    content = compress(this.file, allocator);
+                } else {
+                    header.append("content-length: ").append(size(this.file)).append("\r\n");
+                    content = ByteBufFlux.fromPath(this.file);
+                }
+
+                header
+                    .append("content-type: ").append(this.contentType != null ? this.contentType : DEFAULT_CONTENT_TYPE).append("\r\n")
+                    .append("content-transfer-encoding: binary\r\n")
+                    .append("\r\n");
+
+                return text(header.toString())
+                    .concatWith(content)
+                    .concatWith(text("\r\n"));
+            });
+        }
+
         private String getFilenameOrDefault() {
-            return this.filename != null ? this.filename : this.file.getFileName().toString();
+            if (this.filename != null) {
+                return this.filename;
+            } else if (this.file == null) {
+                return null;
+            } else if (Files.isDirectory(this.file)) {
+                return this.file.getFileName() + ".zip";
+            } else {
+                return this.file.getFileName().toString();
+            }
         }
 
         private HttpClientForm send(HttpClientForm form) {
             if (this.file != null) {
                 return form.file(this.name, getFilenameOrDefault(), this.file.toFile(), this.contentType);
             } else if (this.payload != null) {
-                return form.file(this.name, this.payload, this.contentType);
+                return form.file(this.name, new ByteArrayInputStream(this.payload), this.contentType);
             }
             return form;
         }
 
     }
 
+    /**
+     * Collects the written bytes into pooled buffers of {@code CHUNK_SIZE} bytes and hands each full buffer to a sink.  Before handing over a buffer, the writing thread waits until the sink
+     * has demand for it, so the sink never holds more buffers than have been requested.
+     */
+    private static final class SinkOutputStream extends OutputStream {
+
+        private final ByteBufAllocator allocator;
+
+        private final FluxSink<ByteBuf> sink;
+
+        private ByteBuf buffer;
+
+        private boolean disposed;
+
+        private SinkOutputStream(ByteBufAllocator allocator, FluxSink<ByteBuf> sink) {
+            this.allocator = allocator;
+            this.sink = sink;
+        }
+
+        @Override
+        public void close() throws IOException {
+            emit();
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            buffer().writeByte(b);
+            emitIfFull();
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                int length = Math.min(len, buffer().writableBytes());
+                this.buffer.writeBytes(b, off, length);
+                off += length;
+                len -= length;
+
+                emitIfFull();
+            }
+        }
+
+        private ByteBuf buffer() {
+            if (this.buffer == null) {
+                this.buffer = this.allocator.buffer(CHUNK_SIZE, CHUNK_SIZE);
+            }
+
+            return this.buffer;
+        }
+
+        private synchronized void demand() {
+            notifyAll();
+        }
+
+        private synchronized void dispose() {
+            this.disposed = true;
+            notifyAll();
+        }
+
+        private void emit() throws IOException {
+            if (this.buffer == null) {
+                return;
+            }
+
+            ByteBuf emitted = this.buffer;
+            this.buffer = null;
+
+            synchronized (this) {
+                try {
+                    while (!this.disposed && this.sink.requestedFromDownstream() == 0) {
+                        wait();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    this.disposed = true;
+                }
+
+                if (this.disposed) {
+                    emitted.release();
+                    throw new InterruptedIOException("Upload cancelled");
+                }
+            }
+
+            this.sink.next(emitted);
+        }
+
+        private void emitIfFull() throws IOException {
+            if (!this.buffer.isWritable()) {
+                emit();
+            }
+        }
+
+    }
+
 }
@@ -16,15 +16,20 @@
 
 package org.cloudfoundry.reactor.util;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.netty.channel.ChannelHandler;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpHeaderValues;
 import io.netty.handler.codec.http.HttpHeaders;
 import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpResponseStatus;
+import org.cloudfoundry.reactor.CachedResponse;
 import org.cloudfoundry.reactor.HttpClientResponseWithBody;
 import org.cloudfoundry.reactor.HttpClientResponseWithConnection;
 import org.cloudfoundry.reactor.HttpClientResponseWithParsedBody;
+import org.cloudfoundry.reactor.RequestCoalescer;
+import org.cloudfoundry.reactor.ResponseCache;
 import org.reactivestreams.Publisher;
 import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Flux;
@@ -40,10 +45,18 @@ import reactor.netty.http.websocket.WebsocketInbound;
 import reactor.netty.http.websocket.WebsocketOutbound;
 import reactor.util.retry.Retry;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
@@ -91,7 +104,7 @@ public class Operator extends OperatorContextAware {
     }
 
     public UriConfiguration request(HttpMethod method) {
-        return new UriConfiguration(this.context, attachRequestLogger(this.httpClient).request(method));
+        return new UriConfiguration(this.context, method, attachRequestMetricsCollector(attachRequestLogger(this.httpClient)).request(method));
     }
 
     public WebsocketUriConfiguration websocket() {
@@ -109,17 +122,29 @@ public class Operator extends OperatorContextAware {
             .doOnResponseError((response, connection) -> requestLogger.response(response));
     }
 
+    private HttpClient attachRequestMetricsCollector(HttpClient httpClient) {
+        return this.context.getConnectionContext().getRequestMetricsRecorder()
+            .map(recorder -> new RequestMetricsCollector(recorder).attach(httpClient))
+            .orElse(httpClient);
+    }
+
     public static class PayloadConfiguration extends OperatorContextAware {
 
+        private final HttpMethod method;
+
         private final HttpClient.RequestSender requestSender;
 
-        PayloadConfiguration(OperatorContext context, HttpClient.RequestSender requestSender) {
+        private final String uri;
+
+        PayloadConfiguration(OperatorContext context, HttpMethod method, HttpClient.RequestSender requestSender, String uri) {
             super(context);
+            this.method = method;
             this.requestSender = requestSender;
+            this.uri = uri;
         }
 
         public ResponseReceiver response() {
-            return new ResponseReceiver(this.context, this.requestSender);
+            return new ResponseReceiver(this.context, this.requestSender, HttpMethod.GET.equals(this.method) ? this.requestSender : null, this.uri);
         }
 
         public ResponseReceiverConstructor send(Object payload) {
@@ -136,6 +161,20 @@ public class Operator extends OperatorContextAware {
             return new ResponseReceiverConstructor(this.context, responseReceiver);
         }
 
+        public ResponseReceiverConstructor sendMultipart(Consumer<MultipartHttpClientRequest> requestTransformer) {
+            ObjectMapper objectMapper = this.context.getConnectionContext().getObjectMapper();
+
+            if (this.context.getConnectionContext().getStreamUploads().orElse(false)) {
+                return send((request, outbound) -> {
+                    MultipartHttpClientRequest multipartRequest = new MultipartHttpClientRequest(objectMapper, request, outbound);
+                    requestTransformer.accept(multipartRequest);
+                    return multipartRequest.getOutbound();
+                });
+            }
+
+            return sendForm((request, form) -> requestTransformer.accept(new MultipartHttpClientRequest(objectMapper, request, form)));
+        }
+
         private BiFunction<HttpClientRequest, NettyOutbound, Publisher<Void>> serialized(Object payload) {
             return JsonCodec.encode(this.context.getConnectionContext().getObjectMapper(), payload);
         }
@@ -146,11 +185,21 @@ public class Operator extends OperatorContextAware {
 
         private final List<Function<HttpClientResponse, ChannelHandler>> channelHandlerBuilders = new ArrayList<>();
 
+        private final HttpClient.RequestSender requestSender;
+
         private final HttpClient.ResponseReceiver<?> responseReceiver;
 
+        private final String uri;
+
         ResponseReceiver(OperatorContext context, HttpClient.ResponseReceiver<?> responseReceiver) {
+            this(context, responseReceiver, null, null);
+        }
+
+        ResponseReceiver(OperatorContext context, HttpClient.ResponseReceiver<?> responseReceiver, HttpClient.RequestSender requestSender, String uri) {
             super(context);
+            this.requestSender = requestSender;
             this.responseReceiver = responseReceiver;
+            this.uri = uri;
         }
 
         public ResponseReceiver addChannelHandler(Function<HttpClientResponse, ChannelHandler> channelHandlerBuilder) {
@@ -173,12 +222,49 @@ public class Operator extends OperatorContextAware {
         }
 
         public <T> Mono<T> parseBody(Class<T> bodyType) {
-            addJsonDecoderToChannelHandlers();
             return parseBodyToMono(responseWithBody -> deserialized(responseWithBody.getBody(), bodyType));
         }
 
+        public <T> Mono<T> parseCacheableBody(Class<T> bodyType) {
+            Optional<RequestCoalescer> requestCoalescer = this.context.getConnectionContext().getRequestCoalescer();
+            Optional<ResponseCache> responseCache = this.context.getConnectionContext().getResponseCache();
+
+            if (this.requestSender == null || !(requestCoalescer.isPresent() || responseCache.isPresent())) {
+                return parseBody(bodyType);
+            }
+
+            return getRequestKey()
+                .flatMap(key -> {
+                    Mono<T> body = responseCache
+                        .flatMap(cache -> cache.resolveTimeToLive(this.uri)
+                            .map(timeToLive -> parseCachedBody(cache, timeToLive, key, bodyType)))
+                        .orElseGet(() -> parseBody(bodyType));
+
+                    return requestCoalescer
+                        .map(coalescer -> coalescer.coalesce(key, bodyType, body))
+                        .orElse(body);
+                });
+        }
+
+        /**
+         * Emits the elements of the {@code arrayName} field of the response as they are decoded, passing the rest of the response to {@code remainderConsumer}.  If the response may be
+         * served from the {@link ResponseCache} or shared through the {@link RequestCoalescer}, it is instead parsed whole with {@link #parseCacheableBody(Class)}, passed to
+         * {@code remainderConsumer}, and its elements emitted with {@code elementsExtractor}.
+         */
+        public <T, R> Flux<T> parseCacheableElements(String arrayName, Class<T> elementType, Class<R> bodyType, Function<R, List<T>> elementsExtractor, Consumer<R> remainderConsumer) {
+            Optional<RequestCoalescer> requestCoalescer = this.context.getConnectionContext().getRequestCoalescer();
+            Optional<ResponseCache> responseCache = this.context.getConnectionContext().getResponseCache();
+
+            if (this.requestSender == null || !(requestCoalescer.isPresent() || responseCache.flatMap(cache -> cache.resolveTimeToLive(this.uri)).isPresent())) {
+                return parseBodyToElements(arrayName, elementType, bodyType, remainderConsumer);
+            }
+
+            return parseCacheableBody(bodyType)
+                .doOnNext(remainderConsumer)
+                .flatMapIterable(body -> Optional.ofNullable(elementsExtractor.apply(body)).orElse(Collections.emptyList()));
+        }
+
         public <T> Mono<HttpClientResponseWithParsedBody<T>> parseBodyWithResponse(Class<T> bodyType) {
-            addJsonDecoderToChannelHandlers();
             return this.responseReceiver.responseConnection((response, connection) -> Mono.just(HttpClientResponseWithConnection.of(connection, response)))
                     .transform(this::processResponse)
                     .flatMap(httpClientResponseWithConnection ->
@@ -190,6 +276,11 @@ public class Operator extends OperatorContextAware {
                     .singleOrEmpty();
         }
 
+        public <T, R> Flux<T> parseBodyToElements(String arrayName, Class<T> elementType, Class<R> remainderType, Consumer<R> remainderConsumer) {
+            return parseBodyToFlux(responseWithBody -> JsonCodec.decodeElements(this.context.getConnectionContext().getObjectMapper(), responseWithBody.getBody(), arrayName, elementType,
+                remainderType, remainderConsumer));
+        }
+
         public <T> Flux<T> parseBodyToFlux(Function<HttpClientResponseWithBody, Publisher<T>> responseTransformer) {
             return this.responseReceiver.responseConnection((response, connection) -> Mono.just(HttpClientResponseWithConnection.of(connection, response)))
                 .transform(this::processResponse)
@@ -213,18 +304,57 @@ public class Operator extends OperatorContextAware {
                 .flatMap(responseTransformer).singleOrEmpty();
         }
 
-        private static boolean isUnauthorized(HttpClientResponseWithConnection response) {
-            return HttpResponseStatus.UNAUTHORIZED.equals(response.getResponse().status()); 
+        private static CachedResponse cachedResponse(Object body, HttpClientResponse response, Duration timeToLive) {
+            return CachedResponse.builder()
+                .body(body)
+                .entityTag(Optional.ofNullable(response.responseHeaders().get(HttpHeaderNames.ETAG)))
+                .expiresAt(System.nanoTime() + timeToLive.toNanos())
+                .lastModified(Optional.ofNullable(response.responseHeaders().get(HttpHeaderNames.LAST_MODIFIED)))
+                .build();
         }
 
-        private void addJsonDecoderToChannelHandlers() {
-            addChannelHandler(response -> {
-                if (HttpHeaderValues.APPLICATION_JSON.contentEquals(response.responseHeaders().get(HttpHeaderNames.CONTENT_TYPE))) {
-                    return JsonCodec.createDecoder();
+        private static String getIdentity(ObjectMapper objectMapper, String token) {
+            String[] segments = token.substring(token.indexOf(' ') + 1).split("\\.");
+
+            try {
+                JsonNode claims = objectMapper.readTree(Base64.getUrlDecoder().decode(segments[1]));
+
+                if (claims.hasNonNull("sub")) {
+                    return hash(String.format("%s %s %s", claims.path("iss").asText(), claims.path("zid").asText(), claims.path("sub").asText()));
                 }
+            } catch (IllegalArgumentException | IndexOutOfBoundsException | IOException e) {
+                // not a JWT, fall through
+            }
 
-                return null;
-            });
+            return hash(token);
+        }
+
+        private static String hash(String value) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+
+                StringBuilder sb = new StringBuilder(digest.length * 2);
+                for (byte b : digest) {
+                    sb.append(String.format("%02x", b));
+                }
+
+                return sb.toString();
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private static boolean isFresh(CachedResponse cachedResponse) {
+            return cachedResponse.getExpiresAt() - System.nanoTime() > 0;
+        }
+
+        private static boolean isStorable(HttpClientResponse response) {
+            String cacheControl = response.responseHeaders().get(HttpHeaderNames.CACHE_CONTROL);
+            return HttpResponseStatus.OK.equals(response.status()) && (cacheControl == null || !cacheControl.contains(HttpHeaderValues.NO_STORE));
+        }
+
+        private static boolean isUnauthorized(HttpClientResponseWithConnection response) {
+            return HttpResponseStatus.UNAUTHORIZED.equals(response.getResponse().status()); 
         }
 
         private void attachChannelHandlers(HttpClientResponse response, Connection connection) {
@@ -236,6 +366,14 @@ public class Operator extends OperatorContextAware {
             }
         }
 
+        private HttpClient.ResponseReceiver<?> conditional(CachedResponse cachedResponse) {
+            return this.requestSender.send((request, outbound) -> {
+                cachedResponse.getEntityTag().ifPresent(entityTag -> request.header(HttpHeaderNames.IF_NONE_MATCH, entityTag));
+                cachedResponse.getLastModified().ifPresent(lastModified -> request.header(HttpHeaderNames.IF_MODIFIED_SINCE, lastModified));
+                return outbound;
+            });
+        }
+
         private <T> Mono<T> deserialized(ByteBufFlux body, Class<T> bodyType) {
             return JsonCodec.decode(this.context.getConnectionContext().getObjectMapper(), body, bodyType);
         }
@@ -253,10 +391,61 @@ public class Operator extends OperatorContextAware {
                 });
         }
 
+        private Mono<String> getRequestKey() {
+            return this.context.getTokenProvider()
+                .map(tokenProvider -> tokenProvider.getToken(this.context.getConnectionContext()))
+                .map(token -> token.map(value -> getIdentity(this.context.getConnectionContext().getObjectMapper(), value)))
+                .orElse(Mono.just(""))
+                .map(identity -> String.format("%s %s", identity, this.uri));
+        }
+
+        private <T> Mono<T> parseCachedBody(ResponseCache responseCache, Duration timeToLive, String key, Class<T> bodyType) {
+            return Mono.defer(() -> {
+                Optional<CachedResponse> cachedResponse = responseCache.get(key)
+                    .filter(candidate -> bodyType.isInstance(candidate.getBody()));
+
+                if (cachedResponse.filter(ResponseReceiver::isFresh).isPresent()) {
+                    return Mono.just(bodyType.cast(cachedResponse.get().getBody()));
+                }
+
+                ResponseReceiver responseReceiver = new ResponseReceiver(this.context, cachedResponse
+                    .filter(candidate -> candidate.getEntityTag().isPresent() || candidate.getLastModified().isPresent())
+                    .<HttpClient.ResponseReceiver<?>>map(this::conditional)
+                    .orElse(this.requestSender));
+                responseReceiver.channelHandlerBuilders.addAll(this.channelHandlerBuilders);
+
+                return responseReceiver.parseBodyWithResponse(bodyType)
+                    .flatMap(responseWithBody -> {
+                        HttpClientResponse response = responseWithBody.getResponse();
+
+                        if (cachedResponse.isPresent() && HttpResponseStatus.NOT_MODIFIED.equals(response.status())) {
+                            responseCache.put(key, CachedResponse.builder()
+                                .from(cachedResponse.get())
+                                .expiresAt(System.nanoTime() + timeToLive.toNanos())
+                                .build());
+                            return Mono.just(bodyType.cast(cachedResponse.get().getBody()));
+                        }
+
+                        responseWithBody.getBody()
+                            .filter(body -> isStorable(response))
+                            .ifPresent(body -> responseCache.put(key, cachedResponse(body, response, timeToLive)));
+
+                        return Mono.justOrEmpty(responseWithBody.getBody());
+                    });
+            });
+        }
+
         private Flux<HttpClientResponseWithConnection> processResponse(Flux<HttpClientResponseWithConnection> inbound) {
-            return inbound
-                .transform(this::invalidateToken)
-                .retryWhen(Retry.max(this.context.getConnectionContext().getInvalidTokenRetries()).filter(InvalidTokenException.class::isInstance))
+            return Flux
+                .defer(() -> {
+                    AtomicInteger tokenRetries = new AtomicInteger();
+
+                    return inbound
+                        .transform(this::invalidateToken)
+                        .retryWhen(Retry.max(this.context.getConnectionContext().getInvalidTokenRetries()).filter(InvalidTokenException.class::isInstance)
+                            .doBeforeRetry(signal -> tokenRetries.incrementAndGet()))
+                        .contextWrite(RequestMetricsCollector.tokenRetries(tokenRetries));
+                })
                 .transform(this.context.getErrorPayloadMapper()
                     .orElse(ErrorPayloadMappers.fallback()));
         }
@@ -303,16 +492,19 @@ public class Operator extends OperatorContextAware {
 
     public static class UriConfiguration extends OperatorContextAware {
 
+        private final HttpMethod method;
+
         private final HttpClient.RequestSender requestSender;
 
-        private UriConfiguration(OperatorContext context, HttpClient.RequestSender requestSender) {
+        private UriConfiguration(OperatorContext context, HttpMethod method, HttpClient.RequestSender requestSender) {
             super(context);
+            this.method = method;
             this.requestSender = requestSender;
         }
 
         public PayloadConfiguration uri(Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer) {
             String uri = transformRoot(uriTransformer);
-            return new PayloadConfiguration(this.context, this.requestSender.uri(uri));
+            return new PayloadConfiguration(this.context, this.method, this.requestSender.uri(uri), uri);
         }
 
     }
@@ -326,13 +518,16 @@ public class Operator extends OperatorContextAware {
         }
 
         public Flux<InputStream> get() {
-            return this.sender.handle(this::handleWebsocketCommunication);
+            return get(ByteBufFlux::asInputStream);
+        }
+
+        public <T> Flux<T> get(Function<ByteBufFlux, Flux<T>> bodyTransformer) {
+            return this.sender.handle((inbound, outbound) -> handleWebsocketCommunication(inbound, outbound, bodyTransformer));
         }
 
-        private Publisher<InputStream> handleWebsocketCommunication(WebsocketInbound inbound, WebsocketOutbound outbound) {
-            return inbound.aggregateFrames()
-                .receive()
-                .asInputStream()
+        private static <T> Publisher<T> handleWebsocketCommunication(WebsocketInbound inbound, WebsocketOutbound outbound, Function<ByteBufFlux, Flux<T>> bodyTransformer) {
+            return bodyTransformer.apply(inbound.aggregateFrames()
+                .receive())
                 .doFinally(signalType -> outbound.sendClose());
         }
 
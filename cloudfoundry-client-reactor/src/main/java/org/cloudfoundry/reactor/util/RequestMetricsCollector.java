@@ -0,0 +1,180 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufHolder;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import org.cloudfoundry.reactor.RequestMetrics;
+import org.cloudfoundry.reactor.RequestMetricsRecorder;
+import reactor.netty.Connection;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.client.HttpClientRequest;
+import reactor.netty.http.client.HttpClientResponse;
+import reactor.util.context.Context;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+
+/**
+ * Collects the {@link RequestMetrics} of each attempt of a request and passes them to a {@link RequestMetricsRecorder}.  Attempts of a request are sent one after another, so the state of the
+ * current attempt is held by the collector rather than by the connection it is sent on.  The number of invalid token retries is read from the subscriber {@link Context}, where it is
+ * maintained by the retry that handles invalid tokens, so redirects and transport-level retries are not counted.
+ */
+final class RequestMetricsCollector {
+
+    private static final String CF_WARNINGS = "X-Cf-Warnings";
+
+    private static final String HANDLER_NAME = "cloudfoundry-client.metrics";
+
+    private static final Pattern IDENTIFIER = Pattern.compile("[0-9]+|[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+
+    private static final String TOKEN_RETRIES = "cloudfoundry-client.metrics.token-retries";
+
+    private final AtomicReference<Attempt> current = new AtomicReference<>();
+
+    private final RequestMetricsRecorder recorder;
+
+    RequestMetricsCollector(RequestMetricsRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    static String template(String uri) {
+        URI parsed = URI.create(uri);
+
+        String[] segments = parsed.getRawPath().split("/", -1);
+        for (int i = 0; i < segments.length; i++) {
+            if (IDENTIFIER.matcher(segments[i]).matches()) {
+                segments[i] = "{id}";
+            }
+        }
+
+        return String.format("%s://%s%s", parsed.getScheme(), parsed.getRawAuthority(), String.join("/", segments));
+    }
+
+    static Context tokenRetries(AtomicInteger tokenRetries) {
+        return Context.of(TOKEN_RETRIES, tokenRetries);
+    }
+
+    HttpClient attach(HttpClient httpClient) {
+        return httpClient
+            .doOnRequest(this::request)
+            .doOnRequestError((request, throwable) -> complete(null))
+            .doAfterResponseSuccess(this::response)
+            .doOnResponseError((response, throwable) -> complete(response));
+    }
+
+    private void complete(HttpClientResponse response) {
+        Attempt attempt = this.current.getAndSet(null);
+        if (attempt == null) {
+            return;
+        }
+
+        List<String> warnings = response != null ? response.responseHeaders().getAll(CF_WARNINGS) : Collections.emptyList();
+
+        this.recorder.record(RequestMetrics.builder()
+            .bytesReceived(attempt.counter.received)
+            .bytesSent(attempt.counter.sent)
+            .duration(Duration.ofNanos(System.nanoTime() - attempt.start))
+            .method(attempt.method)
+            .status(Optional.ofNullable(response).map(r -> r.status().code()))
+            .tokenRetries(attempt.tokenRetries)
+            .uri(attempt.uri)
+            .warnings(warnings)
+            .build());
+    }
+
+    private void request(HttpClientRequest request, Connection connection) {
+        if (connection.channel().pipeline().get(HANDLER_NAME) != null) {
+            connection.removeHandler(HANDLER_NAME);
+        }
+
+        ByteCounter counter = new ByteCounter();
+        connection.addHandlerFirst(HANDLER_NAME, counter);
+
+        int tokenRetries = request.currentContextView().<AtomicInteger>getOrEmpty(TOKEN_RETRIES)
+            .map(AtomicInteger::get)
+            .orElse(0);
+
+        this.current.set(new Attempt(counter, request.method().name(), tokenRetries, template(request.resourceUrl())));
+    }
+
+    private void response(HttpClientResponse response, Connection connection) {
+        complete(response);
+        connection.removeHandler(HANDLER_NAME);
+    }
+
+    private static final class Attempt {
+
+        private final ByteCounter counter;
+
+        private final String method;
+
+        private final long start = System.nanoTime();
+
+        private final int tokenRetries;
+
+        private final String uri;
+
+        private Attempt(ByteCounter counter, String method, int tokenRetries, String uri) {
+            this.counter = counter;
+            this.method = method;
+            this.tokenRetries = tokenRetries;
+            this.uri = uri;
+        }
+
+    }
+
+    private static final class ByteCounter extends ChannelDuplexHandler {
+
+        private volatile long received;
+
+        private volatile long sent;
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            this.received += readableBytes(msg);
+            ctx.fireChannelRead(msg);
+        }
+
+        @Override
+        public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+            this.sent += readableBytes(msg);
+            ctx.write(msg, promise);
+        }
+
+        private static long readableBytes(Object msg) {
+            if (msg instanceof ByteBufHolder) {
+                return ((ByteBufHolder) msg).content().readableBytes();
+            } else if (msg instanceof ByteBuf) {
+                return ((ByteBuf) msg).readableBytes();
+            } else {
+                return 0;
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor;
+
+import org.cloudfoundry.client.v2.stacks.GetStackRequest;
+import org.cloudfoundry.client.v2.stacks.GetStackResponse;
+import org.cloudfoundry.reactor.client.v2.stacks.ReactorStacks;
+import org.junit.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.netty.handler.codec.http.HttpMethod.GET;
+import static io.netty.handler.codec.http.HttpResponseStatus.OK;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public final class RequestCoalescerTest extends AbstractRestTest {
+
+    private final DefaultConnectionContext connectionContext = DefaultConnectionContext.builder()
+        .apiHost(this.mockWebServer.getHostName())
+        .coalesceRequests(true)
+        .port(this.mockWebServer.getPort())
+        .secure(false)
+        .build();
+
+    private final ReactorStacks stacks = new ReactorStacks(this.connectionContext, this.root, TOKEN_PROVIDER, Collections.emptyMap());
+
+    @Test
+    public void cancelled() {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        AtomicInteger subscriptions = new AtomicInteger();
+        RequestCoalescer requestCoalescer = new RequestCoalescer();
+        Mono<String> request = Mono.<String>never()
+            .doOnCancel(() -> cancelled.set(true))
+            .doOnSubscribe(subscription -> subscriptions.incrementAndGet());
+
+        Disposable first = requestCoalescer.coalesce("test-key", String.class, request).subscribe();
+        Disposable second = requestCoalescer.coalesce("test-key", String.class, request).subscribe();
+        assertThat(subscriptions).hasValue(1);
+
+        first.dispose();
+        assertThat(cancelled).isFalse();
+
+        second.dispose();
+        assertThat(cancelled).isTrue();
+
+        requestCoalescer.coalesce("test-key", String.class, request).subscribe().dispose();
+        assertThat(subscriptions).hasValue(2);
+    }
+
+    @Test
+    public void coalesced() {
+        mockRequest(InteractionContext.builder()
+            .request(TestRequest.builder()
+                .method(GET).path("/stacks/test-stack-id")
+                .build())
+            .response(TestResponse.builder()
+                .status(OK)
+                .payload("fixtures/client/v2/stacks/GET_{id}_response.json")
+                .build())
+            .build());
+
+        Mono.zip(getStack(), getStack(), getStack())
+            .as(StepVerifier::create)
+            .consumeNextWith(responses -> {
+                assertThat(responses.getT2()).isSameAs(responses.getT1());
+                assertThat(responses.getT3()).isSameAs(responses.getT1());
+            })
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void notCoalescedOnceComplete() {
+        mockRequest(InteractionContext.builder()
+            .request(TestRequest.builder()
+                .method(GET).path("/stacks/test-stack-id")
+                .build())
+            .response(TestResponse.builder()
+                .status(OK)
+                .payload("fixtures/client/v2/stacks/GET_{id}_response.json")
+                .build())
+            .build());
+        mockRequest(InteractionContext.builder()
+            .request(TestRequest.builder()
+                .method(GET).path("/stacks/test-stack-id")
+                .build())
+            .response(TestResponse.builder()
+                .status(OK)
+                .payload("fixtures/client/v2/stacks/GET_{id}_response.json")
+                .build())
+            .build());
+
+        getStack()
+            .zipWhen(response -> getStack())
+            .as(StepVerifier::create)
+            .consumeNextWith(responses -> assertThat(responses.getT2()).isNotSameAs(responses.getT1()))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    private Mono<GetStackResponse> getStack() {
+        return this.stacks
+            .get(GetStackRequest.builder()
+                .stackId("test-stack-id")
+                .build());
+    }
+
+}
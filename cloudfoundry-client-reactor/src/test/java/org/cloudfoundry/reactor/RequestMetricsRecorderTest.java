@@ -0,0 +1,100 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor;
+
+import org.cloudfoundry.client.v2.applications.GetApplicationRequest;
+import org.cloudfoundry.reactor.client.v2.applications.ReactorApplicationsV2;
+import org.junit.Test;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Collections;
+
+import static io.netty.handler.codec.http.HttpMethod.GET;
+import static io.netty.handler.codec.http.HttpResponseStatus.OK;
+import static io.netty.handler.codec.http.HttpResponseStatus.UNAUTHORIZED;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public final class RequestMetricsRecorderTest extends AbstractRestTest {
+
+    private final Sinks.Many<RequestMetrics> recorded = Sinks.many().replay().all();
+
+    private final DefaultConnectionContext connectionContext = DefaultConnectionContext.builder()
+        .apiHost(this.mockWebServer.getHostName())
+        .port(this.mockWebServer.getPort())
+        .requestMetricsRecorder(this.recorded::tryEmitNext)
+        .secure(false)
+        .build();
+
+    private final ReactorApplicationsV2 applications = new ReactorApplicationsV2(this.connectionContext, this.root, TOKEN_PROVIDER, Collections.emptyMap());
+
+    @Test
+    public void record() {
+        mockRequest(InteractionContext.builder()
+            .request(TestRequest.builder()
+                .method(GET).path("/apps/03f286bb-f17c-42b4-8dcd-b818b0b798af")
+                .build())
+            .response(TestResponse.builder()
+                .status(UNAUTHORIZED)
+                .build())
+            .build());
+        mockRequest(InteractionContext.builder()
+            .request(TestRequest.builder()
+                .method(GET).path("/apps/03f286bb-f17c-42b4-8dcd-b818b0b798af")
+                .build())
+            .response(TestResponse.builder()
+                .status(OK)
+                .header("X-Cf-Warnings", "test-warning")
+                .payload("fixtures/client/v2/apps/GET_{id}_response.json")
+                .build())
+            .build());
+
+        this.applications
+            .get(GetApplicationRequest.builder()
+                .applicationId("03f286bb-f17c-42b4-8dcd-b818b0b798af")
+                .build())
+            .as(StepVerifier::create)
+            .expectNextCount(1)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        String uri = String.format("http://%s:%d/apps/{id}", this.mockWebServer.getHostName(), this.mockWebServer.getPort());
+
+        this.recorded.asFlux()
+            .take(2)
+            .as(StepVerifier::create)
+            .assertNext(metrics -> {
+                assertThat(metrics.getMethod()).isEqualTo("GET");
+                assertThat(metrics.getStatus()).hasValue(401);
+                assertThat(metrics.getTokenRetries()).isEqualTo(0);
+                assertThat(metrics.getUri()).isEqualTo(uri);
+            })
+            .assertNext(metrics -> {
+                assertThat(metrics.getBytesReceived()).isPositive();
+                assertThat(metrics.getBytesSent()).isZero();
+                assertThat(metrics.getMethod()).isEqualTo("GET");
+                assertThat(metrics.getStatus()).hasValue(200);
+                assertThat(metrics.getTokenRetries()).isEqualTo(1);
+                assertThat(metrics.getUri()).isEqualTo(uri);
+                assertThat(metrics.getWarnings()).containsExactly("test-warning");
+            })
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor;
+
+import org.cloudfoundry.client.v2.applications.GetApplicationRequest;
+import org.cloudfoundry.client.v2.stacks.GetStackRequest;
+import org.cloudfoundry.client.v2.stacks.GetStackResponse;
+import org.cloudfoundry.reactor.client.v2.applications.ReactorApplicationsV2;
+import org.cloudfoundry.reactor.client.v2.stacks.ReactorStacks;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.netty.handler.codec.http.HttpMethod.GET;
+import static io.netty.handler.codec.http.HttpResponseStatus.NOT_MODIFIED;
+import static io.netty.handler.codec.http.HttpResponseStatus.OK;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public final class ResponseCacheTest extends AbstractRestTest {
+
+    @Test
+    public void cached() {
+        mockRequest(InteractionContext.builder()
+            .request(TestRequest.builder()
+                .method(GET).path("/stacks/test-stack-id")
+                .build())
+            .response(TestResponse.builder()
+                .status(OK)
+                .payload("fixtures/client/v2/stacks/GET_{id}_response.json")
+                .build())
+            .build());
+
+        ReactorStacks stacks = new ReactorStacks(connectionContext(Duration.ofHours(1)), this.root, TOKEN_PROVIDER, Collections.emptyMap());
+
+        getStack(stacks)
+            .zipWhen(response -> getStack(stacks))
+            .as(StepVerifier::create)
+            .consumeNextWith(responses -> assertThat(responses.getT2()).isSameAs(responses.getT1()))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void cachedAcrossTokens() {
+        mockRequest(InteractionContext.builder()
+            .request(TestRequest.builder()
+                .method(GET).path("/stacks/test-stack-id")
+                .build())
+            .response(TestResponse.builder()
+                .status(OK)
+                .payload("fixtures/client/v2/stacks/GET_{id}_response.json")
+                .build())
+            .build());
+
+        AtomicInteger tokens = new AtomicInteger();
+        TokenProvider tokenProvider = connectionContext -> Mono.fromSupplier(() -> token("test-user-id", tokens.incrementAndGet()));
+        ReactorStacks stacks = new ReactorStacks(connectionContext(Duration.ofHours(1)), this.root, tokenProvider, Collections.emptyMap());
+
+        getStack(stacks)
+            .zipWhen(response -> getStack(stacks))
+            .as(StepVerifier::create)
+            .consumeNextWith(responses -> assertThat(responses.getT2()).isSameAs(responses.getT1()))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void notCached() {
+        mockRequest(InteractionContext.builder()
+            .request(TestRequest.builder()
+                .method(GET).path("/apps/test-application-id")
+                .build())
+            .response(TestResponse.builder()
+                .status(OK)
+                .payload("fixtures/client/v2/apps/GET_{id}_response.json")
+                .build())
+            .build());
+        mockRequest(InteractionContext.builder()
+            .request(TestRequest.builder()
+                .method(GET).path("/apps/test-application-id")
+                .build())
+            .response(TestResponse.builder()
+                .status(OK)
+                .payload("fixtures/client/v2/apps/GET_{id}_response.json")
+                .build())
+            .build());
+
+        ReactorApplicationsV2 applications = new ReactorApplicationsV2(connectionContext(Duration.ofHours(1)), this.root, TOKEN_PROVIDER, Collections.emptyMap());
+        GetApplicationRequest request = GetApplicationRequest.builder()
+            .applicationId("test-application-id")
+            .build();
+
+        applications.get(request)
+            .then(applications.get(request))
+            .as(StepVerifier::create)
+            .expectNextCount(1)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void notCachedAcrossIdentities() {
+        mockRequest(InteractionContext.builder()
+            .request(TestRequest.builder()
+                .method(GET).path("/stacks/test-stack-id")
+                .build())
+            .response(TestResponse.builder()
+                .status(OK)
+                .payload("fixtures/client/v2/stacks/GET_{id}_response.json")
+                .build())
+            .build());
+        mockRequest(InteractionContext.builder()
+            .request(TestRequest.builder()
+                .method(GET).path("/stacks/test-stack-id")
+                .build())
+            .response(TestResponse.builder()
+                .status(OK)
+                .payload("fixtures/client/v2/stacks/GET_{id}_response.json")
+                .build())
+            .build());
+
+        AtomicInteger tokens = new AtomicInteger();
+        TokenProvider tokenProvider = connectionContext -> Mono.fromSupplier(() -> {
+            int token = tokens.incrementAndGet();
+            return token("test-user-id-" + token, token);
+        });
+        ReactorStacks stacks = new ReactorStacks(connectionContext(Duration.ofHours(1)), this.root, tokenProvider, Collections.emptyMap());
+
+        getStack(stacks)
+            .zipWhen(response -> getStack(stacks))
+            .as(StepVerifier::create)
+            .consumeNextWith(responses -> assertThat(responses.getT2()).isNotSameAs(responses.getT1()))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void resolveTimeToLive() {
+        ResponseCache responseCache = ResponseCache.builder()
+            .timeToLive("info", Duration.ofHours(1))
+            .timeToLive("stacks", Duration.ofMinutes(5))
+            .build();
+
+        assertThat(responseCache.resolveTimeToLive("https://api.test/v3/info")).hasValue(Duration.ofHours(1));
+        assertThat(responseCache.resolveTimeToLive("https://api.test/v3/stacks?page=2")).hasValue(Duration.ofMinutes(5));
+        assertThat(responseCache.resolveTimeToLive("https://api.test/v3/stacks/test-stack-id")).hasValue(Duration.ofMinutes(5));
+        assertThat(responseCache.resolveTimeToLive("https://api.test/v3/stacks/2b4d8f1e-5c6a-4e3b-9d7f-0a1b2c3d4e5f")).hasValue(Duration.ofMinutes(5));
+        assertThat(responseCache.resolveTimeToLive("https://api.test/v3/info/usage_summary")).isEmpty();
+        assertThat(responseCache.resolveTimeToLive("https://api.test/v3/stacks/test-stack-id/apps")).isEmpty();
+        assertThat(responseCache.resolveTimeToLive("https://api.test/v3/apps/test-application-id")).isEmpty();
+    }
+
+    @Test
+    public void revalidated() {
+        mockRequest(InteractionContext.builder()
+            .request(TestRequest.builder()
+                .method(GET).path("/stacks/test-stack-id")
+                .build())
+            .response(TestResponse.builder()
+                .status(OK)
+                .header("ETag", "\"test-entity-tag\"")
+                .payload("fixtures/client/v2/stacks/GET_{id}_response.json")
+                .build())
+            .build());
+        mockRequest(InteractionContext.builder()
+            .request(TestRequest.builder()
+                .method(GET).path("/stacks/test-stack-id")
+                .header("If-None-Match", "\"test-entity-tag\"")
+                .build())
+            .response(TestResponse.builder()
+                .status(NOT_MODIFIED)
+                .build())
+            .build());
+
+        ReactorStacks stacks = new ReactorStacks(connectionContext(Duration.ZERO), this.root, TOKEN_PROVIDER, Collections.emptyMap());
+
+        getStack(stacks)
+            .zipWhen(response -> getStack(stacks))
+            .as(StepVerifier::create)
+            .consumeNextWith(responses -> assertThat(responses.getT2()).isSameAs(responses.getT1()))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    private static Mono<GetStackResponse> getStack(ReactorStacks stacks) {
+        return stacks
+            .get(GetStackRequest.builder()
+                .stackId("test-stack-id")
+                .build());
+    }
+
+    private static String token(String subject, int id) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String header = encoder.encodeToString("{\"alg\":\"none\"}".getBytes(StandardCharsets.UTF_8));
+        String claims = encoder.encodeToString(String.format("{\"jti\":\"%d\",\"sub\":\"%s\"}", id, subject).getBytes(StandardCharsets.UTF_8));
+
+        return String.format("bearer %s.%s.", header, claims);
+    }
+
+    private ConnectionContext connectionContext(Duration timeToLive) {
+        return DefaultConnectionContext.builder()
+            .apiHost(this.mockWebServer.getHostName())
+            .port(this.mockWebServer.getPort())
+            .responseCache(ResponseCache.builder()
+                .timeToLive("stacks", timeToLive)
+                .build())
+            .secure(false)
+            .build();
+    }
+
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.cloudfoundry.client.v2.applications.Resource;
+import org.cloudfoundry.client.v2.applications.UploadApplicationRequest;
+import org.cloudfoundry.client.v3.packages.UploadPackageRequest;
+import org.cloudfoundry.reactor.client.v2.applications.ReactorApplicationsV2;
+import org.cloudfoundry.reactor.client.v3.packages.ReactorPackages;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public final class StreamingUploadTest {
+
+    private static final TokenProvider TOKEN_PROVIDER = connectionContext -> Mono.just("test-authorization");
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final MockWebServer mockWebServer = new MockWebServer();
+
+    private final DefaultConnectionContext connectionContext = DefaultConnectionContext.builder()
+        .apiHost(this.mockWebServer.getHostName())
+        .port(this.mockWebServer.getPort())
+        .secure(false)
+        .streamUploads(true)
+        .build();
+
+    private final DefaultConnectionContext formConnectionContext = DefaultConnectionContext.builder()
+        .apiHost(this.mockWebServer.getHostName())
+        .port(this.mockWebServer.getPort())
+        .secure(false)
+        .build();
+
+    private final ReactorPackages packages = new ReactorPackages(this.connectionContext, Mono.just(this.mockWebServer.url("/").uri().toString()), TOKEN_PROVIDER,
+        Collections.emptyMap());
+
+    @After
+    public void shutdown() throws IOException {
+        this.connectionContext.dispose();
+        this.formConnectionContext.dispose();
+        this.mockWebServer.shutdown();
+    }
+
+    @Test
+    public void uploadApplicationMatchesForm() throws IOException, InterruptedException {
+        Path application = this.folder.newFile("test-application.zip").toPath();
+        Files.write(application, "test-content".getBytes(StandardCharsets.UTF_8));
+
+        RecordedRequest streamed = uploadApplication(this.connectionContext, application);
+        RecordedRequest form = uploadApplication(this.formConnectionContext, application);
+
+        assertThat(streamed.getHeader("Transfer-Encoding")).isEqualTo("chunked");
+        assertThat(getBody(streamed)).isEqualTo(getBody(form));
+    }
+
+    @Test
+    public void uploadDirectory() throws IOException, InterruptedException {
+        Path directory = this.folder.newFolder("test-package").toPath();
+        Files.write(directory.resolve("test-file-1"), "test-content-1".getBytes(StandardCharsets.UTF_8));
+        Files.createDirectory(directory.resolve("test-directory"));
+        Files.write(directory.resolve("test-directory").resolve("test-file-2"), "test-content-2".getBytes(StandardCharsets.UTF_8));
+
+        byte[] content = new byte[256 * 1_024];
+        new Random(0).nextBytes(content);
+        Files.write(directory.resolve("test-file-3"), content);
+
+        this.mockWebServer.enqueue(new MockResponse()
+            .setResponseCode(201)
+            .setHeader("Content-Type", "application/json")
+            .setBody(TestRequest.getBuffer("fixtures/client/v3/packages/POST_{id}_upload_response.json")));
+
+        this.packages
+            .upload(UploadPackageRequest.builder()
+                .bits(directory)
+                .packageId("test-package-id")
+                .build())
+            .as(StepVerifier::create)
+            .expectNextCount(1)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        RecordedRequest request = this.mockWebServer.takeRequest();
+        assertThat(request.getPath()).isEqualTo("/packages/test-package-id/upload");
+        assertThat(request.getHeader("Transfer-Encoding")).isEqualTo("chunked");
+
+        String boundary = request.getHeader("Content-Type").split("boundary=")[1];
+        byte[] body = request.getBody().readByteArray();
+        String header = "--" + boundary + "\r\n" +
+            "content-disposition: form-data; name=\"bits\"; filename=\"test-package.zip\"\r\n" +
+            "content-type: application/zip\r\n" +
+            "content-transfer-encoding: binary\r\n" +
+            "\r\n";
+        String trailer = "\r\n--" + boundary + "--\r\n";
+
+        assertThat(new String(body, 0, header.length(), StandardCharsets.UTF_8)).isEqualTo(header);
+        assertThat(new String(body, body.length - trailer.length(), trailer.length(), StandardCharsets.UTF_8)).isEqualTo(trailer);
+        assertThat(getEntryNames(new ByteArrayInputStream(body, header.length(), body.length - header.length() - trailer.length())))
+            .containsExactlyInAnyOrder("test-directory/", "test-directory/test-file-2", "test-file-1", "test-file-3");
+    }
+
+    private static String getBody(RecordedRequest request) {
+        String boundary = request.getHeader("Content-Type").split("boundary=")[1];
+        return request.getBody().readUtf8().replace(boundary, "test-boundary");
+    }
+
+    private static List<String> getEntryNames(ByteArrayInputStream archive) throws IOException {
+        List<String> names = new ArrayList<>();
+
+        try (ZipInputStream in = new ZipInputStream(archive)) {
+            for (ZipEntry entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+                names.add(entry.getName());
+            }
+        }
+
+        return names;
+    }
+
+    private RecordedRequest uploadApplication(ConnectionContext connectionContext, Path application) throws InterruptedException {
+        this.mockWebServer.enqueue(new MockResponse()
+            .setResponseCode(201)
+            .setHeader("Content-Type", "application/json")
+            .setBody(TestRequest.getBuffer("fixtures/client/v2/apps/PUT_{id}_bits_response.json")));
+
+        new ReactorApplicationsV2(connectionContext, Mono.just(this.mockWebServer.url("/").uri().toString()), TOKEN_PROVIDER, Collections.emptyMap())
+            .upload(UploadApplicationRequest.builder()
+                .application(application)
+                .applicationId("test-application-id")
+                .resource(Resource.builder()
+                    .hash("b907173290db6a155949ab4dc9b2d019dea0c901")
+                    .path("path/to/content.txt")
+                    .size(123)
+                    .build())
+                .build())
+            .as(StepVerifier::create)
+            .expectNextCount(1)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        return this.mockWebServer.takeRequest();
+    }
+
+}
@@ -16,6 +16,7 @@
 
 package org.cloudfoundry.reactor.client.v2.applications;
 
+import org.cloudfoundry.client.DownloadTarget;
 import org.cloudfoundry.client.v2.Metadata;
 import org.cloudfoundry.client.v2.applications.ApplicationEntity;
 import org.cloudfoundry.client.v2.applications.ApplicationEnvironmentRequest;
@@ -84,8 +85,13 @@ import reactor.test.StepVerifier;
 
 import java.io.IOException;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 import static io.netty.handler.codec.http.HttpMethod.DELETE;
 import static io.netty.handler.codec.http.HttpMethod.GET;
@@ -94,6 +100,7 @@ import static io.netty.handler.codec.http.HttpMethod.PUT;
 import static io.netty.handler.codec.http.HttpResponseStatus.CREATED;
 import static io.netty.handler.codec.http.HttpResponseStatus.NO_CONTENT;
 import static io.netty.handler.codec.http.HttpResponseStatus.OK;
+import static io.netty.handler.codec.http.HttpResponseStatus.PARTIAL_CONTENT;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.cloudfoundry.client.v2.serviceinstances.Plan.builder;
 import static org.cloudfoundry.util.tuple.TupleUtils.consumer;
@@ -321,6 +328,80 @@ public final class ReactorApplicationsV2Test extends AbstractClientApiTest {
             .verify(Duration.ofSeconds(5));
     }
 
+    @Test
+    public void downloadDropletResume() throws IOException {
+        mockRequest(InteractionContext.builder()
+            .request(TestRequest.builder()
+                .method(GET).path("/apps/test-application-id/droplet/download")
+                .header("Range", "bytes=12-")
+                .build())
+            .response(TestResponse.builder()
+                .status(PARTIAL_CONTENT)
+                .payload("fixtures/client/v2/apps/GET_{id}_download_response.bin")
+                .build())
+            .build());
+
+        Path file = Files.createTempFile("test-droplet-", ".tgz");
+        Files.write(file, "test-content".getBytes(Charset.defaultCharset()));
+        byte[] expected = getBytes("fixtures/client/v2/apps/GET_{id}_download_response.bin");
+
+        try {
+            this.applications
+                .downloadDroplet(DownloadApplicationDropletRequest.builder()
+                    .applicationId("test-application-id")
+                    .build(), DownloadTarget.builder()
+                    .file(file)
+                    .offset(12L)
+                    .build())
+                .as(StepVerifier::create)
+                .expectNext((long) expected.length)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+            assertThat(new String(Files.readAllBytes(file), 0, 12, Charset.defaultCharset())).isEqualTo("test-content");
+            assertThat(Arrays.copyOfRange(Files.readAllBytes(file), 12, 12 + expected.length)).isEqualTo(expected);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void downloadDropletToFile() throws IOException {
+        mockRequest(InteractionContext.builder()
+            .request(TestRequest.builder()
+                .method(GET).path("/apps/test-application-id/droplet/download")
+                .header("Range", null)
+                .build())
+            .response(TestResponse.builder()
+                .status(OK)
+                .payload("fixtures/client/v2/apps/GET_{id}_download_response.bin")
+                .build())
+            .build());
+
+        Path file = Files.createTempFile("test-droplet-", ".tgz");
+        byte[] expected = getBytes("fixtures/client/v2/apps/GET_{id}_download_response.bin");
+        List<Long> progress = new ArrayList<>();
+
+        try {
+            this.applications
+                .downloadDroplet(DownloadApplicationDropletRequest.builder()
+                    .applicationId("test-application-id")
+                    .build(), DownloadTarget.builder()
+                    .file(file)
+                    .progress(progress::add)
+                    .build())
+                .as(StepVerifier::create)
+                .expectNext((long) expected.length)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+            assertThat(Files.readAllBytes(file)).isEqualTo(expected);
+            assertThat(progress).last().isEqualTo((long) expected.length);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
     @Test
     public void environment() {
         mockRequest(InteractionContext.builder()
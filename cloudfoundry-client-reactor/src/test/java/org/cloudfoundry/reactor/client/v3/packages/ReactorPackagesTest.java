@@ -500,6 +500,28 @@ public final class ReactorPackagesTest extends AbstractClientApiTest {
             .verify(Duration.ofSeconds(5));
     }
 
+    @Test
+    public void listResources() {
+        mockRequest(InteractionContext.builder()
+            .request(TestRequest.builder()
+                .method(GET).path("/packages?page=1")
+                .build())
+            .response(TestResponse.builder()
+                .status(OK)
+                .payload("fixtures/client/v3/packages/GET_response.json")
+                .build())
+            .build());
+
+        this.packages
+            .listResources(ListPackagesRequest.builder()
+                .build())
+            .map(PackageResource::getId)
+            .as(StepVerifier::create)
+            .expectNext("a57fd932-85db-483a-a27e-b00efbb3b0a4", "8f1f294d-cef8-4c11-9f0b-3bcdc0bd2691")
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
     @Test
     public void upload() throws IOException {
         mockRequest(InteractionContext.builder()
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.doppler;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import okio.ByteString;
+import org.cloudfoundry.doppler.Envelope;
+import org.cloudfoundry.doppler.EventType;
+import org.cloudfoundry.dropsonde.events.ContainerMetric;
+import org.cloudfoundry.dropsonde.events.CounterEvent;
+import org.cloudfoundry.dropsonde.events.Error;
+import org.cloudfoundry.dropsonde.events.HttpStartStop;
+import org.cloudfoundry.dropsonde.events.LogMessage;
+import org.cloudfoundry.dropsonde.events.Method;
+import org.cloudfoundry.dropsonde.events.PeerType;
+import org.cloudfoundry.dropsonde.events.UUID;
+import org.cloudfoundry.dropsonde.events.ValueMetric;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public final class EnvelopeCodecTest {
+
+    @Test
+    public void decodeContainerMetric() {
+        assertDecoded(envelope(org.cloudfoundry.dropsonde.events.Envelope.EventType.ContainerMetric)
+            .containerMetric(new ContainerMetric.Builder()
+                .applicationId("test-application-id")
+                .cpuPercentage(0.09530591690894699)
+                .diskBytes(154005504L)
+                .diskBytesQuota(1073741824L)
+                .instanceIndex(2)
+                .memoryBytes(385896448L)
+                .memoryBytesQuota(1073741824L)
+                .build())
+            .build());
+    }
+
+    @Test
+    public void decodeCounterEvent() {
+        assertDecoded(envelope(org.cloudfoundry.dropsonde.events.Envelope.EventType.CounterEvent)
+            .counterEvent(new CounterEvent.Builder()
+                .delta(1L)
+                .name("test-name")
+                .total(Long.MAX_VALUE)
+                .build())
+            .build());
+    }
+
+    @Test
+    public void decodeError() {
+        assertDecoded(envelope(org.cloudfoundry.dropsonde.events.Envelope.EventType.Error)
+            .error(new Error.Builder()
+                .code(-1)
+                .message("test-message")
+                .source("test-source")
+                .build())
+            .build());
+    }
+
+    @Test
+    public void decodeFiltered() {
+        Flux<ByteBuf> frames = Flux.just(
+            encode(logMessage("test-message-1")),
+            encode(valueMetric()),
+            encode(logMessage("test-message-2")));
+
+        EnvelopeCodec.decode(frames, Collections.singletonList(EventType.LOG_MESSAGE))
+            .as(StepVerifier::create)
+            .consumeNextWith(envelope -> assertThat(envelope.getLogMessage().getMessage()).isEqualTo("test-message-1"))
+            .consumeNextWith(envelope -> assertThat(envelope.getLogMessage().getMessage()).isEqualTo("test-message-2"))
+            .expectComplete()
+            .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    public void decodeHttpStartStop() {
+        assertDecoded(envelope(org.cloudfoundry.dropsonde.events.Envelope.EventType.HttpStartStop)
+            .httpStartStop(new HttpStartStop.Builder()
+                .applicationId(new UUID.Builder()
+                    .high(0x0123456789abcdefL)
+                    .low(0xfedcba9876543210L)
+                    .build())
+                .contentLength(1024L)
+                .forwarded(Arrays.asList("10.0.0.1", "10.0.0.2"))
+                .instanceId("test-instance-id")
+                .instanceIndex(1)
+                .method(Method.POST)
+                .peerType(PeerType.Server)
+                .remoteAddress("10.0.0.3")
+                .requestId(new UUID.Builder()
+                    .high(1L)
+                    .low(2L)
+                    .build())
+                .startTimestamp(1461278188035928339L)
+                .statusCode(200)
+                .stopTimestamp(1461278188035930425L)
+                .uri("https://test-host/test-path")
+                .userAgent("test-user-agent")
+                .build())
+            .build());
+    }
+
+    @Test
+    public void decodeLogMessage() {
+        assertDecoded(logMessage("test-message \u2713"));
+    }
+
+    @Test
+    public void decodeUnfiltered() {
+        Flux<ByteBuf> frames = Flux.just(
+            encode(logMessage("test-message")),
+            encode(valueMetric()));
+
+        EnvelopeCodec.decode(frames, Collections.emptyList())
+            .map(Envelope::getEventType)
+            .as(StepVerifier::create)
+            .expectNext(EventType.LOG_MESSAGE, EventType.VALUE_METRIC)
+            .expectComplete()
+            .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    public void decodeValueMetric() {
+        assertDecoded(valueMetric());
+    }
+
+    @Test
+    public void peekEventType() {
+        assertThat(EnvelopeCodec.peekEventType(encode(valueMetric()))).isEqualTo(EventType.VALUE_METRIC);
+    }
+
+    private static void assertDecoded(org.cloudfoundry.dropsonde.events.Envelope dropsonde) {
+        assertThat(EnvelopeCodec.decode(encode(dropsonde))).isEqualTo(Envelope.from(dropsonde));
+    }
+
+    private static ByteBuf encode(org.cloudfoundry.dropsonde.events.Envelope dropsonde) {
+        return Unpooled.wrappedBuffer(org.cloudfoundry.dropsonde.events.Envelope.ADAPTER.encode(dropsonde));
+    }
+
+    private static org.cloudfoundry.dropsonde.events.Envelope.Builder envelope(org.cloudfoundry.dropsonde.events.Envelope.EventType eventType) {
+        return new org.cloudfoundry.dropsonde.events.Envelope.Builder()
+            .deployment("test-deployment")
+            .eventType(eventType)
+            .index("test-index")
+            .ip("10.10.115.68")
+            .job("test-job")
+            .origin("test-origin")
+            .tags(Collections.singletonMap("test-key", "test-value"))
+            .timestamp(1461278188035930425L);
+    }
+
+    private static org.cloudfoundry.dropsonde.events.Envelope logMessage(String message) {
+        return envelope(org.cloudfoundry.dropsonde.events.Envelope.EventType.LogMessage)
+            .logMessage(new LogMessage.Builder()
+                .app_id("test-application-id")
+                .message(ByteString.encodeUtf8(message))
+                .message_type(LogMessage.MessageType.ERR)
+                .source_instance("0")
+                .source_type("APP")
+                .timestamp(1461278188035928339L)
+                .build())
+            .build();
+    }
+
+    private static org.cloudfoundry.dropsonde.events.Envelope valueMetric() {
+        return envelope(org.cloudfoundry.dropsonde.events.Envelope.EventType.ValueMetric)
+            .valueMetric(new ValueMetric.Builder()
+                .name("test-name")
+                .unit("test-unit")
+                .value(-1.5)
+                .build())
+            .build();
+    }
+
+}
@@ -22,18 +22,25 @@ import org.cloudfoundry.doppler.Envelope;
 import org.cloudfoundry.doppler.EventType;
 import org.cloudfoundry.doppler.LogMessage;
 import org.cloudfoundry.doppler.MessageType;
+import org.cloudfoundry.doppler.OverflowPolicy;
 import org.cloudfoundry.doppler.RecentLogsRequest;
+import org.cloudfoundry.doppler.ValueMetric;
 import org.cloudfoundry.reactor.InteractionContext;
 import org.cloudfoundry.reactor.TestRequest;
 import org.cloudfoundry.reactor.TestResponse;
 import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
 import reactor.test.StepVerifier;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 
 import static io.netty.handler.codec.http.HttpMethod.GET;
 import static io.netty.handler.codec.http.HttpResponseStatus.OK;
+import static org.assertj.core.api.Assertions.assertThat;
 
 public final class ReactorDopplerClientTest extends AbstractDopplerApiTest {
 
@@ -116,6 +123,90 @@ public final class ReactorDopplerClientTest extends AbstractDopplerApiTest {
             .verify(Duration.ofSeconds(5));
     }
 
+    @Test
+    public void overflowBound() {
+        List<Long> dropped = Collections.synchronizedList(new ArrayList<>());
+        Sinks.Many<Envelope> source = Sinks.many().unicast().onBackpressureBuffer();
+
+        source.asFlux()
+            .transform(ReactorDopplerEndpoints.overflow(10, OverflowPolicy.DROP_NEWEST, envelope -> dropped.add(envelope.getTimestamp())))
+            .as(envelopes -> StepVerifier.create(envelopes, 0))
+            .expectSubscription()
+            .then(() -> envelopes(100).subscribe(source::tryEmitNext, source::tryEmitError, source::tryEmitComplete))
+            .thenRequest(Long.MAX_VALUE)
+            .expectNextCount(11)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(dropped).hasSize(89);
+    }
+
+    @Test
+    public void overflowDropNewest() {
+        List<Long> dropped = Collections.synchronizedList(new ArrayList<>());
+
+        envelopes(100)
+            .transform(ReactorDopplerEndpoints.overflow(10, OverflowPolicy.DROP_NEWEST, envelope -> dropped.add(envelope.getTimestamp())))
+            .map(Envelope::getTimestamp)
+            .collectList()
+            .as(StepVerifier::create)
+            .consumeNextWith(delivered -> {
+                assertOverflow(delivered, dropped);
+                assertThat(delivered).startsWith(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L);
+            })
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void overflowDropOldest() {
+        List<Long> dropped = Collections.synchronizedList(new ArrayList<>());
+
+        envelopes(100)
+            .transform(ReactorDopplerEndpoints.overflow(10, OverflowPolicy.DROP_OLDEST, envelope -> dropped.add(envelope.getTimestamp())))
+            .map(Envelope::getTimestamp)
+            .collectList()
+            .as(StepVerifier::create)
+            .consumeNextWith(delivered -> {
+                assertOverflow(delivered, dropped);
+                assertThat(delivered).endsWith(91L, 92L, 93L, 94L, 95L, 96L, 97L, 98L, 99L, 100L);
+            })
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void overflowNone() {
+        envelopes(100)
+            .transform(ReactorDopplerEndpoints.overflow(null, null, null))
+            .as(envelopes -> StepVerifier.create(envelopes, 0))
+            .expectSubscription()
+            .thenRequest(Long.MAX_VALUE)
+            .expectNextCount(100)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void overflowSample() {
+        List<Long> dropped = Collections.synchronizedList(new ArrayList<>());
+        Sinks.Many<Envelope> source = Sinks.many().unicast().onBackpressureBuffer();
+
+        source.asFlux()
+            .transform(ReactorDopplerEndpoints.overflow(10, OverflowPolicy.SAMPLE, this.dopplerEndpoints.countDropped(envelope -> dropped.add(envelope.getTimestamp()))))
+            .map(Envelope::getTimestamp)
+            .as(envelopes -> StepVerifier.create(envelopes, 0))
+            .expectSubscription()
+            .then(() -> envelopes(100).subscribe(source::tryEmitNext, source::tryEmitError, source::tryEmitComplete))
+            .thenRequest(Long.MAX_VALUE)
+            .expectNext(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L, 100L)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(dropped).hasSize(89);
+        assertThat(this.dopplerEndpoints.getDroppedEnvelopes()).isEqualTo(89);
+    }
+
     @Test
     public void recentLogs() {
         mockRequest(InteractionContext.builder()
@@ -197,4 +288,24 @@ public final class ReactorDopplerClientTest extends AbstractDopplerApiTest {
             .verify(Duration.ofSeconds(5));
     }
 
+    private static void assertOverflow(List<Long> delivered, List<Long> dropped) {
+        assertThat(delivered).isSorted().doesNotHaveDuplicates();
+        assertThat(dropped).doesNotContainAnyElementsOf(delivered);
+        assertThat(delivered.size() + dropped.size()).isEqualTo(100);
+    }
+
+    private static Flux<Envelope> envelopes(int count) {
+        return Flux.range(1, count)
+            .map(i -> Envelope.builder()
+                .eventType(EventType.VALUE_METRIC)
+                .origin("test-origin")
+                .timestamp((long) i)
+                .valueMetric(ValueMetric.builder()
+                    .name("test-name")
+                    .unit("test-unit")
+                    .value(1.0)
+                    .build())
+                .build());
+    }
+
 }
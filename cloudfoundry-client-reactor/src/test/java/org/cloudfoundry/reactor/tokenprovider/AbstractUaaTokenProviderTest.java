@@ -0,0 +1,269 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.tokenprovider;
+
+import io.jsonwebtoken.Jwts;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.cloudfoundry.reactor.ConnectionContext;
+import org.cloudfoundry.reactor.DefaultConnectionContext;
+import org.cloudfoundry.reactor.SingleEndpointRootProvider;
+import org.junit.After;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public final class AbstractUaaTokenProviderTest {
+
+    private final MockWebServer mockWebServer = new MockWebServer();
+
+    private final TokenDispatcher dispatcher = new TokenDispatcher();
+
+    private final ConnectionContext connectionContext;
+
+    private final ClientCredentialsGrantTokenProvider tokenProvider = ClientCredentialsGrantTokenProvider.builder()
+        .clientId("test-client-id")
+        .clientSecret("test-client-secret")
+        .build();
+
+    public AbstractUaaTokenProviderTest() {
+        this.mockWebServer.setDispatcher(this.dispatcher);
+
+        this.connectionContext = DefaultConnectionContext.builder()
+            .apiHost(this.mockWebServer.getHostName())
+            .port(this.mockWebServer.getPort())
+            .rootProvider(SingleEndpointRootProvider.builder()
+                .apiHost(this.mockWebServer.getHostName())
+                .port(this.mockWebServer.getPort())
+                .secure(false)
+                .build())
+            .secure(false)
+            .build();
+    }
+
+    @Test
+    public void getRefreshDelay() {
+        assertThat(AbstractUaaTokenProvider.getRefreshDelay(Duration.ofMinutes(10), Duration.ofSeconds(60))).isEqualTo(Duration.ofMinutes(9));
+        assertThat(AbstractUaaTokenProvider.getRefreshDelay(Duration.ofSeconds(30), Duration.ofSeconds(60))).isEqualTo(Duration.ofSeconds(15));
+    }
+
+    @Test
+    public void getRetryDelay() {
+        assertThat(AbstractUaaTokenProvider.getRetryDelay(Duration.ofMinutes(10), Duration.ofSeconds(60))).isEqualTo(Duration.ofSeconds(60));
+        assertThat(AbstractUaaTokenProvider.getRetryDelay(Duration.ofSeconds(30), Duration.ofSeconds(60))).isEqualTo(Duration.ofSeconds(15));
+    }
+
+    @Test
+    public void getToken() {
+        String token = this.dispatcher.token(Duration.ofHours(1));
+
+        this.tokenProvider.getToken(this.connectionContext)
+            .as(StepVerifier::create)
+            .expectNext(token)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        this.tokenProvider.getToken(this.connectionContext)
+            .as(StepVerifier::create)
+            .expectNext(token)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(this.dispatcher.requests).hasValue(1);
+    }
+
+    @Test
+    public void getTokenRefresh() throws InterruptedException {
+        String token1 = this.dispatcher.token(Duration.ofSeconds(2));
+        String token2 = this.dispatcher.token(Duration.ofHours(1));
+
+        this.tokenProvider.getToken(this.connectionContext)
+            .as(StepVerifier::create)
+            .expectNext(token1)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        Thread.sleep(1_100);
+
+        this.tokenProvider.getToken(this.connectionContext)
+            .as(StepVerifier::create)
+            .expectNext(token1)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        awaitToken(token2);
+
+        this.tokenProvider.getToken(this.connectionContext)
+            .as(StepVerifier::create)
+            .expectNext(token2)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(this.dispatcher.requests).hasValue(2);
+    }
+
+    @Test
+    public void getTokenRefreshFailure() throws InterruptedException {
+        String token1 = this.dispatcher.token(Duration.ofSeconds(4));
+        this.dispatcher.error();
+        String token2 = this.dispatcher.token(Duration.ofHours(1));
+
+        this.tokenProvider.getToken(this.connectionContext)
+            .as(StepVerifier::create)
+            .expectNext(token1)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        Thread.sleep(2_100);
+
+        this.tokenProvider.getToken(this.connectionContext)
+            .as(StepVerifier::create)
+            .expectNext(token1)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        awaitToken(token2);
+
+        assertThat(this.dispatcher.requests).hasValue(3);
+    }
+
+    @Test
+    public void getTokenRefreshFailureBackOff() throws InterruptedException {
+        String token1 = this.dispatcher.token(Duration.ofSeconds(6));
+        this.dispatcher.error();
+        String token2 = this.dispatcher.token(Duration.ofHours(1));
+
+        this.tokenProvider.getToken(this.connectionContext)
+            .as(StepVerifier::create)
+            .expectNext(token1)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        Thread.sleep(3_100);
+
+        Flux.interval(Duration.ofMillis(10))
+            .take(Duration.ofMillis(500))
+            .concatMap(i -> this.tokenProvider.getToken(this.connectionContext))
+            .as(StepVerifier::create)
+            .thenConsumeWhile(token1::equals)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(this.dispatcher.requests).hasValue(2);
+
+        awaitToken(token2);
+
+        assertThat(this.dispatcher.requests).hasValue(3);
+    }
+
+    @Test
+    public void invalidate() {
+        String token1 = this.dispatcher.token(Duration.ofHours(1));
+        String token2 = this.dispatcher.token(Duration.ofHours(1));
+
+        this.tokenProvider.getToken(this.connectionContext)
+            .as(StepVerifier::create)
+            .expectNext(token1)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        Flux.range(0, 10)
+            .parallel()
+            .runOn(Schedulers.parallel())
+            .doOnNext(i -> this.tokenProvider.invalidate(this.connectionContext))
+            .flatMap(i -> this.tokenProvider.getToken(this.connectionContext))
+            .sequential()
+            .collectList()
+            .as(StepVerifier::create)
+            .consumeNextWith(tokens -> assertThat(tokens).hasSize(10).containsOnly(token2))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(this.dispatcher.requests).hasValue(2);
+    }
+
+    @After
+    public void shutdown() throws IOException {
+        this.mockWebServer.shutdown();
+    }
+
+    private void awaitToken(String expected) {
+        Mono.defer(() -> this.tokenProvider.getToken(this.connectionContext))
+            .filter(expected::equals)
+            .repeatWhenEmpty(repeat -> repeat.delayElements(Duration.ofMillis(10)))
+            .as(StepVerifier::create)
+            .expectNext(expected)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    private static final class TokenDispatcher extends Dispatcher {
+
+        private final AtomicInteger requests = new AtomicInteger();
+
+        private final Queue<MockResponse> responses = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public MockResponse dispatch(RecordedRequest request) {
+            this.requests.incrementAndGet();
+
+            MockResponse response = this.responses.poll();
+            if (response == null) {
+                throw new IllegalStateException(String.format("Unexpected request for %s %s received", request.getMethod(), request.getPath()));
+            }
+
+            return response;
+        }
+
+        private void error() {
+            this.responses.add(new MockResponse()
+                .setResponseCode(500)
+                .setHeader("Content-Type", "application/json")
+                .setBody("{\"error\":\"server_error\",\"error_description\":\"test-error-description\"}"));
+        }
+
+        private String token(Duration lifetime) {
+            String accessToken = Jwts.builder()
+                .setExpiration(Date.from(Instant.now().plus(lifetime)))
+                .setId(String.valueOf(this.responses.size()))
+                .compact();
+
+            this.responses.add(new MockResponse()
+                .setResponseCode(200)
+                .setHeader("Content-Type", "application/json")
+                .setBody(String.format("{\"access_token\":\"%s\",\"token_type\":\"bearer\"}", accessToken)));
+
+            return String.format("bearer %s", accessToken);
+        }
+
+    }
+
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.netty.ByteBufFlux;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public final class JsonCodecTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void decodeChunked() {
+        ByteBufFlux body = ByteBufFlux.fromInbound(Flux.just(
+            heap("{\"resources\":[{\"na"),
+            direct("me\":\"test-name\"},{\"name\":\"te"),
+            heap("st-other-name\"}],\"total\":"),
+            direct("2}")));
+
+        JsonCodec.decode(this.objectMapper, body, JsonNode.class)
+            .as(StepVerifier::create)
+            .consumeNextWith(payload -> {
+                assertThat(payload.at("/resources/0/name").asText()).isEqualTo("test-name");
+                assertThat(payload.at("/resources/1/name").asText()).isEqualTo("test-other-name");
+                assertThat(payload.at("/total").asInt()).isEqualTo(2);
+            })
+            .expectComplete()
+            .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    public void decodeElements() {
+        AtomicReference<JsonNode> remainder = new AtomicReference<>();
+        ByteBufFlux body = ByteBufFlux.fromInbound(Flux.just(
+            heap("{\"pagination\":{\"total_results\":2},\"resources\":[{\"name\":\"test-na"),
+            direct("me\",\"tags\":[\"a\",\"b\"]},{\"name\":\"test-other-name\"}"),
+            heap("],\"trailing\":true}")));
+
+        JsonCodec.decodeElements(this.objectMapper, body, "resources", JsonNode.class, JsonNode.class, remainder::set)
+            .as(StepVerifier::create)
+            .consumeNextWith(element -> {
+                assertThat(element.at("/name").asText()).isEqualTo("test-name");
+                assertThat(element.at("/tags/1").asText()).isEqualTo("b");
+                assertThat(remainder.get()).isNull();
+            })
+            .consumeNextWith(element -> assertThat(element.at("/name").asText()).isEqualTo("test-other-name"))
+            .expectComplete()
+            .verify(Duration.ofSeconds(1));
+
+        assertThat(remainder.get().at("/pagination/total_results").asInt()).isEqualTo(2);
+        assertThat(remainder.get().at("/trailing").asBoolean()).isTrue();
+        assertThat(remainder.get().has("resources")).isFalse();
+    }
+
+    @Test
+    public void decodeElementsNotArray() {
+        JsonCodec.decodeElements(this.objectMapper, ByteBufFlux.fromInbound(Flux.just(heap("{\"resources\":{}}"))), "resources", JsonNode.class, JsonNode.class, remainder -> {
+            })
+            .as(StepVerifier::create)
+            .consumeErrorWith(t -> assertThat(t).isInstanceOf(JsonParsingException.class)
+                .extracting("payload")
+                .isEqualTo("{\"resources\":{}}"))
+            .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    public void decodeEmpty() {
+        JsonCodec.decode(this.objectMapper, ByteBufFlux.fromInbound(Flux.empty()), JsonNode.class)
+            .as(StepVerifier::create)
+            .expectComplete()
+            .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    public void decodeInvalid() {
+        JsonCodec.decode(this.objectMapper, ByteBufFlux.fromInbound(Flux.just(heap("{\"name\":}"))), JsonNode.class)
+            .as(StepVerifier::create)
+            .consumeErrorWith(t -> assertThat(t).isInstanceOf(JsonParsingException.class)
+                .extracting("payload")
+                .isEqualTo("{\"name\":}"))
+            .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    public void decodeInvalidLarge() {
+        String value = String.join("", Collections.nCopies(100 * 1024, "a"));
+
+        JsonCodec.decode(this.objectMapper, ByteBufFlux.fromInbound(Flux.just(heap("{\"name\":\""), direct(value), heap("\",}"))), JsonNode.class)
+            .as(StepVerifier::create)
+            .consumeErrorWith(t -> assertThat(t).isInstanceOf(JsonParsingException.class)
+                .extracting("payload")
+                .isEqualTo(("{\"name\":\"" + value).substring(0, 64 * 1024)))
+            .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    public void decodeTruncated() {
+        JsonCodec.decode(this.objectMapper, ByteBufFlux.fromInbound(Flux.just(heap("{\"name\":"), direct("\"test-name\""))), JsonNode.class)
+            .as(StepVerifier::create)
+            .consumeErrorWith(t -> assertThat(t).isInstanceOf(JsonParsingException.class)
+                .extracting("payload")
+                .isEqualTo("{\"name\":\"test-name\""))
+            .verify(Duration.ofSeconds(1));
+    }
+
+    private static ByteBuf direct(String s) {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        return Unpooled.directBuffer(bytes.length).writeBytes(bytes);
+    }
+
+    private static ByteBuf heap(String s) {
+        return Unpooled.wrappedBuffer(s.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.client;
+
+import org.cloudfoundry.Nullable;
+import org.immutables.value.Value;
+
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.function.LongConsumer;
+
+/**
+ * The destination of a download that is written directly from network buffers rather than returned as a sequence of {@code byte[]}s.  Exactly one of a file or a channel must be specified.
+ */
+@Value.Immutable
+abstract class _DownloadTarget {
+
+    @Value.Check
+    void check() {
+        if ((getChannel() == null) == (getFile() == null)) {
+            throw new IllegalStateException("exactly one of channel and file must be specified");
+        }
+
+        if (getOffset() != null && getOffset() < 0) {
+            throw new IllegalStateException("offset must not be negative");
+        }
+    }
+
+    /**
+     * The channel to write the download to.  The channel is not closed once the download completes.
+     */
+    @Nullable
+    abstract WritableByteChannel getChannel();
+
+    /**
+     * The file to write the download to.  The file is created if it does not exist.
+     */
+    @Nullable
+    abstract Path getFile();
+
+    /**
+     * The number of bytes that have already been downloaded.  When set, only the remainder of the content is requested.  To resume a partial download into a file, use the current size of the file.
+     * If the server does not honor the request, a file is rewritten from its start and a download to a channel fails.
+     */
+    @Nullable
+    abstract Long getOffset();
+
+    /**
+     * A callback that is passed the total number of bytes downloaded, including any offset, each time content is written
+     */
+    @Nullable
+    abstract LongConsumer getProgress();
+
+}
@@ -16,6 +16,7 @@
 
 package org.cloudfoundry.client.v2.applications;
 
+import org.cloudfoundry.client.DownloadTarget;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -65,6 +66,15 @@ public interface ApplicationsV2 {
      */
     Flux<byte[]> download(DownloadApplicationRequest request);
 
+    /**
+     * Makes the <a href="https://apidocs.cloudfoundry.org/latest-release/apps/downloads_the_bits_for_an_app.html">Downloads the bits for an App</a> request, writing the bits directly to a target
+     *
+     * @param request the Download Application request
+     * @param target  the target to write the bits to
+     * @return the number of bytes written
+     */
+    Mono<Long> download(DownloadApplicationRequest request, DownloadTarget target);
+
     /**
      * Makes the <a href="https://apidocs.cloudfoundry.org/latest-release/apps/downloads_the_staged_droplet_for_an_app.html">Downloads the staged droplet for an App</a> request
      *
@@ -73,6 +83,16 @@ public interface ApplicationsV2 {
      */
     Flux<byte[]> downloadDroplet(DownloadApplicationDropletRequest request);
 
+    /**
+     * Makes the <a href="https://apidocs.cloudfoundry.org/latest-release/apps/downloads_the_staged_droplet_for_an_app.html">Downloads the staged droplet for an App</a> request, writing the droplet
+     * directly to a target
+     *
+     * @param request the Download Droplet request
+     * @param target  the target to write the droplet to
+     * @return the number of bytes written
+     */
+    Mono<Long> downloadDroplet(DownloadApplicationDropletRequest request, DownloadTarget target);
+
     /**
      * Makes the <a href="https://apidocs.cloudfoundry.org/latest-release/apps/get_the_env_for_an_app.html">Get the env for an App</a> request
      *
@@ -16,6 +16,7 @@
 
 package org.cloudfoundry.client.v3.packages;
 
+import org.cloudfoundry.client.DownloadTarget;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -56,6 +57,15 @@ public interface Packages {
      */
     Flux<byte[]> download(DownloadPackageRequest request);
 
+    /**
+     * Makes the <a href="https://v3-apidocs.cloudfoundry.org/version/3.27.0/index.html#download-package-bits">Download the bits for a package</a> request, writing the bits directly to a target
+     *
+     * @param request the Download Package request
+     * @param target  the target to write the bits to
+     * @return the number of bytes written
+     */
+    Mono<Long> download(DownloadPackageRequest request, DownloadTarget target);
+
     /**
      * Makes the <a href="https://v3-apidocs.cloudfoundry.org/version/3.27.0/index.html#get-a-package">Get Package</a> request
      *
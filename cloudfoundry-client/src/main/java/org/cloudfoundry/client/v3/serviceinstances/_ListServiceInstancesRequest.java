@@ -36,6 +36,12 @@ abstract class _ListServiceInstancesRequest extends PaginatedRequest {
     @Nullable
     abstract String getLabelSelector();
 
+    /**
+     * The service instance ids
+     */
+    @FilterParameter("guids")
+    abstract List<String> getServiceInstanceIds();
+
     /**
      * The service instance names
      */
@@ -111,7 +111,7 @@ public enum Method {
 
     VERSION_CONTROL;
 
-    static Method from(org.cloudfoundry.dropsonde.events.Method dropsonde) {
+    public static Method from(org.cloudfoundry.dropsonde.events.Method dropsonde) {
         switch (Objects.requireNonNull(dropsonde, "dropsonde")) {
             case ACL:
                 return ACL;
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.doppler;
+
+/**
+ * The policy applied when a subscriber cannot keep up with a streaming connection and the envelope buffer is full
+ */
+public enum OverflowPolicy {
+
+    /**
+     * Drop the newest envelope, keeping the buffered envelopes
+     */
+    DROP_NEWEST,
+
+    /**
+     * Drop the oldest buffered envelope to make room for the newest
+     */
+    DROP_OLDEST,
+
+    /**
+     * Keep the buffered envelopes and sample the envelopes received while the buffer is full, holding only the most recent of them until there is room for it
+     */
+    SAMPLE
+
+}
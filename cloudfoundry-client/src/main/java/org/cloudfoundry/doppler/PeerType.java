@@ -33,7 +33,7 @@ public enum PeerType {
      */
     SERVER;
 
-    static PeerType from(org.cloudfoundry.dropsonde.events.PeerType dropsonde) {
+    public static PeerType from(org.cloudfoundry.dropsonde.events.PeerType dropsonde) {
         switch (Objects.requireNonNull(dropsonde, "dropsonde")) {
             case Client:
                 return CLIENT;
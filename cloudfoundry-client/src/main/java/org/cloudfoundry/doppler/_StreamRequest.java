@@ -17,18 +17,65 @@
 package org.cloudfoundry.doppler;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.cloudfoundry.Nullable;
 import org.immutables.value.Value;
 
+import java.util.List;
+import java.util.function.Consumer;
+
 /**
  * The request payload for the Stream endpoint
  */
 @Value.Immutable
 abstract class _StreamRequest {
 
+    @Value.Check
+    void check() {
+        if (getOverflowPolicy() != null && getBufferSize() == null) {
+            throw new IllegalStateException("Overflow policy requires buffer size");
+        }
+
+        if (getBufferSize() != null && getOverflowPolicy() == null) {
+            throw new IllegalStateException("Buffer size requires overflow policy");
+        }
+
+        if (getBufferSize() != null && getBufferSize() < 1) {
+            throw new IllegalStateException("Buffer size must be greater than 0");
+        }
+    }
+
     /**
      * The application id
      */
     @JsonIgnore
     abstract String getApplicationId();
 
+    /**
+     * The maximum number of envelopes to buffer while the subscriber cannot keep up.  One more envelope may be held while it is handed to the subscriber, so at most this many plus one
+     * envelopes are held in total.
+     */
+    @JsonIgnore
+    @Nullable
+    abstract Integer getBufferSize();
+
+    /**
+     * Called with each envelope dropped by the overflow policy
+     */
+    @JsonIgnore
+    @Nullable
+    abstract Consumer<Envelope> getDroppedEnvelopeConsumer();
+
+    /**
+     * The event types to receive. If empty, envelopes of all event types are received.
+     */
+    @JsonIgnore
+    abstract List<EventType> getEventTypes();
+
+    /**
+     * The policy applied when the buffer is full. If not set, a subscriber that cannot keep up slows reading from the connection.
+     */
+    @JsonIgnore
+    @Nullable
+    abstract OverflowPolicy getOverflowPolicy();
+
 }
@@ -20,12 +20,37 @@ import org.junit.Test;
 
 public final class FirehoseRequestTest {
 
+    @Test(expected = IllegalStateException.class)
+    public void bufferSizeNoOverflowPolicy() {
+        FirehoseRequest.builder()
+            .bufferSize(100)
+            .subscriptionId("test-subscription-id")
+            .build();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void invalidBufferSize() {
+        FirehoseRequest.builder()
+            .bufferSize(0)
+            .overflowPolicy(OverflowPolicy.DROP_OLDEST)
+            .subscriptionId("test-subscription-id")
+            .build();
+    }
+
     @Test(expected = IllegalStateException.class)
     public void noSubscriptionId() {
         FirehoseRequest.builder()
             .build();
     }
 
+    @Test(expected = IllegalStateException.class)
+    public void overflowPolicyNoBufferSize() {
+        FirehoseRequest.builder()
+            .overflowPolicy(OverflowPolicy.DROP_OLDEST)
+            .subscriptionId("test-subscription-id")
+            .build();
+    }
+
     @Test
     public void valid() {
         FirehoseRequest.builder()
@@ -33,4 +58,13 @@ public final class FirehoseRequestTest {
             .build();
     }
 
+    @Test
+    public void validOverflowPolicy() {
+        FirehoseRequest.builder()
+            .bufferSize(100)
+            .overflowPolicy(OverflowPolicy.DROP_NEWEST)
+            .subscriptionId("test-subscription-id")
+            .build();
+    }
+
 }
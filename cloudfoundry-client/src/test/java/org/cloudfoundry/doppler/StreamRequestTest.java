@@ -20,12 +20,37 @@ import org.junit.Test;
 
 public final class StreamRequestTest {
 
+    @Test(expected = IllegalStateException.class)
+    public void bufferSizeNoOverflowPolicy() {
+        StreamRequest.builder()
+            .bufferSize(100)
+            .applicationId("test-application-id")
+            .build();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void invalidBufferSize() {
+        StreamRequest.builder()
+            .bufferSize(0)
+            .overflowPolicy(OverflowPolicy.DROP_OLDEST)
+            .applicationId("test-application-id")
+            .build();
+    }
+
     @Test(expected = IllegalStateException.class)
     public void noApplicationId() {
         StreamRequest.builder()
             .build();
     }
 
+    @Test(expected = IllegalStateException.class)
+    public void overflowPolicyNoBufferSize() {
+        StreamRequest.builder()
+            .overflowPolicy(OverflowPolicy.DROP_OLDEST)
+            .applicationId("test-application-id")
+            .build();
+    }
+
     @Test
     public void valid() {
         StreamRequest.builder()
@@ -33,4 +58,13 @@ public final class StreamRequestTest {
             .build();
     }
 
+    @Test
+    public void validOverflowPolicy() {
+        StreamRequest.builder()
+            .bufferSize(100)
+            .overflowPolicy(OverflowPolicy.DROP_NEWEST)
+            .applicationId("test-application-id")
+            .build();
+    }
+
 }
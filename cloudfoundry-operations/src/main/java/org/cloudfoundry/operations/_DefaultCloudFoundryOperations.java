@@ -54,14 +54,16 @@ import org.cloudfoundry.operations.useradmin.DefaultUserAdmin;
 import org.cloudfoundry.operations.useradmin.UserAdmin;
 import org.cloudfoundry.routing.RoutingClient;
 import org.cloudfoundry.uaa.UaaClient;
+import org.cloudfoundry.util.CompletionPoller;
 import org.cloudfoundry.util.ExceptionUtils;
+import org.cloudfoundry.util.FileHashCache;
 import org.cloudfoundry.util.PaginationUtils;
 import org.immutables.value.Value;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.nio.file.Path;
 import java.time.Duration;
-import java.util.NoSuchElementException;
 import java.util.Optional;
 
 /**
@@ -79,7 +81,9 @@ abstract class _DefaultCloudFoundryOperations implements CloudFoundryOperations
     @Override
     @Value.Derived
     public Applications applications() {
-        return new DefaultApplications(getCloudFoundryClientPublisher(), getDopplerClientPublisher(), getSpaceId());
+        return getFileHashCache()
+            .map(file -> new DefaultApplications(getCloudFoundryClientPublisher(), getCompletionPoller(), getDopplerClientPublisher(), new FileHashCache(file), getSpaceId()))
+            .orElseGet(() -> new DefaultApplications(getCloudFoundryClientPublisher(), getCompletionPoller(), getDopplerClientPublisher(), getSpaceId()));
     }
 
     @Override
@@ -127,7 +131,7 @@ abstract class _DefaultCloudFoundryOperations implements CloudFoundryOperations
     @Override
     @Value.Derived
     public Services services() {
-        return new DefaultServices(getCloudFoundryClientPublisher(), getOrganizationId(), getSpaceId());
+        return new DefaultServices(getCloudFoundryClientPublisher(), getCompletionPoller(), getOrganizationId(), getSpaceId());
     }
 
     @Override
@@ -172,6 +176,16 @@ abstract class _DefaultCloudFoundryOperations implements CloudFoundryOperations
             .orElse(Mono.error(new IllegalStateException("CloudFoundryClient must be set")));
     }
 
+    /**
+     * The {@link CompletionPoller} shared by the operations that wait for jobs, service instance operations, packages, builds and deployments to complete
+     */
+    @Value.Derived
+    Mono<CompletionPoller> getCompletionPoller() {
+        return getCloudFoundryClientPublisher()
+            .map(CompletionPoller::new)
+            .cache();
+    }
+
     /**
      * The {@link DopplerClient} to use for operations functionality
      */
@@ -185,6 +199,11 @@ abstract class _DefaultCloudFoundryOperations implements CloudFoundryOperations
             .orElse(Mono.error(new IllegalStateException("DopplerClient must be set")));
     }
 
+    /**
+     * The file to persist the hashes of pushed application files in, so that files that have not changed are not hashed again by later pushes
+     */
+    abstract Optional<Path> getFileHashCache();
+
     /**
      * The {@link NetworkingClient} to use for operations functionality
      */
@@ -277,14 +296,14 @@ abstract class _DefaultCloudFoundryOperations implements CloudFoundryOperations
 
     private static Mono<OrganizationResource> getOrganization(Mono<CloudFoundryClient> cloudFoundryClient, String organization) {
         return requestOrganizations(cloudFoundryClient, organization)
-            .single()
-            .onErrorResume(NoSuchElementException.class, t -> ExceptionUtils.illegalArgument("Organization %s does not exist", organization));
+            .next()
+            .switchIfEmpty(ExceptionUtils.illegalArgument("Organization %s does not exist", organization));
     }
 
     private static Mono<SpaceResource> getSpace(Mono<CloudFoundryClient> cloudFoundryClient, String organizationId, String space) {
         return requestSpaces(cloudFoundryClient, organizationId, space)
-            .single()
-            .onErrorResume(NoSuchElementException.class, t -> ExceptionUtils.illegalArgument("Space %s does not exist", space));
+            .next()
+            .switchIfEmpty(ExceptionUtils.illegalArgument("Space %s does not exist", space));
     }
 
     private static boolean hasLength(CharSequence str) {
@@ -307,7 +326,7 @@ abstract class _DefaultCloudFoundryOperations implements CloudFoundryOperations
     private static Flux<OrganizationResource> requestOrganizations(Mono<CloudFoundryClient> cloudFoundryClientPublisher, String organization) {
         return cloudFoundryClientPublisher
             .flatMapMany(cloudFoundryClient -> PaginationUtils
-                .requestClientV3Resources(page -> cloudFoundryClient.organizationsV3()
+                .requestClientV3ResourcesLazily(page -> cloudFoundryClient.organizationsV3()
                     .list(ListOrganizationsRequest.builder()
                         .name(organization)
                         .page(page)
@@ -317,7 +336,7 @@ abstract class _DefaultCloudFoundryOperations implements CloudFoundryOperations
     private static Flux<SpaceResource> requestSpaces(Mono<CloudFoundryClient> cloudFoundryClientPublisher, String organizationId, String space) {
         return cloudFoundryClientPublisher
             .flatMapMany(cloudFoundryClient -> PaginationUtils
-                .requestClientV3Resources(page -> cloudFoundryClient.spacesV3()
+                .requestClientV3ResourcesLazily(page -> cloudFoundryClient.spacesV3()
                     .list(ListSpacesRequest.builder()
                         .organizationId(organizationId)
                         .name(space)
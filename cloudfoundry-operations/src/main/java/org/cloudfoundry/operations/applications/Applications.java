@@ -43,6 +43,15 @@ public interface Applications {
      */
     Mono<Void> delete(DeleteApplicationRequest request);
 
+    /**
+     * Deploys new bits to a specific application with zero downtime. The bits are uploaded as a new package and staged into a droplet, and a rolling deployment then replaces the running
+     * instances with ones running the new droplet.
+     *
+     * @param request the deploy application request
+     * @return a completion indicator
+     */
+    Mono<Void> deploy(DeployApplicationRequest request);
+
     /**
      * Disable SSH for a specific application
      *
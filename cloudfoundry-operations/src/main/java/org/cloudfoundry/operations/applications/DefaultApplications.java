@@ -51,6 +51,7 @@ import org.cloudfoundry.client.v2.applications.Usage;
 import org.cloudfoundry.client.v2.events.EventEntity;
 import org.cloudfoundry.client.v2.events.EventResource;
 import org.cloudfoundry.client.v2.events.ListEventsRequest;
+import org.cloudfoundry.client.v2.jobs.JobEntity;
 import org.cloudfoundry.client.v2.organizations.ListOrganizationPrivateDomainsRequest;
 import org.cloudfoundry.client.v2.organizations.ListOrganizationSpacesRequest;
 import org.cloudfoundry.client.v2.organizations.ListOrganizationsRequest;
@@ -84,10 +85,28 @@ import org.cloudfoundry.client.v2.stacks.ListStacksRequest;
 import org.cloudfoundry.client.v2.stacks.StackResource;
 import org.cloudfoundry.client.v3.BuildpackData;
 import org.cloudfoundry.client.v3.Lifecycle;
+import org.cloudfoundry.client.v3.Relationship;
 import org.cloudfoundry.client.v3.Resource;
+import org.cloudfoundry.client.v3.ToOneRelationship;
 import org.cloudfoundry.client.v3.applications.ApplicationResource;
 import org.cloudfoundry.client.v3.applications.GetApplicationResponse;
 import org.cloudfoundry.client.v3.applications.ListApplicationsRequest;
+import org.cloudfoundry.client.v3.builds.BuildState;
+import org.cloudfoundry.client.v3.builds.CreateBuildRequest;
+import org.cloudfoundry.client.v3.builds.CreateBuildResponse;
+import org.cloudfoundry.client.v3.deployments.CreateDeploymentRequest;
+import org.cloudfoundry.client.v3.deployments.CreateDeploymentResponse;
+import org.cloudfoundry.client.v3.deployments.Deployment;
+import org.cloudfoundry.client.v3.deployments.DeploymentRelationships;
+import org.cloudfoundry.client.v3.deployments.DeploymentStatusReason;
+import org.cloudfoundry.client.v3.packages.CreatePackageRequest;
+import org.cloudfoundry.client.v3.packages.CreatePackageResponse;
+import org.cloudfoundry.client.v3.packages.GetPackageResponse;
+import org.cloudfoundry.client.v3.packages.PackageRelationships;
+import org.cloudfoundry.client.v3.packages.PackageState;
+import org.cloudfoundry.client.v3.packages.PackageType;
+import org.cloudfoundry.client.v3.packages.UploadPackageRequest;
+import org.cloudfoundry.client.v3.packages.UploadPackageResponse;
 import org.cloudfoundry.client.v3.tasks.CancelTaskRequest;
 import org.cloudfoundry.client.v3.tasks.CancelTaskResponse;
 import org.cloudfoundry.client.v3.tasks.CreateTaskRequest;
@@ -100,12 +119,13 @@ import org.cloudfoundry.doppler.LogMessage;
 import org.cloudfoundry.doppler.RecentLogsRequest;
 import org.cloudfoundry.doppler.StreamRequest;
 import org.cloudfoundry.operations.util.OperationsLogging;
+import org.cloudfoundry.util.CompletionPoller;
 import org.cloudfoundry.util.DateUtils;
 import org.cloudfoundry.util.DelayTimeoutException;
 import org.cloudfoundry.util.ExceptionUtils;
+import org.cloudfoundry.util.FileHashCache;
 import org.cloudfoundry.util.FileUtils;
 import org.cloudfoundry.util.FluentMap;
-import org.cloudfoundry.util.JobUtils;
 import org.cloudfoundry.util.PaginationUtils;
 import org.cloudfoundry.util.ResourceMatchingUtils;
 import org.cloudfoundry.util.ResourceUtils;
@@ -133,6 +153,7 @@ import java.util.Optional;
 import java.util.function.BiFunction;
 import java.util.function.Predicate;
 import java.util.function.UnaryOperator;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import static org.cloudfoundry.client.v3.LifecycleType.BUILDPACK;
@@ -160,31 +181,69 @@ public final class DefaultApplications implements Applications {
 
     private static final String[] ENTRY_FIELDS_NORMAL = {"instances", "memory", "state", "environment_json"};
 
+    /**
+     * CELL log text that usually marks an instance becoming healthy or exiting.  The text is not a stable API, so a match only ends the current poll delay early and a miss only
+     * delays the next poll.  Polling the instance state always decides the outcome.
+     */
+    private static final Pattern INSTANCE_TRANSITION = Pattern.compile("Container became healthy|Exit status");
+
     private static final Comparator<LogMessage> LOG_MESSAGE_COMPARATOR = Comparator.comparing(LogMessage::getTimestamp);
 
-    private static final Duration LOG_MESSAGE_TIMESPAN = Duration.ofMillis(500);
+    private static final Duration LOG_MESSAGE_LATENESS = Duration.ofMillis(500);
+
+    private static final int LOG_MESSAGE_MAX_BUFFERED = 10_000;
 
     private static final int MAX_NUMBER_OF_RECENT_EVENTS = 50;
 
+    /**
+     * STG log text that usually marks staging finishing or failing.  The text is not a stable API, so a match only ends the current poll delay early and a miss only delays the
+     * next poll.  Polling the package state always decides the outcome.
+     */
+    private static final Pattern STAGING_TRANSITION = Pattern.compile("Uploading complete|Staging failed|Destroying container");
+
     private static final String STARTED_STATE = "STARTED";
 
     private static final String STOPPED_STATE = "STOPPED";
 
     private final Mono<CloudFoundryClient> cloudFoundryClient;
 
+    private final Mono<CompletionPoller> completionPoller;
+
     private final Mono<DopplerClient> dopplerClient;
 
+    private final Optional<FileHashCache> fileHashCache;
+
     private final RandomWords randomWords;
 
     private final Mono<String> spaceId;
 
     public DefaultApplications(Mono<CloudFoundryClient> cloudFoundryClient, Mono<DopplerClient> dopplerClient, Mono<String> spaceId) {
-        this(cloudFoundryClient, dopplerClient, new WordListRandomWords(), spaceId);
+        this(cloudFoundryClient, createCompletionPoller(cloudFoundryClient), dopplerClient, Optional.empty(), new WordListRandomWords(), spaceId);
+    }
+
+    public DefaultApplications(Mono<CloudFoundryClient> cloudFoundryClient, Mono<DopplerClient> dopplerClient, FileHashCache fileHashCache, Mono<String> spaceId) {
+        this(cloudFoundryClient, createCompletionPoller(cloudFoundryClient), dopplerClient, Optional.of(fileHashCache), new WordListRandomWords(), spaceId);
+    }
+
+    public DefaultApplications(Mono<CloudFoundryClient> cloudFoundryClient, Mono<CompletionPoller> completionPoller, Mono<DopplerClient> dopplerClient, Mono<String> spaceId) {
+        this(cloudFoundryClient, completionPoller, dopplerClient, Optional.empty(), new WordListRandomWords(), spaceId);
+    }
+
+    public DefaultApplications(Mono<CloudFoundryClient> cloudFoundryClient, Mono<CompletionPoller> completionPoller, Mono<DopplerClient> dopplerClient, FileHashCache fileHashCache,
+                               Mono<String> spaceId) {
+        this(cloudFoundryClient, completionPoller, dopplerClient, Optional.of(fileHashCache), new WordListRandomWords(), spaceId);
     }
 
     DefaultApplications(Mono<CloudFoundryClient> cloudFoundryClient, Mono<DopplerClient> dopplerClient, RandomWords randomWords, Mono<String> spaceId) {
+        this(cloudFoundryClient, createCompletionPoller(cloudFoundryClient), dopplerClient, Optional.empty(), randomWords, spaceId);
+    }
+
+    DefaultApplications(Mono<CloudFoundryClient> cloudFoundryClient, Mono<CompletionPoller> completionPoller, Mono<DopplerClient> dopplerClient, Optional<FileHashCache> fileHashCache,
+                        RandomWords randomWords, Mono<String> spaceId) {
         this.cloudFoundryClient = cloudFoundryClient;
+        this.completionPoller = completionPoller;
         this.dopplerClient = dopplerClient;
+        this.fileHashCache = fileHashCache;
         this.randomWords = randomWords;
         this.spaceId = spaceId;
     }
@@ -198,11 +257,13 @@ public final class DefaultApplications implements Applications {
                 getApplicationId(cloudFoundryClient, request.getName(), spaceId),
                 getApplicationIdFromOrgSpace(cloudFoundryClient, request.getTargetName(), spaceId, request.getTargetOrganization(), request.getTargetSpace())
             )))
-            .flatMap(function((cloudFoundryClient, sourceApplicationId, targetApplicationId) -> copyBits(cloudFoundryClient, request.getStagingTimeout(), sourceApplicationId, targetApplicationId)
+            .flatMap(function((cloudFoundryClient, sourceApplicationId, targetApplicationId) -> copyBits(cloudFoundryClient, this.completionPoller, request.getStagingTimeout(),
+                sourceApplicationId, targetApplicationId)
                 .thenReturn(Tuples.of(cloudFoundryClient, targetApplicationId))))
             .filter(predicate((cloudFoundryClient, targetApplicationId) -> Optional.ofNullable(request.getRestart()).orElse(false)))
-            .flatMap(function((cloudFoundryClient, targetApplicationId) -> restartApplication(cloudFoundryClient, request.getTargetName(), targetApplicationId, request.getStagingTimeout(),
-                request.getStartupTimeout())))
+            .flatMap(function((cloudFoundryClient, targetApplicationId) -> restartApplication(cloudFoundryClient,
+                getWatchedDopplerClient(this.dopplerClient, request.getWatchLogs()), request.getTargetName(), targetApplicationId,
+                request.getStagingTimeout(), request.getStartupTimeout())))
             .transform(OperationsLogging.log("Copy Application Source"))
             .checkpoint();
     }
@@ -213,7 +274,7 @@ public final class DefaultApplications implements Applications {
             .zip(this.cloudFoundryClient, this.spaceId)
             .flatMap(function((cloudFoundryClient, spaceId) -> getRoutesAndApplicationId(cloudFoundryClient, request, spaceId, Optional.ofNullable(request.getDeleteRoutes()).orElse(false))
                 .map(function((routes, applicationId) -> Tuples.of(cloudFoundryClient, routes, applicationId)))))
-            .flatMap(function((cloudFoundryClient, routes, applicationId) -> deleteRoutes(cloudFoundryClient, request.getCompletionTimeout(), routes)
+            .flatMap(function((cloudFoundryClient, routes, applicationId) -> deleteRoutes(cloudFoundryClient, this.completionPoller, request.getCompletionTimeout(), routes)
                 .thenReturn(Tuples.of(cloudFoundryClient, applicationId))))
             .delayUntil(function(DefaultApplications::removeServiceBindings))
             .flatMap(function(DefaultApplications::requestDeleteApplication))
@@ -221,6 +282,25 @@ public final class DefaultApplications implements Applications {
             .checkpoint();
     }
 
+    @Override
+    public Mono<Void> deploy(DeployApplicationRequest request) {
+        return Mono
+            .zip(this.cloudFoundryClient, this.spaceId)
+            .flatMap(function((cloudFoundryClient, spaceId) -> Mono.zip(
+                Mono.just(cloudFoundryClient),
+                getApplicationIdV3(cloudFoundryClient, request.getName(), spaceId)
+            )))
+            .flatMap(function((cloudFoundryClient, applicationId) -> Mono.zip(
+                Mono.just(cloudFoundryClient),
+                Mono.just(applicationId),
+                stagePackage(cloudFoundryClient, this.completionPoller, request.getName(), applicationId, request.getPath(), request.getStagingTimeout())
+            )))
+            .flatMap(function((cloudFoundryClient, applicationId, dropletId) -> requestCreateDeployment(cloudFoundryClient, applicationId, dropletId)
+                .flatMap(deployment -> waitForDeployment(this.completionPoller, request.getName(), deployment.getId(), request.getCompletionTimeout()))))
+            .transform(OperationsLogging.log("Deploy Application"))
+            .checkpoint();
+    }
+
     @Override
     public Mono<Void> disableSsh(DisableApplicationSshRequest request) {
         return Mono
@@ -398,6 +478,7 @@ public final class DefaultApplications implements Applications {
             .noStart(request.getNoStart())
             .stagingTimeout(request.getStagingTimeout())
             .startupTimeout(request.getStartupTimeout())
+            .watchLogs(request.getWatchLogs())
             .build())
             .transform(OperationsLogging.log("Push"))
             .checkpoint();
@@ -416,16 +497,22 @@ public final class DefaultApplications implements Applications {
                 Mono.just(cloudFoundryClient),
                 listAvailableDomains(cloudFoundryClient, organizationId),
                 Mono.just(spaceId))))
-            .flatMapMany(function((cloudFoundryClient, availableDomains, spaceId) -> Flux.fromIterable(request.getManifests())
-                .flatMap(manifest -> {
-                    if (manifest.getPath() != null) {
-                        return pushApplication(cloudFoundryClient, availableDomains, manifest, this.randomWords, request, spaceId);
-                    } else if (!manifest.getDocker().getImage().isEmpty()) {
-                        return pushDocker(cloudFoundryClient, availableDomains, manifest, this.randomWords, request, spaceId);
-                    } else {
-                        throw new IllegalStateException("One of application or dockerImage must be supplied");
-                    }
-                })))
+            .flatMapMany(function((cloudFoundryClient, availableDomains, spaceId) -> {
+                PushLookupCache lookupCache = new PushLookupCache();
+
+                return Flux.fromIterable(request.getManifests())
+                    .flatMapSequential(manifest -> prepareApplication(cloudFoundryClient, availableDomains, lookupCache, manifest, this.randomWords, spaceId)
+                        .map(applicationId -> Tuples.of(applicationId, manifest)), request.getParallelism())
+                    .collectList()
+                    .flatMapMany(applications -> Flux.fromIterable(applications)
+                        .flatMap(function((applicationId, manifest) -> getMatchedResources(cloudFoundryClient, manifest, this.fileHashCache, request)
+                            .filter(Optional::isPresent)
+                            .flatMap(matchedResources -> uploadApplication(cloudFoundryClient, this.completionPoller, applicationId, manifest, matchedResources.get(), request))),
+                            request.getParallelism())
+                        .thenMany(Flux.fromIterable(applications)))
+                    .flatMap(function((applicationId, manifest) -> stopAndStartApplication(cloudFoundryClient, getWatchedDopplerClient(this.dopplerClient, request.getWatchLogs()),
+                        applicationId, manifest.getName(), request)), request.getParallelism());
+            }))
             .then()
             .transform(OperationsLogging.log("Push Manifest"))
             .checkpoint();
@@ -453,8 +540,8 @@ public final class DefaultApplications implements Applications {
                 Mono.just(cloudFoundryClient),
                 getApplicationId(cloudFoundryClient, request.getName(), spaceId)
             )))
-            .flatMap(function((cloudFoundryClient, applicationId) -> restageApplication(cloudFoundryClient, request.getName(), applicationId, request.getStagingTimeout(), request.getStartupTimeout
-                ())))
+            .flatMap(function((cloudFoundryClient, applicationId) -> restageApplication(cloudFoundryClient, getWatchedDopplerClient(this.dopplerClient, request.getWatchLogs()),
+                request.getName(), applicationId, request.getStagingTimeout(), request.getStartupTimeout())))
             .transform(OperationsLogging.log("Restage Application"))
             .checkpoint();
     }
@@ -471,7 +558,8 @@ public final class DefaultApplications implements Applications {
                 Mono.just(cloudFoundryClient),
                 stopApplicationIfNotStopped(cloudFoundryClient, resource)
             )))
-            .flatMap(function((cloudFoundryClient, stoppedApplication) -> startApplicationAndWait(cloudFoundryClient, request.getName(), ResourceUtils.getId(stoppedApplication),
+            .flatMap(function((cloudFoundryClient, stoppedApplication) -> startApplicationAndWait(cloudFoundryClient,
+                getWatchedDopplerClient(this.dopplerClient, request.getWatchLogs()), request.getName(), ResourceUtils.getId(stoppedApplication),
                 request.getStagingTimeout(), request.getStartupTimeout())))
             .transform(OperationsLogging.log("Restart Application"))
             .checkpoint();
@@ -518,8 +606,8 @@ public final class DefaultApplications implements Applications {
                 requestUpdateApplicationScale(cloudFoundryClient, applicationId, request.getDiskLimit(), request.getInstances(), request.getMemoryLimit())
             )))
             .filter(predicate((cloudFoundryClient, resource) -> isRestartRequired(request, resource)))
-            .flatMap(function((cloudFoundryClient, resource) -> restartApplication(cloudFoundryClient, request.getName(), ResourceUtils.getId(resource), request.getStagingTimeout(),
-                request.getStartupTimeout())))
+            .flatMap(function((cloudFoundryClient, resource) -> restartApplication(cloudFoundryClient, getWatchedDopplerClient(this.dopplerClient, request.getWatchLogs()),
+                request.getName(), ResourceUtils.getId(resource), request.getStagingTimeout(), request.getStartupTimeout())))
             .transform(OperationsLogging.log("Scale Application"))
             .checkpoint();
     }
@@ -571,8 +659,8 @@ public final class DefaultApplications implements Applications {
                 Mono.just(cloudFoundryClient),
                 getApplicationIdWhere(cloudFoundryClient, request.getName(), spaceId, isNotIn(STARTED_STATE))
             )))
-            .flatMap(function((cloudFoundryClient, applicationId) -> startApplicationAndWait(cloudFoundryClient, request.getName(), applicationId, request.getStagingTimeout(),
-                request.getStartupTimeout())))
+            .flatMap(function((cloudFoundryClient, applicationId) -> startApplicationAndWait(cloudFoundryClient,
+                getWatchedDopplerClient(this.dopplerClient, request.getWatchLogs()), request.getName(), applicationId, request.getStagingTimeout(), request.getStartupTimeout())))
             .transform(OperationsLogging.log("Start Application"))
             .checkpoint();
     }
@@ -635,21 +723,21 @@ public final class DefaultApplications implements Applications {
         return request.getMemoryLimit() != null || request.getDiskLimit() != null || request.getInstances() != null;
     }
 
-    private static Flux<String> associateDefaultDomain(CloudFoundryClient cloudFoundryClient, String applicationId, List<DomainSummary> availableDomains, ApplicationManifest manifest,
-                                                       RandomWords randomWords, String spaceId) {
-        return getDefaultDomainId(cloudFoundryClient)
-            .flatMapMany(domainId -> getPushRouteIdFromDomain(cloudFoundryClient, availableDomains, domainId, manifest, randomWords, spaceId))
+    private static Flux<String> associateDefaultDomain(CloudFoundryClient cloudFoundryClient, String applicationId, List<DomainSummary> availableDomains,
+                                                       PushLookupCache lookupCache, ApplicationManifest manifest, RandomWords randomWords, String spaceId) {
+        return lookupCache.get(() -> getDefaultDomainId(cloudFoundryClient), "default-domain")
+            .flatMapMany(domainId -> getPushRouteIdFromDomain(cloudFoundryClient, availableDomains, domainId, lookupCache, manifest, randomWords, spaceId))
             .flatMap(routeId -> requestAssociateRoute(cloudFoundryClient, applicationId, routeId))
             .map(ResourceUtils::getId);
     }
 
-    private static Mono<Void> bindServices(CloudFoundryClient cloudFoundryClient, String applicationId, ApplicationManifest manifest, String spaceId) {
+    private static Mono<Void> bindServices(CloudFoundryClient cloudFoundryClient, String applicationId, PushLookupCache lookupCache, ApplicationManifest manifest, String spaceId) {
         if (manifest.getServices() == null || manifest.getServices().size() == 0) {
             return Mono.empty();
         }
 
         return Flux.fromIterable(manifest.getServices())
-            .flatMap(serviceInstanceName -> getServiceId(cloudFoundryClient, serviceInstanceName, spaceId))
+            .flatMap(serviceInstanceName -> lookupCache.get(() -> getServiceId(cloudFoundryClient, serviceInstanceName, spaceId), "service-instance", serviceInstanceName))
             .flatMap(serviceInstanceId -> requestCreateServiceBinding(cloudFoundryClient, applicationId, serviceInstanceId)
                 .onErrorResume(ExceptionUtils.statusCode(CF_SERVICE_ALREADY_BOUND), t -> Mono.empty()))
             .then();
@@ -690,22 +778,44 @@ public final class DefaultApplications implements Applications {
             .build();
     }
 
-    private static Mono<Void> copyBits(CloudFoundryClient cloudFoundryClient, Duration completionTimeout, String sourceApplicationId, String targetApplicationId) {
+    private static Mono<Void> copyBits(CloudFoundryClient cloudFoundryClient, Mono<CompletionPoller> completionPoller, Duration completionTimeout, String sourceApplicationId,
+                                       String targetApplicationId) {
         return requestCopyBits(cloudFoundryClient, sourceApplicationId, targetApplicationId)
-            .flatMap(job -> JobUtils.waitForCompletion(cloudFoundryClient, completionTimeout, job));
+            .flatMap(job -> waitForJob(completionPoller, completionTimeout, ResourceUtils.getEntity(job)));
+    }
+
+    private static Mono<CompletionPoller> createCompletionPoller(Mono<CloudFoundryClient> cloudFoundryClient) {
+        return cloudFoundryClient
+            .map(CompletionPoller::new)
+            .cache();
+    }
+
+    private static Mono<Void> deleteCompressedApplication(Path application, Path original) {
+        if (application.equals(original)) {
+            return Mono.empty();
+        }
+
+        return Mono.fromRunnable(() -> {
+            try {
+                Files.deleteIfExists(application);
+            } catch (IOException e) {
+                throw Exceptions.propagate(e);
+            }
+        });
     }
 
-    private static Mono<Void> deleteRoute(CloudFoundryClient cloudFoundryClient, String routeId, Duration completionTimeout) {
+    private static Mono<Void> deleteRoute(CloudFoundryClient cloudFoundryClient, Mono<CompletionPoller> completionPoller, String routeId, Duration completionTimeout) {
         return requestDeleteRoute(cloudFoundryClient, routeId)
-            .flatMap(job -> JobUtils.waitForCompletion(cloudFoundryClient, completionTimeout, job));
+            .flatMap(job -> waitForJob(completionPoller, completionTimeout, ResourceUtils.getEntity(job)));
     }
 
-    private static Mono<Void> deleteRoutes(CloudFoundryClient cloudFoundryClient, Duration completionTimeout, Optional<List<org.cloudfoundry.client.v2.routes.Route>> routes) {
+    private static Mono<Void> deleteRoutes(CloudFoundryClient cloudFoundryClient, Mono<CompletionPoller> completionPoller, Duration completionTimeout,
+                                           Optional<List<org.cloudfoundry.client.v2.routes.Route>> routes) {
         return routes
             .map(Flux::fromIterable)
             .orElse(Flux.empty())
             .map(org.cloudfoundry.client.v2.routes.Route::getId)
-            .flatMap(routeId -> deleteRoute(cloudFoundryClient, routeId, completionTimeout))
+            .flatMap(routeId -> deleteRoute(cloudFoundryClient, completionPoller, routeId, completionTimeout))
             .then();
     }
 
@@ -838,8 +948,8 @@ public final class DefaultApplications implements Applications {
 
     private static Mono<ApplicationResource> getApplicationV3(CloudFoundryClient cloudFoundryClient, String application, String spaceId) {
         return requestApplicationsV3(cloudFoundryClient, application, spaceId)
-            .single()
-            .onErrorResume(NoSuchElementException.class, t -> ExceptionUtils.illegalArgument("Application %s does not exist", application));
+            .next()
+            .switchIfEmpty(ExceptionUtils.illegalArgument("Application %s does not exist", application));
     }
 
     private static Mono<Tuple5<List<String>, SummaryApplicationResponse, GetStackResponse, List<InstanceDetail>, List<String>>> getAuxiliaryContent(CloudFoundryClient cloudFoundryClient,
@@ -890,6 +1000,13 @@ public final class DefaultApplications implements Applications {
         return Optional.ofNullable(resource.getEntity()).map(ApplicationEntity::getInstances).orElse(0);
     }
 
+    private static Flux<LogMessage> getLogEvents(Mono<DopplerClient> dopplerClient, String applicationId, Predicate<LogMessage> predicate) {
+        return requestLogsStream(dopplerClient, applicationId)
+            .filter(e -> EventType.LOG_MESSAGE == e.getEventType())
+            .map(Envelope::getLogMessage)
+            .filter(predicate);
+    }
+
     private static Flux<LogMessage> getLogs(Mono<DopplerClient> dopplerClient, String applicationId, Boolean recent) {
         if (Optional.ofNullable(recent).orElse(false)) {
             return requestLogsRecent(dopplerClient, applicationId)
@@ -901,8 +1018,35 @@ public final class DefaultApplications implements Applications {
             return requestLogsStream(dopplerClient, applicationId)
                 .filter(e -> EventType.LOG_MESSAGE == e.getEventType())
                 .map(Envelope::getLogMessage)
-                .transformDeferred(SortingUtils.timespan(LOG_MESSAGE_COMPARATOR, LOG_MESSAGE_TIMESPAN));
+                .transform(SortingUtils.watermark(LogMessage::getTimestamp, LOG_MESSAGE_LATENESS, LOG_MESSAGE_MAX_BUFFERED));
+        }
+    }
+
+    private static Mono<Optional<Tuple2<Path, List<ResourceMatchingUtils.ArtifactMetadata>>>> getMatchedResources(CloudFoundryClient cloudFoundryClient,
+                                                                                                                 ApplicationManifest manifest,
+                                                                                                                 Optional<FileHashCache> fileHashCache,
+                                                                                                                 PushApplicationManifestRequest request) {
+        if (manifest.getPath() == null) {
+            return Mono.just(Optional.empty());
+        }
+
+        return getMatchedResources(cloudFoundryClient, manifest.getPath(), fileHashCache, request.getResourceMatchingBatchSize(), request.getResourceMatchingConcurrency())
+            .map(Optional::of);
+    }
+
+    private static Mono<Tuple2<Path, List<ResourceMatchingUtils.ArtifactMetadata>>> getMatchedResources(CloudFoundryClient cloudFoundryClient, Path application,
+                                                                                                       Optional<FileHashCache> fileHashCache, int batchSize, int concurrency) {
+        if (fileHashCache.isPresent()) {
+            return ResourceMatchingUtils.getMatchedResources(cloudFoundryClient, application, fileHashCache.get(), batchSize, concurrency)
+                .map(matchedResources -> Tuples.of(application, matchedResources));
         }
+
+        if (Files.isDirectory(application)) {
+            return ResourceMatchingUtils.compressAndGetMatchedResources(cloudFoundryClient, application, batchSize, concurrency);
+        }
+
+        return ResourceMatchingUtils.getMatchedResources(cloudFoundryClient, application, batchSize, concurrency)
+            .map(matchedResources -> Tuples.of(application, matchedResources));
     }
 
     @SuppressWarnings("unchecked")
@@ -932,9 +1076,9 @@ public final class DefaultApplications implements Applications {
         }
     }
 
-    private static Mono<Optional<String>> getOptionalStackId(CloudFoundryClient cloudFoundryClient, String stack) {
+    private static Mono<Optional<String>> getOptionalStackId(CloudFoundryClient cloudFoundryClient, PushLookupCache lookupCache, String stack) {
         return Optional.ofNullable(stack)
-            .map(stack1 -> getStackId(cloudFoundryClient, stack1)
+            .map(stack1 -> lookupCache.get(() -> getStackId(cloudFoundryClient, stack1), "stack", stack1)
                 .map(Optional::of))
             .orElse(Mono.just(Optional.empty()));
     }
@@ -960,8 +1104,8 @@ public final class DefaultApplications implements Applications {
         return Optional.ofNullable(dockerCredentials).map(DockerCredentials::getPassword).orElse(null);
     }
 
-    private static Flux<String> getPushRouteIdFromDomain(CloudFoundryClient cloudFoundryClient, List<DomainSummary> availableDomains, String domainId, ApplicationManifest manifest,
-                                                         RandomWords randomWords, String spaceId) {
+    private static Flux<String> getPushRouteIdFromDomain(CloudFoundryClient cloudFoundryClient, List<DomainSummary> availableDomains, String domainId, PushLookupCache lookupCache,
+                                                         ApplicationManifest manifest, RandomWords randomWords, String spaceId) {
         if (isTcpDomain(availableDomains, domainId)) {
             return requestCreateTcpRoute(cloudFoundryClient, domainId, spaceId)
                 .map(ResourceUtils::getId)
@@ -980,21 +1124,21 @@ public final class DefaultApplications implements Applications {
         }
 
         return Flux.fromIterable(hosts)
-            .flatMap(host -> getRouteId(cloudFoundryClient, domainId, host, manifest.getRoutePath())
+            .flatMap(host -> lookupCache.get(() -> getRouteId(cloudFoundryClient, domainId, host, manifest.getRoutePath())
                 .switchIfEmpty(requestCreateRoute(cloudFoundryClient, domainId, host, manifest.getRoutePath(), spaceId)
-                    .map(ResourceUtils::getId)));
+                    .map(ResourceUtils::getId)), "route", domainId, host, manifest.getRoutePath()));
     }
 
-    private static Flux<String> getPushRouteIdFromRoute(CloudFoundryClient cloudFoundryClient, List<DomainSummary> availableDomains, ApplicationManifest manifest, RandomWords randomWords,
-                                                        String spaceId) {
+    private static Flux<String> getPushRouteIdFromRoute(CloudFoundryClient cloudFoundryClient, List<DomainSummary> availableDomains, PushLookupCache lookupCache,
+                                                        ApplicationManifest manifest, RandomWords randomWords, String spaceId) {
         return Flux.fromIterable(manifest.getRoutes())
             .flatMap(route -> RouteUtils.decomposeRoute(availableDomains, route.getRoute(), manifest.getRoutePath()))
             .flatMap(decomposedRoute -> {
                 String domainId = getDomainId(availableDomains, decomposedRoute.getDomain());
                 if (isTcpDomain(availableDomains, domainId)) {
-                    return getRouteIdForTcpRoute(cloudFoundryClient, decomposedRoute, domainId, manifest, spaceId);
+                    return getRouteIdForTcpRoute(cloudFoundryClient, decomposedRoute, domainId, lookupCache, manifest, spaceId);
                 } else {
-                    return getRouteIdForHttpRoute(cloudFoundryClient, decomposedRoute, domainId, manifest, randomWords, spaceId);
+                    return getRouteIdForHttpRoute(cloudFoundryClient, decomposedRoute, domainId, lookupCache, manifest, randomWords, spaceId);
                 }
             });
     }
@@ -1007,23 +1151,24 @@ public final class DefaultApplications implements Applications {
             .map(ResourceUtils::getId);
     }
 
-    private static Mono<String> getRouteIdForHttpRoute(CloudFoundryClient cloudFoundryClient, DecomposedRoute decomposedRoute, String domainId, ApplicationManifest manifest, RandomWords randomWords,
-                                                       String spaceId) {
+    private static Mono<String> getRouteIdForHttpRoute(CloudFoundryClient cloudFoundryClient, DecomposedRoute decomposedRoute, String domainId, PushLookupCache lookupCache,
+                                                       ApplicationManifest manifest, RandomWords randomWords, String spaceId) {
         String derivedHost = deriveHostname(decomposedRoute.getHost(), manifest, randomWords);
-        return getRouteId(cloudFoundryClient, domainId, derivedHost, decomposedRoute.getPath())
+        return lookupCache.get(() -> getRouteId(cloudFoundryClient, domainId, derivedHost, decomposedRoute.getPath())
             .switchIfEmpty(requestCreateRoute(cloudFoundryClient, domainId, derivedHost, decomposedRoute.getPath(), spaceId)
-                .map(ResourceUtils::getId));
+                .map(ResourceUtils::getId)), "route", domainId, derivedHost, decomposedRoute.getPath());
     }
 
-    private static Mono<String> getRouteIdForTcpRoute(CloudFoundryClient cloudFoundryClient, DecomposedRoute decomposedRoute, String domainId, ApplicationManifest manifest, String spaceId) {
+    private static Mono<String> getRouteIdForTcpRoute(CloudFoundryClient cloudFoundryClient, DecomposedRoute decomposedRoute, String domainId, PushLookupCache lookupCache,
+                                                      ApplicationManifest manifest, String spaceId) {
         if (Optional.ofNullable(manifest.getRandomRoute()).orElse(false)) {
             return requestCreateTcpRoute(cloudFoundryClient, domainId, spaceId)
                 .map(ResourceUtils::getId);
         }
 
-        return getTcpRouteId(cloudFoundryClient, domainId, decomposedRoute.getPort())
+        return lookupCache.get(() -> getTcpRouteId(cloudFoundryClient, domainId, decomposedRoute.getPort())
             .switchIfEmpty(requestCreateTcpRoute(cloudFoundryClient, domainId, decomposedRoute.getPort(), spaceId)
-                .map(ResourceUtils::getId));
+                .map(ResourceUtils::getId)), "tcp-route", domainId, decomposedRoute.getPort());
     }
 
     private static Mono<List<org.cloudfoundry.client.v2.routes.Route>> getRoutes(CloudFoundryClient cloudFoundryClient, String applicationId) {
@@ -1084,6 +1229,14 @@ public final class DefaultApplications implements Applications {
         return Optional.ofNullable(dockerCredentials).map(DockerCredentials::getUsername).orElse(null);
     }
 
+    private static Mono<DopplerClient> getWatchedDopplerClient(Mono<DopplerClient> dopplerClient, Boolean watchLogs) {
+        return watchLogs ? dopplerClient : Mono.empty();
+    }
+
+    private static Predicate<Deployment> isDeployed() {
+        return deployment -> deployment.getStatus() != null && DeploymentStatusReason.DEPLOYED == deployment.getStatus().getReason();
+    }
+
     private static boolean isIdentical(String s, String t) {
         return Objects.equals(s, t);
     }
@@ -1092,6 +1245,10 @@ public final class DefaultApplications implements Applications {
         return state -> "RUNNING".equals(state) || "FAILED".equals(state);
     }
 
+    private static Predicate<LogMessage> isInstanceTransition() {
+        return message -> "CELL".equals(message.getSourceType()) && INSTANCE_TRANSITION.matcher(message.getMessage()).find();
+    }
+
     private static Predicate<AbstractApplicationResource> isNotIn(String expectedState) {
         return resource -> isNotIn(resource, expectedState);
     }
@@ -1117,6 +1274,10 @@ public final class DefaultApplications implements Applications {
         return state -> "STAGED".equals(state) || "FAILED".equals(state);
     }
 
+    private static Predicate<LogMessage> isStagingTransition() {
+        return message -> "STG".equals(message.getSourceType()) && STAGING_TRANSITION.matcher(message.getMessage()).find();
+    }
+
     private static boolean isTcpDomain(List<DomainSummary> availableDomains, String domainId) {
         List<String> tcpDomainIds = availableDomains.stream()
             .filter(domain -> "tcp".equals(domain.getType()))
@@ -1139,8 +1300,26 @@ public final class DefaultApplications implements Applications {
             .cast(org.cloudfoundry.client.v3.tasks.Task.class);
     }
 
-    private static Mono<Void> prepareDomainsAndRoutes(CloudFoundryClient cloudFoundryClient, String applicationId, List<DomainSummary> availableDomains, ApplicationManifest manifest,
-                                                      List<RouteResource> existingRoutes, RandomWords randomWords, String spaceId) {
+    private static Mono<String> prepareApplication(CloudFoundryClient cloudFoundryClient, List<DomainSummary> availableDomains, PushLookupCache lookupCache,
+                                                   ApplicationManifest manifest, RandomWords randomWords, String spaceId) {
+        if (manifest.getPath() == null && manifest.getDocker().getImage().isEmpty()) {
+            return Mono.error(new IllegalStateException("One of application or dockerImage must be supplied"));
+        }
+
+        return getOptionalStackId(cloudFoundryClient, lookupCache, manifest.getStack())
+            .flatMap(stackId -> getApplicationId(cloudFoundryClient, manifest, spaceId, stackId.orElse(null)))
+            .delayUntil(applicationId -> getApplicationRoutes(cloudFoundryClient, applicationId)
+                .flatMap(existingRoutes -> prepareDomainsAndRoutes(cloudFoundryClient, applicationId, availableDomains, lookupCache, manifest, existingRoutes, randomWords,
+                    spaceId)))
+            .delayUntil(applicationId -> Mono.when(
+                bindServices(cloudFoundryClient, applicationId, lookupCache, manifest, spaceId),
+                manifest.getPath() != null ? updateBuildpacks(cloudFoundryClient, applicationId, manifest) : Mono.empty()
+            ));
+    }
+
+    private static Mono<Void> prepareDomainsAndRoutes(CloudFoundryClient cloudFoundryClient, String applicationId, List<DomainSummary> availableDomains,
+                                                      PushLookupCache lookupCache, ApplicationManifest manifest, List<RouteResource> existingRoutes, RandomWords randomWords,
+                                                      String spaceId) {
         if (Optional.ofNullable(manifest.getNoRoute()).orElse(false)) {
             return Flux.fromIterable(existingRoutes)
                 .map(ResourceUtils::getId)
@@ -1151,13 +1330,14 @@ public final class DefaultApplications implements Applications {
         if (manifest.getRoutes() == null) {
             if (manifest.getDomains() == null) {
                 if (existingRoutes.isEmpty()) {
-                    return associateDefaultDomain(cloudFoundryClient, applicationId, availableDomains, manifest, randomWords, spaceId)
+                    return associateDefaultDomain(cloudFoundryClient, applicationId, availableDomains, lookupCache, manifest, randomWords, spaceId)
                         .then();
                 }
                 return Mono.empty(); // A route already exists for the application, do nothing
             }
             return Flux.fromIterable(manifest.getDomains())
-                .flatMap(domain -> getPushRouteIdFromDomain(cloudFoundryClient, availableDomains, getDomainId(availableDomains, domain), manifest, randomWords, spaceId)
+                .flatMap(domain -> getPushRouteIdFromDomain(cloudFoundryClient, availableDomains, getDomainId(availableDomains, domain), lookupCache, manifest, randomWords,
+                    spaceId)
                     .flatMap(routeId -> requestAssociateRoute(cloudFoundryClient, applicationId, routeId)))
                 .then();
         }
@@ -1166,49 +1346,12 @@ public final class DefaultApplications implements Applications {
             .map(ResourceUtils::getId)
             .collect(Collectors.toList());
 
-        return getPushRouteIdFromRoute(cloudFoundryClient, availableDomains, manifest, randomWords, spaceId)
+        return getPushRouteIdFromRoute(cloudFoundryClient, availableDomains, lookupCache, manifest, randomWords, spaceId)
             .filter(routeId -> !existingRouteIds.contains(routeId))
             .flatMapSequential(routeId -> requestAssociateRoute(cloudFoundryClient, applicationId, routeId), 1)
             .then();
     }
 
-    private static Flux<Void> pushApplication(CloudFoundryClient cloudFoundryClient, List<DomainSummary> availableDomains, ApplicationManifest manifest, RandomWords randomWords,
-                                              PushApplicationManifestRequest request, String spaceId) {
-
-        return getOptionalStackId(cloudFoundryClient, manifest.getStack())
-            .flatMapMany(stackId -> getApplicationId(cloudFoundryClient, manifest, spaceId, stackId.orElse(null)))
-            .flatMap(applicationId -> Mono.zip(
-                Mono.just(applicationId),
-                getApplicationRoutes(cloudFoundryClient, applicationId),
-                ResourceMatchingUtils.getMatchedResources(cloudFoundryClient, manifest.getPath())
-            ))
-            .flatMap(function((applicationId, existingRoutes, matchedResources) -> prepareDomainsAndRoutes(cloudFoundryClient, applicationId, availableDomains, manifest, existingRoutes,
-                randomWords, spaceId)
-                .thenReturn(Tuples.of(applicationId, matchedResources))))
-            .flatMap(function((applicationId, matchedResources) -> Mono.when(
-                bindServices(cloudFoundryClient, applicationId, manifest, spaceId),
-                updateBuildpacks(cloudFoundryClient, applicationId, manifest),
-                uploadApplicationAndWait(cloudFoundryClient, applicationId, manifest.getPath(), matchedResources, request.getStagingTimeout())
-            )
-                .thenReturn(applicationId)))
-            .flatMap(applicationId -> stopAndStartApplication(cloudFoundryClient, applicationId, manifest.getName(), request));
-    }
-
-    private static Flux<Void> pushDocker(CloudFoundryClient cloudFoundryClient, List<DomainSummary> availableDomains, ApplicationManifest manifest, RandomWords randomWords,
-                                         PushApplicationManifestRequest request, String spaceId) {
-
-        return getOptionalStackId(cloudFoundryClient, manifest.getStack())
-            .flatMapMany(stackId -> getApplicationId(cloudFoundryClient, manifest, spaceId, stackId.orElse(null)))
-            .flatMap(applicationId -> Mono.zip(
-                Mono.just(applicationId),
-                getApplicationRoutes(cloudFoundryClient, applicationId)
-            ))
-            .flatMap(function((applicationId, existingRoutes) -> prepareDomainsAndRoutes(cloudFoundryClient, applicationId, availableDomains, manifest, existingRoutes, randomWords, spaceId)
-                .thenReturn(applicationId)))
-            .delayUntil(applicationId -> bindServices(cloudFoundryClient, applicationId, manifest, spaceId))
-            .flatMap(applicationId -> stopAndStartApplication(cloudFoundryClient, applicationId, manifest.getName(), request));
-    }
-
     private static Map<String, Object> removeFromEnvironment(Map<String, Object> environment, String variableName) {
         Map<String, Object> modified = new HashMap<>(environment);
         modified.remove(variableName);
@@ -1272,7 +1415,7 @@ public final class DefaultApplications implements Applications {
 
     private static Flux<ApplicationResource> requestApplicationsV3(CloudFoundryClient cloudFoundryClient, String application, String spaceId) {
         return PaginationUtils
-            .requestClientV3Resources(page -> cloudFoundryClient.applicationsV3()
+            .requestClientV3ResourcesLazily(page -> cloudFoundryClient.applicationsV3()
                 .list(ListApplicationsRequest.builder()
                     .name(application)
                     .spaceId(spaceId)
@@ -1336,6 +1479,45 @@ public final class DefaultApplications implements Applications {
             .create(builder.build());
     }
 
+    private static Mono<CreateBuildResponse> requestCreateBuild(CloudFoundryClient cloudFoundryClient, String packageId) {
+        return cloudFoundryClient.builds()
+            .create(CreateBuildRequest.builder()
+                .getPackage(Relationship.builder()
+                    .id(packageId)
+                    .build())
+                .build());
+    }
+
+    private static Mono<CreateDeploymentResponse> requestCreateDeployment(CloudFoundryClient cloudFoundryClient, String applicationId, String dropletId) {
+        return cloudFoundryClient.deploymentsV3()
+            .create(CreateDeploymentRequest.builder()
+                .droplet(Relationship.builder()
+                    .id(dropletId)
+                    .build())
+                .relationships(DeploymentRelationships.builder()
+                    .app(ToOneRelationship.builder()
+                        .data(Relationship.builder()
+                            .id(applicationId)
+                            .build())
+                        .build())
+                    .build())
+                .build());
+    }
+
+    private static Mono<CreatePackageResponse> requestCreatePackage(CloudFoundryClient cloudFoundryClient, String applicationId) {
+        return cloudFoundryClient.packages()
+            .create(CreatePackageRequest.builder()
+                .relationships(PackageRelationships.builder()
+                    .application(ToOneRelationship.builder()
+                        .data(Relationship.builder()
+                            .id(applicationId)
+                            .build())
+                        .build())
+                    .build())
+                .type(PackageType.BITS)
+                .build());
+    }
+
     private static Mono<CreateRouteResponse> requestCreateRoute(CloudFoundryClient cloudFoundryClient, String domainId, String host, String routePath, String spaceId) {
         return cloudFoundryClient.routes()
             .create(org.cloudfoundry.client.v2.routes.CreateRouteRequest.builder()
@@ -1478,6 +1660,7 @@ public final class DefaultApplications implements Applications {
             .flatMapMany(client -> client
                 .recentLogs(RecentLogsRequest.builder()
                     .applicationId(applicationId)
+                    .eventType(EventType.LOG_MESSAGE)
                     .build()));
     }
 
@@ -1486,6 +1669,7 @@ public final class DefaultApplications implements Applications {
             .flatMapMany(client -> client
                 .stream(StreamRequest.builder()
                     .applicationId(applicationId)
+                    .eventType(EventType.LOG_MESSAGE)
                     .build()));
     }
 
@@ -1690,15 +1874,25 @@ public final class DefaultApplications implements Applications {
             .upload(request);
     }
 
-    private static Mono<Void> restageApplication(CloudFoundryClient cloudFoundryClient, String application, String applicationId, Duration stagingTimeout, Duration startupTimeout) {
+    private static Mono<UploadPackageResponse> requestUploadPackage(CloudFoundryClient cloudFoundryClient, String packageId, Path bits) {
+        return cloudFoundryClient.packages()
+            .upload(UploadPackageRequest.builder()
+                .bits(bits)
+                .packageId(packageId)
+                .build());
+    }
+
+    private static Mono<Void> restageApplication(CloudFoundryClient cloudFoundryClient, Mono<DopplerClient> dopplerClient, String application, String applicationId,
+                                                 Duration stagingTimeout, Duration startupTimeout) {
         return requestRestageApplication(cloudFoundryClient, applicationId)
-            .flatMap(response -> waitForStaging(cloudFoundryClient, application, applicationId, stagingTimeout))
-            .then(waitForRunning(cloudFoundryClient, application, applicationId, startupTimeout));
+            .flatMap(response -> waitForStaging(cloudFoundryClient, dopplerClient, application, applicationId, stagingTimeout))
+            .then(waitForRunning(cloudFoundryClient, dopplerClient, application, applicationId, startupTimeout));
     }
 
-    private static Mono<Void> restartApplication(CloudFoundryClient cloudFoundryClient, String application, String applicationId, Duration stagingTimeout, Duration startupTimeout) {
+    private static Mono<Void> restartApplication(CloudFoundryClient cloudFoundryClient, Mono<DopplerClient> dopplerClient, String application, String applicationId,
+                                                 Duration stagingTimeout, Duration startupTimeout) {
         return stopApplication(cloudFoundryClient, applicationId)
-            .then(startApplicationAndWait(cloudFoundryClient, application, applicationId, stagingTimeout, startupTimeout));
+            .then(startApplicationAndWait(cloudFoundryClient, dopplerClient, application, applicationId, stagingTimeout, startupTimeout));
     }
 
     private static boolean shouldStartApplication(PushApplicationManifestRequest request, AbstractApplicationResource resource) {
@@ -1713,16 +1907,27 @@ public final class DefaultApplications implements Applications {
         return resource -> enabled.equals(ResourceUtils.getEntity(resource).getEnableSsh());
     }
 
-    private static Mono<Void> startApplicationAndWait(CloudFoundryClient cloudFoundryClient, String application, String applicationId, Duration stagingTimeout, Duration startupTimeout) {
+    private static Mono<String> stagePackage(CloudFoundryClient cloudFoundryClient, Mono<CompletionPoller> completionPoller, String application, String applicationId, Path bits,
+                                             Duration stagingTimeout) {
+        return requestCreatePackage(cloudFoundryClient, applicationId)
+            .flatMap(response -> requestUploadPackage(cloudFoundryClient, response.getId(), bits))
+            .flatMap(response -> waitForPackage(completionPoller, application, response.getId(), stagingTimeout))
+            .flatMap(packageId -> requestCreateBuild(cloudFoundryClient, packageId))
+            .flatMap(response -> waitForBuild(completionPoller, application, response.getId(), stagingTimeout));
+    }
+
+    private static Mono<Void> startApplicationAndWait(CloudFoundryClient cloudFoundryClient, Mono<DopplerClient> dopplerClient, String application, String applicationId,
+                                                      Duration stagingTimeout, Duration startupTimeout) {
         return requestUpdateApplicationState(cloudFoundryClient, applicationId, STARTED_STATE)
-            .flatMap(response -> waitForStaging(cloudFoundryClient, application, applicationId, stagingTimeout))
-            .then(waitForRunning(cloudFoundryClient, application, applicationId, startupTimeout));
+            .flatMap(response -> waitForStaging(cloudFoundryClient, dopplerClient, application, applicationId, stagingTimeout))
+            .then(waitForRunning(cloudFoundryClient, dopplerClient, application, applicationId, startupTimeout));
     }
 
-    private static Mono<Void> stopAndStartApplication(CloudFoundryClient cloudFoundryClient, String applicationId, String name, PushApplicationManifestRequest request) {
+    private static Mono<Void> stopAndStartApplication(CloudFoundryClient cloudFoundryClient, Mono<DopplerClient> dopplerClient, String applicationId, String name,
+                                                      PushApplicationManifestRequest request) {
         return stopApplication(cloudFoundryClient, applicationId)
             .filter(resource -> shouldStartApplication(request, resource))
-            .flatMap(resource -> startApplicationAndWait(cloudFoundryClient, name, applicationId, request.getStagingTimeout(), request.getStartupTimeout()));
+            .flatMap(resource -> startApplicationAndWait(cloudFoundryClient, dopplerClient, name, applicationId, request.getStagingTimeout(), request.getStartupTimeout()));
     }
 
     private static Mono<AbstractApplicationResource> stopApplication(CloudFoundryClient cloudFoundryClient, String applicationId) {
@@ -1945,18 +2150,23 @@ public final class DefaultApplications implements Applications {
             .then();
     }
 
-    private static Mono<Void> uploadApplicationAndWait(CloudFoundryClient cloudFoundryClient, String applicationId, Path application, List<ResourceMatchingUtils.ArtifactMetadata> matchedResources,
-                                                       Duration stagingTimeout) {
+    private static Mono<Void> uploadApplication(CloudFoundryClient cloudFoundryClient, Mono<CompletionPoller> completionPoller, String applicationId, ApplicationManifest manifest,
+                                                Tuple2<Path, List<ResourceMatchingUtils.ArtifactMetadata>> compressedApplication, PushApplicationManifestRequest request) {
+        return Mono.usingWhen(
+            Mono.just(compressedApplication),
+            function((application, matchedResources) -> uploadApplicationAndWait(cloudFoundryClient, completionPoller, applicationId, application, matchedResources,
+                request.getStagingTimeout())),
+            function((application, matchedResources) -> deleteCompressedApplication(application, manifest.getPath())));
+    }
+
+    private static Mono<Void> uploadApplicationAndWait(CloudFoundryClient cloudFoundryClient, Mono<CompletionPoller> completionPoller, String applicationId, Path application,
+                                                       List<ResourceMatchingUtils.ArtifactMetadata> matchedResources, Duration stagingTimeout) {
         return Mono
             .defer(() -> {
                 if (matchedResources.isEmpty()) {
                     return requestUploadApplication(cloudFoundryClient, applicationId, application, matchedResources);
                 } else {
-                    List<String> paths = matchedResources.stream()
-                        .map(ResourceMatchingUtils.ArtifactMetadata::getPath)
-                        .collect(Collectors.toList());
-
-                    return FileUtils.compress(application, p -> !paths.contains(p))
+                    return FileUtils.compress(application, ResourceMatchingUtils.isUnmatched(matchedResources))
                         .flatMap(filteredApplication -> requestUploadApplication(cloudFoundryClient, applicationId, filteredApplication, matchedResources)
                             .doOnTerminate(() -> {
                                 try {
@@ -1967,10 +2177,43 @@ public final class DefaultApplications implements Applications {
                             }));
                 }
             })
-            .flatMap(job -> JobUtils.waitForCompletion(cloudFoundryClient, stagingTimeout, job));
+            .flatMap(job -> waitForJob(completionPoller, stagingTimeout, ResourceUtils.getEntity(job)));
+    }
+
+    private static Mono<String> waitForBuild(Mono<CompletionPoller> completionPoller, String application, String buildId, Duration stagingTimeout) {
+        return completionPoller
+            .flatMap(poller -> poller.waitForBuild(stagingTimeout, buildId))
+            .filter(build -> BuildState.STAGED == build.getState())
+            .map(build -> build.getDroplet().getId())
+            .switchIfEmpty(ExceptionUtils.illegalState("Application %s failed during staging", application))
+            .onErrorResume(DelayTimeoutException.class, t -> ExceptionUtils.illegalState("Application %s timed out during staging", application));
+    }
+
+    private static Mono<Void> waitForDeployment(Mono<CompletionPoller> completionPoller, String application, String deploymentId, Duration completionTimeout) {
+        return completionPoller
+            .flatMap(poller -> poller.waitForDeployment(completionTimeout, deploymentId))
+            .filter(isDeployed())
+            .switchIfEmpty(ExceptionUtils.illegalState("Application %s failed during deployment", application))
+            .onErrorResume(DelayTimeoutException.class, t -> ExceptionUtils.illegalState("Application %s timed out during deployment", application))
+            .then();
+    }
+
+    private static Mono<Void> waitForJob(Mono<CompletionPoller> completionPoller, Duration completionTimeout, JobEntity job) {
+        return completionPoller
+            .flatMap(poller -> poller.waitForJob(completionTimeout, job));
+    }
+
+    private static Mono<String> waitForPackage(Mono<CompletionPoller> completionPoller, String application, String packageId, Duration stagingTimeout) {
+        return completionPoller
+            .flatMap(poller -> poller.waitForPackage(stagingTimeout, packageId))
+            .filter(p -> PackageState.READY == p.getState())
+            .map(GetPackageResponse::getId)
+            .switchIfEmpty(ExceptionUtils.illegalState("Application %s failed during upload", application))
+            .onErrorResume(DelayTimeoutException.class, t -> ExceptionUtils.illegalState("Application %s timed out during upload", application));
     }
 
-    private static Mono<Void> waitForRunning(CloudFoundryClient cloudFoundryClient, String application, String applicationId, Duration startupTimeout) {
+    private static Mono<Void> waitForRunning(CloudFoundryClient cloudFoundryClient, Mono<DopplerClient> dopplerClient, String application, String applicationId,
+                                             Duration startupTimeout) {
         Duration timeout = Optional.ofNullable(startupTimeout).orElse(Duration.ofMinutes(5));
 
         return requestApplicationInstances(cloudFoundryClient, applicationId)
@@ -1978,20 +2221,21 @@ public final class DefaultApplications implements Applications {
             .map(ApplicationInstanceInfo::getState)
             .reduce("UNKNOWN", collectStates())
             .filter(isInstanceComplete())
-            .repeatWhenEmpty(exponentialBackOff(Duration.ofSeconds(1), Duration.ofSeconds(15), timeout))
+            .repeatWhenEmpty(exponentialBackOff(Duration.ofSeconds(1), Duration.ofSeconds(15), timeout, getLogEvents(dopplerClient, applicationId, isInstanceTransition())))
             .filter(isRunning())
             .switchIfEmpty(ExceptionUtils.illegalState("Application %s failed during start", application))
             .onErrorResume(DelayTimeoutException.class, t -> ExceptionUtils.illegalState("Application %s timed out during start", application))
             .then();
     }
 
-    private static Mono<Void> waitForStaging(CloudFoundryClient cloudFoundryClient, String application, String applicationId, Duration stagingTimeout) {
+    private static Mono<Void> waitForStaging(CloudFoundryClient cloudFoundryClient, Mono<DopplerClient> dopplerClient, String application, String applicationId,
+                                             Duration stagingTimeout) {
         Duration timeout = Optional.ofNullable(stagingTimeout).orElse(Duration.ofMinutes(15));
 
         return requestGetApplication(cloudFoundryClient, applicationId)
             .map(response -> ResourceUtils.getEntity(response).getPackageState())
             .filter(isStagingComplete())
-            .repeatWhenEmpty(exponentialBackOff(Duration.ofSeconds(1), Duration.ofSeconds(15), timeout))
+            .repeatWhenEmpty(exponentialBackOff(Duration.ofSeconds(1), Duration.ofSeconds(15), timeout, getLogEvents(dopplerClient, applicationId, isStagingTransition())))
             .filter(isStaged())
             .switchIfEmpty(ExceptionUtils.illegalState("Application %s failed during staging", application))
             .onErrorResume(DelayTimeoutException.class, t -> ExceptionUtils.illegalState("Application %s timed out during staging", application))
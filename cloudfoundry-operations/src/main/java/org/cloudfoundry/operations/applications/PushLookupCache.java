@@ -0,0 +1,50 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.operations.applications;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * The results of lookups shared by all of the applications in a single push, so that a stack, domain, route or service instance used by many applications is only resolved, or created, once
+ */
+final class PushLookupCache {
+
+    private static final Duration FOREVER = Duration.ofMillis(Long.MAX_VALUE);
+
+    private final Map<List<?>, Mono<?>> lookups = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the result of a lookup, performing it only the first time it is requested.  A lookup that fails is not cached, and is performed again the next time it is requested.
+     *
+     * @param lookup the lookup to perform
+     * @param key    the elements that identify the lookup
+     * @param <T>    the type of the result
+     * @return the result of the lookup
+     */
+    @SuppressWarnings("unchecked")
+    <T> Mono<T> get(Supplier<Mono<T>> lookup, Object... key) {
+        return (Mono<T>) this.lookups.computeIfAbsent(Arrays.asList(key), k -> lookup.get().cache(value -> FOREVER, error -> Duration.ZERO, () -> FOREVER));
+    }
+
+}
@@ -78,4 +78,12 @@ abstract class _CopySourceApplicationRequest {
     @Nullable
     abstract String getTargetSpace();
 
+    /**
+     * Whether to watch the application's logs while waiting for staging and startup
+     */
+    @Value.Default
+    Boolean getWatchLogs() {
+        return true;
+    }
+
 }
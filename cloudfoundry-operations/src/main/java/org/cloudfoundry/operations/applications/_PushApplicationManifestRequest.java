@@ -17,6 +17,7 @@
 package org.cloudfoundry.operations.applications;
 
 import org.cloudfoundry.Nullable;
+import org.cloudfoundry.util.ResourceMatchingUtils;
 import org.immutables.value.Value;
 
 import java.time.Duration;
@@ -37,6 +38,18 @@ abstract class _PushApplicationManifestRequest {
         if (getDockerUsername() != null && getDockerPassword() == null) {
             throw new IllegalStateException("Docker username requires password");
         }
+
+        if (getParallelism() < 1) {
+            throw new IllegalStateException("Parallelism must be positive");
+        }
+
+        if (getResourceMatchingBatchSize() < 1) {
+            throw new IllegalStateException("Resource matching batch size must be positive");
+        }
+
+        if (getResourceMatchingConcurrency() < 1) {
+            throw new IllegalStateException("Resource matching concurrency must be positive");
+        }
     }
 
     /**
@@ -62,6 +75,31 @@ abstract class _PushApplicationManifestRequest {
     @Nullable
     abstract Boolean getNoStart();
 
+    /**
+     * The maximum number of applications pushed concurrently.  Each application being uploaded holds a compressed copy of its bits on disk until its upload completes.  Defaults to
+     * {@code 4}.
+     */
+    @Value.Default
+    Integer getParallelism() {
+        return 4;
+    }
+
+    /**
+     * The number of resources sent in each resource matching request
+     */
+    @Value.Default
+    Integer getResourceMatchingBatchSize() {
+        return ResourceMatchingUtils.DEFAULT_MATCH_BATCH_SIZE;
+    }
+
+    /**
+     * The maximum number of resource matching requests in flight at once for each application
+     */
+    @Value.Default
+    Integer getResourceMatchingConcurrency() {
+        return ResourceMatchingUtils.DEFAULT_MATCH_CONCURRENCY;
+    }
+
     /**
      * How long to wait for staging
      */
@@ -78,4 +116,12 @@ abstract class _PushApplicationManifestRequest {
         return Duration.ofMinutes(5);
     }
 
+    /**
+     * Whether to watch the application's logs while waiting for staging and startup
+     */
+    @Value.Default
+    Boolean getWatchLogs() {
+        return true;
+    }
+
 }
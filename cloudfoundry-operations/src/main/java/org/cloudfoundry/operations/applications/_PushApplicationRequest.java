@@ -204,4 +204,12 @@ abstract class _PushApplicationRequest {
      */
     @Nullable
     abstract Integer getTimeout();
+
+    /**
+     * Whether to watch the application's logs while waiting for staging and startup
+     */
+    @Value.Default
+    Boolean getWatchLogs() {
+        return true;
+    }
 }
@@ -47,4 +47,12 @@ abstract class _RestartApplicationRequest {
         return Duration.ofMinutes(5);
     }
 
+    /**
+     * Whether to watch the application's logs while waiting for staging and startup
+     */
+    @Value.Default
+    Boolean getWatchLogs() {
+        return true;
+    }
+
 }
@@ -66,4 +66,12 @@ abstract class _ScaleApplicationRequest {
         return Duration.ofMinutes(5);
     }
 
+    /**
+     * Whether to watch the application's logs while waiting for staging and startup
+     */
+    @Value.Default
+    Boolean getWatchLogs() {
+        return true;
+    }
+
 }
@@ -38,7 +38,6 @@ import org.cloudfoundry.client.v2.serviceinstances.AbstractServiceInstanceResour
 import org.cloudfoundry.client.v2.serviceinstances.BaseServiceInstanceEntity;
 import org.cloudfoundry.client.v2.serviceinstances.CreateServiceInstanceResponse;
 import org.cloudfoundry.client.v2.serviceinstances.DeleteServiceInstanceResponse;
-import org.cloudfoundry.client.v2.serviceinstances.GetServiceInstanceResponse;
 import org.cloudfoundry.client.v2.serviceinstances.LastOperation;
 import org.cloudfoundry.client.v2.serviceinstances.ListServiceInstanceServiceKeysRequest;
 import org.cloudfoundry.client.v2.serviceinstances.UnionServiceInstanceEntity;
@@ -73,9 +72,8 @@ import org.cloudfoundry.client.v2.userprovidedserviceinstances.DeleteUserProvide
 import org.cloudfoundry.client.v2.userprovidedserviceinstances.RemoveUserProvidedServiceInstanceRouteRequest;
 import org.cloudfoundry.client.v2.userprovidedserviceinstances.UpdateUserProvidedServiceInstanceResponse;
 import org.cloudfoundry.operations.util.OperationsLogging;
+import org.cloudfoundry.util.CompletionPoller;
 import org.cloudfoundry.util.ExceptionUtils;
-import org.cloudfoundry.util.JobUtils;
-import org.cloudfoundry.util.LastOperationUtils;
 import org.cloudfoundry.util.PaginationUtils;
 import org.cloudfoundry.util.ResourceUtils;
 import reactor.core.Exceptions;
@@ -107,12 +105,19 @@ public final class DefaultServices implements Services {
 
     private final Mono<CloudFoundryClient> cloudFoundryClient;
 
+    private final Mono<CompletionPoller> completionPoller;
+
     private final Mono<String> organizationId;
 
     private final Mono<String> spaceId;
 
     public DefaultServices(Mono<CloudFoundryClient> cloudFoundryClient, Mono<String> organizationId, Mono<String> spaceId) {
+        this(cloudFoundryClient, cloudFoundryClient.map(CompletionPoller::new).cache(), organizationId, spaceId);
+    }
+
+    public DefaultServices(Mono<CloudFoundryClient> cloudFoundryClient, Mono<CompletionPoller> completionPoller, Mono<String> organizationId, Mono<String> spaceId) {
         this.cloudFoundryClient = cloudFoundryClient;
+        this.completionPoller = completionPoller;
         this.spaceId = spaceId;
         this.organizationId = organizationId;
     }
@@ -167,7 +172,7 @@ public final class DefaultServices implements Services {
                 getServicePlanIdByName(cloudFoundryClient, serviceId, request.getPlanName())
             )))
             .flatMap(function((cloudFoundryClient, spaceId, planId) -> Mono.zip(
-                Mono.just(cloudFoundryClient),
+                this.completionPoller,
                 Mono.just(request.getCompletionTimeout()),
                 createServiceInstance(cloudFoundryClient, spaceId, planId, request)
             )))
@@ -207,6 +212,7 @@ public final class DefaultServices implements Services {
             .zip(this.cloudFoundryClient, this.spaceId)
             .flatMap(function((cloudFoundryClient, spaceId) -> Mono.zip(
                 Mono.just(cloudFoundryClient),
+                this.completionPoller,
                 Mono.just(request.getCompletionTimeout()),
                 getSpaceServiceInstance(cloudFoundryClient, request.getName(), spaceId)
             )))
@@ -342,6 +348,7 @@ public final class DefaultServices implements Services {
             )))
             .flatMap(function((cloudFoundryClient, applicationId, serviceInstanceId) -> Mono.zip(
                 Mono.just(cloudFoundryClient),
+                this.completionPoller,
                 Mono.just(request.getCompletionTimeout()),
                 getServiceBindingId(cloudFoundryClient, applicationId, serviceInstanceId, request.getServiceInstanceName())
             )))
@@ -386,7 +393,7 @@ public final class DefaultServices implements Services {
                 getOptionalValidatedServicePlanId(cloudFoundryClient, request.getPlanName(), serviceInstance, organizationId)
             )))
             .flatMap(function((cloudFoundryClient, serviceInstanceId, servicePlanId) -> Mono.zip(
-                Mono.just(cloudFoundryClient),
+                this.completionPoller,
                 Mono.just(request.getCompletionTimeout()),
                 requestUpdateServiceInstance(cloudFoundryClient, request, serviceInstanceId, servicePlanId.orElse(null)))))
             .flatMap(function(DefaultServices::waitForInstanceAction))
@@ -438,12 +445,13 @@ public final class DefaultServices implements Services {
             .cast(AbstractServiceInstanceResource.class);
     }
 
-    private static Mono<Void> deleteServiceBinding(CloudFoundryClient cloudFoundryClient, Duration completionTimeout, String serviceBindingId) {
+    private static Mono<Void> deleteServiceBinding(CloudFoundryClient cloudFoundryClient, CompletionPoller completionPoller, Duration completionTimeout, String serviceBindingId) {
         return requestDeleteServiceBinding(cloudFoundryClient, serviceBindingId)
-            .flatMap(job -> JobUtils.waitForCompletion(cloudFoundryClient, completionTimeout, job));
+            .flatMap(job -> completionPoller.waitForJob(completionTimeout, ResourceUtils.getEntity(job)));
     }
 
-    private static Mono<Void> deleteServiceInstance(CloudFoundryClient cloudFoundryClient, Duration completionTimeout, UnionServiceInstanceResource serviceInstance) {
+    private static Mono<Void> deleteServiceInstance(CloudFoundryClient cloudFoundryClient, CompletionPoller completionPoller, Duration completionTimeout,
+                                                    UnionServiceInstanceResource serviceInstance) {
         if (isUserProvidedService(serviceInstance)) {
             return requestDeleteUserProvidedServiceInstance(cloudFoundryClient, ResourceUtils.getId(serviceInstance));
         } else {
@@ -451,10 +459,9 @@ public final class DefaultServices implements Services {
                 .flatMap(response -> {
                     Object entity = response.getEntity();
                     if (entity instanceof JobEntity) {
-                        return JobUtils.waitForCompletion(cloudFoundryClient, completionTimeout, (JobEntity) response.getEntity());
+                        return completionPoller.waitForJob(completionTimeout, (JobEntity) response.getEntity());
                     } else {
-                        return LastOperationUtils.waitForCompletion(completionTimeout, () -> requestGetServiceInstance(cloudFoundryClient, ResourceUtils.getId(serviceInstance))
-                            .map(r -> ResourceUtils.getEntity(r).getLastOperation()));
+                        return completionPoller.waitForLastOperation(completionTimeout, ResourceUtils.getId(serviceInstance));
                     }
                 });
         }
@@ -756,13 +763,6 @@ public final class DefaultServices implements Services {
                 .build());
     }
 
-    private static Mono<GetServiceInstanceResponse> requestGetServiceInstance(CloudFoundryClient cloudFoundryClient, String serviceInstanceId) {
-        return cloudFoundryClient.serviceInstances()
-            .get(org.cloudfoundry.client.v2.serviceinstances.GetServiceInstanceRequest.builder()
-                .serviceInstanceId(serviceInstanceId)
-                .build());
-    }
-
     private static Mono<GetServicePlanResponse> requestGetServicePlan(CloudFoundryClient cloudFoundryClient, String servicePlanId) {
         return cloudFoundryClient.servicePlans()
             .get(GetServicePlanRequest.builder()
@@ -1049,10 +1049,8 @@ public final class DefaultServices implements Services {
                 .build());
     }
 
-    private static Mono<Void> waitForInstanceAction(CloudFoundryClient cloudFoundryClient, Duration completionTimeout, AbstractServiceInstanceResource serviceInstance) {
-        return LastOperationUtils
-            .waitForCompletion(completionTimeout, () -> requestGetServiceInstance(cloudFoundryClient, ResourceUtils.getId(serviceInstance))
-                .map(response -> ResourceUtils.getEntity(response).getLastOperation()));
+    private static Mono<Void> waitForInstanceAction(CompletionPoller completionPoller, Duration completionTimeout, AbstractServiceInstanceResource serviceInstance) {
+        return completionPoller.waitForLastOperation(completionTimeout, ResourceUtils.getId(serviceInstance));
     }
 
 }
@@ -42,6 +42,10 @@ import org.cloudfoundry.client.v2.stacks.Stacks;
 import org.cloudfoundry.client.v2.userprovidedserviceinstances.UserProvidedServiceInstances;
 import org.cloudfoundry.client.v2.users.Users;
 import org.cloudfoundry.client.v3.applications.ApplicationsV3;
+import org.cloudfoundry.client.v3.builds.Builds;
+import org.cloudfoundry.client.v3.deployments.DeploymentsV3;
+import org.cloudfoundry.client.v3.packages.Packages;
+import org.cloudfoundry.client.v3.serviceinstances.ServiceInstancesV3;
 import org.cloudfoundry.client.v3.tasks.Tasks;
 import org.cloudfoundry.doppler.DopplerClient;
 import org.cloudfoundry.routing.RoutingClient;
@@ -84,8 +88,12 @@ public abstract class AbstractOperationsTest {
 
     protected final Buildpacks buildpacks = mock(Buildpacks.class, RETURNS_SMART_NULLS);
 
+    protected final Builds builds = mock(Builds.class, RETURNS_SMART_NULLS);
+
     protected final CloudFoundryClient cloudFoundryClient = mock(CloudFoundryClient.class, RETURNS_SMART_NULLS);
 
+    protected final DeploymentsV3 deploymentsV3 = mock(DeploymentsV3.class, RETURNS_SMART_NULLS);
+
     protected final Domains domains = mock(Domains.class, RETURNS_SMART_NULLS);
 
     protected final DopplerClient dopplerClient = mock(DopplerClient.class, RETURNS_SMART_NULLS);
@@ -100,6 +108,8 @@ public abstract class AbstractOperationsTest {
 
     protected final Organizations organizations = mock(Organizations.class, RETURNS_SMART_NULLS);
 
+    protected final Packages packages = mock(Packages.class, RETURNS_SMART_NULLS);
+
     protected final PrivateDomains privateDomains = mock(PrivateDomains.class, RETURNS_SMART_NULLS);
 
     protected final ResourceMatch resourceMatch = mock(ResourceMatch.class, RETURNS_SMART_NULLS);
@@ -116,6 +126,8 @@ public abstract class AbstractOperationsTest {
 
     protected final ServiceInstances serviceInstances = mock(ServiceInstances.class, RETURNS_SMART_NULLS);
 
+    protected final ServiceInstancesV3 serviceInstancesV3 = mock(ServiceInstancesV3.class, RETURNS_SMART_NULLS);
+
     protected final ServiceKeys serviceKeys = mock(ServiceKeys.class, RETURNS_SMART_NULLS);
 
     protected final ServicePlanVisibilities servicePlanVisibilities = mock(ServicePlanVisibilities.class, RETURNS_SMART_NULLS);
@@ -149,18 +161,22 @@ public abstract class AbstractOperationsTest {
         when(this.cloudFoundryClient.applicationsV2()).thenReturn(this.applications);
         when(this.cloudFoundryClient.applicationsV3()).thenReturn(this.applicationsV3);
         when(this.cloudFoundryClient.buildpacks()).thenReturn(this.buildpacks);
+        when(this.cloudFoundryClient.builds()).thenReturn(this.builds);
+        when(this.cloudFoundryClient.deploymentsV3()).thenReturn(this.deploymentsV3);
         when(this.cloudFoundryClient.domains()).thenReturn(this.domains);
         when(this.cloudFoundryClient.events()).thenReturn(this.events);
         when(this.cloudFoundryClient.featureFlags()).thenReturn(this.featureFlags);
         when(this.cloudFoundryClient.jobs()).thenReturn(this.jobs);
         when(this.cloudFoundryClient.organizations()).thenReturn(this.organizations);
         when(this.cloudFoundryClient.organizationQuotaDefinitions()).thenReturn(this.organizationQuotaDefinitions);
+        when(this.cloudFoundryClient.packages()).thenReturn(this.packages);
         when(this.cloudFoundryClient.privateDomains()).thenReturn(this.privateDomains);
         when(this.cloudFoundryClient.resourceMatch()).thenReturn(this.resourceMatch);
         when(this.cloudFoundryClient.routes()).thenReturn(this.routes);
         when(this.cloudFoundryClient.serviceBindingsV2()).thenReturn(this.serviceBindingsV2);
         when(this.cloudFoundryClient.serviceBrokers()).thenReturn(this.serviceBrokers);
         when(this.cloudFoundryClient.serviceInstances()).thenReturn(this.serviceInstances);
+        when(this.cloudFoundryClient.serviceInstancesV3()).thenReturn(this.serviceInstancesV3);
         when(this.cloudFoundryClient.serviceKeys()).thenReturn(this.serviceKeys);
         when(this.cloudFoundryClient.servicePlans()).thenReturn(this.servicePlans);
         when(this.cloudFoundryClient.servicePlanVisibilities()).thenReturn(this.servicePlanVisibilities);
@@ -45,6 +45,11 @@ public final class DefaultCloudFoundryOperationsTest extends AbstractOperationsT
         assertThat(this.operations.buildpacks()).isNotNull();
     }
 
+    @Test
+    public void completionPoller() {
+        assertThat(this.operations.getCompletionPoller().block()).isSameAs(this.operations.getCompletionPoller().block());
+    }
+
     @Test
     public void domains() {
         assertThat(this.operations.domains()).isNotNull();
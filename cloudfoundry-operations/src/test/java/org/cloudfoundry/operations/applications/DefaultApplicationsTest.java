@@ -103,12 +103,40 @@ import org.cloudfoundry.client.v2.stacks.GetStackResponse;
 import org.cloudfoundry.client.v2.stacks.ListStacksRequest;
 import org.cloudfoundry.client.v2.stacks.ListStacksResponse;
 import org.cloudfoundry.client.v2.stacks.StackEntity;
+import org.cloudfoundry.client.v2.stacks.StackResource;
 import org.cloudfoundry.client.v3.BuildpackData;
 import org.cloudfoundry.client.v3.DockerData;
 import org.cloudfoundry.client.v3.Lifecycle;
+import org.cloudfoundry.client.v3.Relationship;
+import org.cloudfoundry.client.v3.ToOneRelationship;
 import org.cloudfoundry.client.v3.applications.ApplicationState;
 import org.cloudfoundry.client.v3.applications.ListApplicationsRequest;
 import org.cloudfoundry.client.v3.applications.ListApplicationsResponse;
+import org.cloudfoundry.client.v3.builds.BuildState;
+import org.cloudfoundry.client.v3.builds.CreateBuildRequest;
+import org.cloudfoundry.client.v3.builds.CreateBuildResponse;
+import org.cloudfoundry.client.v3.builds.CreatedBy;
+import org.cloudfoundry.client.v3.builds.Droplet;
+import org.cloudfoundry.client.v3.builds.GetBuildRequest;
+import org.cloudfoundry.client.v3.builds.GetBuildResponse;
+import org.cloudfoundry.client.v3.deployments.CreateDeploymentRequest;
+import org.cloudfoundry.client.v3.deployments.CreateDeploymentResponse;
+import org.cloudfoundry.client.v3.deployments.DeploymentRelationships;
+import org.cloudfoundry.client.v3.deployments.DeploymentStatusReason;
+import org.cloudfoundry.client.v3.deployments.DeploymentStatusValue;
+import org.cloudfoundry.client.v3.deployments.GetDeploymentRequest;
+import org.cloudfoundry.client.v3.deployments.GetDeploymentResponse;
+import org.cloudfoundry.client.v3.deployments.Status;
+import org.cloudfoundry.client.v3.packages.BitsData;
+import org.cloudfoundry.client.v3.packages.CreatePackageRequest;
+import org.cloudfoundry.client.v3.packages.CreatePackageResponse;
+import org.cloudfoundry.client.v3.packages.GetPackageRequest;
+import org.cloudfoundry.client.v3.packages.GetPackageResponse;
+import org.cloudfoundry.client.v3.packages.PackageRelationships;
+import org.cloudfoundry.client.v3.packages.PackageState;
+import org.cloudfoundry.client.v3.packages.PackageType;
+import org.cloudfoundry.client.v3.packages.UploadPackageRequest;
+import org.cloudfoundry.client.v3.packages.UploadPackageResponse;
 import org.cloudfoundry.client.v3.tasks.CancelTaskRequest;
 import org.cloudfoundry.client.v3.tasks.CancelTaskResponse;
 import org.cloudfoundry.client.v3.tasks.CreateTaskRequest;
@@ -148,8 +176,12 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.cloudfoundry.client.v3.LifecycleType.BUILDPACK;
 import static org.cloudfoundry.client.v3.LifecycleType.DOCKER;
 import static org.cloudfoundry.operations.TestObjects.fill;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.RETURNS_SMART_NULLS;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public final class DefaultApplicationsTest extends AbstractOperationsTest {
@@ -331,6 +363,75 @@ public final class DefaultApplicationsTest extends AbstractOperationsTest {
             .verify(Duration.ofSeconds(5));
     }
 
+    @Test
+    public void deploy() throws IOException {
+        Path testApplication = new ClassPathResource("test-application.zip").getFile().toPath();
+
+        requestApplicationsV3(this.cloudFoundryClient, "test-name", TEST_SPACE_ID, "test-application-id");
+        requestCreatePackage(this.cloudFoundryClient, "test-application-id", "test-package-id");
+        requestUploadPackage(this.cloudFoundryClient, "test-package-id", testApplication);
+        requestGetPackage(this.cloudFoundryClient, "test-package-id");
+        requestCreateBuild(this.cloudFoundryClient, "test-package-id", "test-build-id");
+        requestGetBuild(this.cloudFoundryClient, "test-package-id", "test-build-id", "test-droplet-id");
+        requestCreateDeployment(this.cloudFoundryClient, "test-application-id", "test-droplet-id", "test-deployment-id");
+        requestGetDeployment(this.cloudFoundryClient, "test-deployment-id", DeploymentStatusReason.DEPLOYED);
+
+        StepVerifier.withVirtualTime(() -> this.applications
+            .deploy(DeployApplicationRequest.builder()
+                .name("test-name")
+                .path(testApplication)
+                .build()))
+            .then(() -> VirtualTimeScheduler.get().advanceTimeBy(Duration.ofSeconds(3)))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void deployFailure() throws IOException {
+        Path testApplication = new ClassPathResource("test-application.zip").getFile().toPath();
+
+        requestApplicationsV3(this.cloudFoundryClient, "test-name", TEST_SPACE_ID, "test-application-id");
+        requestCreatePackage(this.cloudFoundryClient, "test-application-id", "test-package-id");
+        requestUploadPackage(this.cloudFoundryClient, "test-package-id", testApplication);
+        requestGetPackage(this.cloudFoundryClient, "test-package-id");
+        requestCreateBuild(this.cloudFoundryClient, "test-package-id", "test-build-id");
+        requestGetBuild(this.cloudFoundryClient, "test-package-id", "test-build-id", "test-droplet-id");
+        requestCreateDeployment(this.cloudFoundryClient, "test-application-id", "test-droplet-id", "test-deployment-id");
+        requestGetDeployment(this.cloudFoundryClient, "test-deployment-id", DeploymentStatusReason.CANCELED);
+
+        StepVerifier.withVirtualTime(() -> this.applications
+            .deploy(DeployApplicationRequest.builder()
+                .name("test-name")
+                .path(testApplication)
+                .build()))
+            .then(() -> VirtualTimeScheduler.get().advanceTimeBy(Duration.ofSeconds(3)))
+            .consumeErrorWith(t -> assertThat(t).isInstanceOf(IllegalStateException.class).hasMessage("Application test-name failed during deployment"))
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void deployNoStatus() throws IOException {
+        Path testApplication = new ClassPathResource("test-application.zip").getFile().toPath();
+
+        requestApplicationsV3(this.cloudFoundryClient, "test-name", TEST_SPACE_ID, "test-application-id");
+        requestCreatePackage(this.cloudFoundryClient, "test-application-id", "test-package-id");
+        requestUploadPackage(this.cloudFoundryClient, "test-package-id", testApplication);
+        requestGetPackage(this.cloudFoundryClient, "test-package-id");
+        requestCreateBuild(this.cloudFoundryClient, "test-package-id", "test-build-id");
+        requestGetBuild(this.cloudFoundryClient, "test-package-id", "test-build-id", "test-droplet-id");
+        requestCreateDeployment(this.cloudFoundryClient, "test-application-id", "test-droplet-id", "test-deployment-id");
+        requestGetDeploymentNoStatus(this.cloudFoundryClient, "test-deployment-id");
+
+        StepVerifier.withVirtualTime(() -> this.applications
+            .deploy(DeployApplicationRequest.builder()
+                .name("test-name")
+                .path(testApplication)
+                .build()))
+            .then(() -> VirtualTimeScheduler.get().advanceTimeBy(Duration.ofSeconds(3)))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
     @Test
     public void disableSsh() {
         requestApplications(this.cloudFoundryClient, "test-app-name", TEST_SPACE_ID, "test-metadata-id");
@@ -1549,6 +1650,57 @@ public final class DefaultApplicationsTest extends AbstractOperationsTest {
             .verify(Duration.ofSeconds(5));
     }
 
+    @Test
+    public void pushMultipleApplications() {
+        requestSpace(this.cloudFoundryClient, TEST_SPACE_ID, TEST_ORGANIZATION_ID);
+        requestPrivateDomainsEmpty(this.cloudFoundryClient, TEST_ORGANIZATION_ID);
+        requestSharedDomains(this.cloudFoundryClient, "test-shared-domain", "test-shared-domain-id");
+        requestStackId(this.cloudFoundryClient, "test-stack", "test-stack-id");
+
+        for (String name : Arrays.asList("test-name-1", "test-name-2")) {
+            requestApplicationsEmpty(this.cloudFoundryClient, name, TEST_SPACE_ID);
+            requestCreateDockerApplication(this.cloudFoundryClient, PushApplicationRequest.builder()
+                .dockerImage("cloudfoundry/lattice-app")
+                .name(name)
+                .build(), TEST_SPACE_ID, "test-stack-id", name + "-id");
+            requestApplicationRoutesEmpty(this.cloudFoundryClient, name + "-id");
+            requestUpdateApplicationState(this.cloudFoundryClient, name + "-id", "STOPPED");
+            requestUpdateApplicationState(this.cloudFoundryClient, name + "-id", "STARTED");
+            requestGetApplication(this.cloudFoundryClient, name + "-id");
+            requestApplicationInstancesRunning(this.cloudFoundryClient, name + "-id");
+        }
+
+        StepVerifier.withVirtualTime(() -> this.applications
+            .pushManifest(PushApplicationManifestRequest.builder()
+                .manifest(ApplicationManifest.builder()
+                    .docker(Docker.builder()
+                        .image("cloudfoundry/lattice-app")
+                        .build())
+                    .name("test-name-1")
+                    .noRoute(true)
+                    .stack("test-stack")
+                    .build())
+                .manifest(ApplicationManifest.builder()
+                    .docker(Docker.builder()
+                        .image("cloudfoundry/lattice-app")
+                        .build())
+                    .name("test-name-2")
+                    .noRoute(true)
+                    .stack("test-stack")
+                    .build())
+                .parallelism(2)
+                .build()))
+            .then(() -> VirtualTimeScheduler.get().advanceTimeBy(Duration.ofSeconds(3)))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        verify(this.cloudFoundryClient.stacks(), times(1))
+            .list(ListStacksRequest.builder()
+                .name("test-stack")
+                .page(1)
+                .build());
+    }
+
     @Test
     public void pushMultipleRoutes() throws IOException {
         Path testApplication = new ClassPathResource("test-application.zip").getFile().toPath();
@@ -2824,6 +2976,25 @@ public final class DefaultApplicationsTest extends AbstractOperationsTest {
             .verify(Duration.ofSeconds(5));
     }
 
+    @Test
+    public void startStoppedApplicationNoWatchLogs() {
+        requestApplicationsSpecificState(this.cloudFoundryClient, "test-application-name", TEST_SPACE_ID, "STOPPED");
+        requestUpdateApplicationState(this.cloudFoundryClient, "test-application-id", "STARTED");
+        requestGetApplication(this.cloudFoundryClient, "test-application-id");
+        requestApplicationInstancesRunning(this.cloudFoundryClient, "test-application-id");
+
+        StepVerifier.withVirtualTime(() -> this.applications
+            .start(StartApplicationRequest.builder()
+                .name("test-application-name")
+                .watchLogs(false)
+                .build()))
+            .then(() -> VirtualTimeScheduler.get().advanceTimeBy(Duration.ofSeconds(3)))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        verify(this.dopplerClient, never()).stream(any());
+    }
+
     @Test
     public void stopInvalidApplication() {
         requestApplicationsEmpty(this.cloudFoundryClient, "test-application-name", TEST_SPACE_ID);
@@ -3448,6 +3619,51 @@ public final class DefaultApplicationsTest extends AbstractOperationsTest {
                     .build()));
     }
 
+    private static void requestCreateBuild(CloudFoundryClient cloudFoundryClient, String packageId, String buildId) {
+        when(cloudFoundryClient.builds()
+            .create(CreateBuildRequest.builder()
+                .getPackage(Relationship.builder()
+                    .id(packageId)
+                    .build())
+                .build()))
+            .thenReturn(Mono
+                .just(CreateBuildResponse.builder()
+                    .createdAt("test-created-at")
+                    .createdBy(fill(CreatedBy.builder())
+                        .build())
+                    .id(buildId)
+                    .inputPackage(Relationship.builder()
+                        .id(packageId)
+                        .build())
+                    .lifecycle(Lifecycle.builder()
+                        .data(BuildpackData.builder()
+                            .build())
+                        .type(BUILDPACK)
+                        .build())
+                    .state(BuildState.STAGING)
+                    .build()));
+    }
+
+    private static void requestCreateDeployment(CloudFoundryClient cloudFoundryClient, String applicationId, String dropletId, String deploymentId) {
+        when(cloudFoundryClient.deploymentsV3()
+            .create(CreateDeploymentRequest.builder()
+                .droplet(Relationship.builder()
+                    .id(dropletId)
+                    .build())
+                .relationships(DeploymentRelationships.builder()
+                    .app(ToOneRelationship.builder()
+                        .data(Relationship.builder()
+                            .id(applicationId)
+                            .build())
+                        .build())
+                    .build())
+                .build()))
+            .thenReturn(Mono
+                .just(fill(CreateDeploymentResponse.builder())
+                    .id(deploymentId)
+                    .build()));
+    }
+
     private static void requestCreateDockerApplication(CloudFoundryClient cloudFoundryClient, PushApplicationRequest request, String spaceId, String stackId, String applicationId) {
         CreateApplicationRequest.Builder requestBuilder = CreateApplicationRequest.builder();
         requestBuilder.dockerCredentials(DockerCredentials.builder().username(request.getDockerUsername()).password(request.getDockerPassword()).build());
@@ -3474,6 +3690,29 @@ public final class DefaultApplicationsTest extends AbstractOperationsTest {
                     .build()));
     }
 
+    private static void requestCreatePackage(CloudFoundryClient cloudFoundryClient, String applicationId, String packageId) {
+        when(cloudFoundryClient.packages()
+            .create(CreatePackageRequest.builder()
+                .relationships(PackageRelationships.builder()
+                    .application(ToOneRelationship.builder()
+                        .data(Relationship.builder()
+                            .id(applicationId)
+                            .build())
+                        .build())
+                    .build())
+                .type(PackageType.BITS)
+                .build()))
+            .thenReturn(Mono
+                .just(CreatePackageResponse.builder()
+                    .createdAt("test-created-at")
+                    .data(BitsData.builder()
+                        .build())
+                    .id(packageId)
+                    .state(PackageState.AWAITING_UPLOAD)
+                    .type(PackageType.BITS)
+                    .build()));
+    }
+
     private static void requestCreateRoute(CloudFoundryClient cloudFoundryClient, String domainId, String host, String path, Integer port, String spaceId, String routeId) {
         when(cloudFoundryClient.routes()
             .create(CreateRouteRequest.builder()
@@ -3675,6 +3914,94 @@ public final class DefaultApplicationsTest extends AbstractOperationsTest {
 
     }
 
+    private static void requestGetBuild(CloudFoundryClient cloudFoundryClient, String packageId, String buildId, String dropletId) {
+        when(cloudFoundryClient.builds()
+            .get(GetBuildRequest.builder()
+                .buildId(buildId)
+                .build()))
+            .thenReturn(Mono
+                .just(GetBuildResponse.builder()
+                    .createdAt("test-created-at")
+                    .createdBy(fill(CreatedBy.builder())
+                        .build())
+                    .droplet(Droplet.builder()
+                        .href("test-droplet-href")
+                        .id(dropletId)
+                        .build())
+                    .id(buildId)
+                    .inputPackage(Relationship.builder()
+                        .id(packageId)
+                        .build())
+                    .lifecycle(Lifecycle.builder()
+                        .data(BuildpackData.builder()
+                            .build())
+                        .type(BUILDPACK)
+                        .build())
+                    .state(BuildState.STAGED)
+                    .build()));
+    }
+
+    private static void requestGetDeployment(CloudFoundryClient cloudFoundryClient, String deploymentId, DeploymentStatusReason reason) {
+        when(cloudFoundryClient.deploymentsV3()
+            .get(GetDeploymentRequest.builder()
+                .deploymentId(deploymentId)
+                .build()))
+            .thenReturn(Mono
+                .just(fill(GetDeploymentResponse.builder())
+                    .id(deploymentId)
+                    .status(Status.builder()
+                        .reason(reason)
+                        .value(DeploymentStatusValue.FINALIZED)
+                        .build())
+                    .build()));
+    }
+
+    private static void requestGetDeploymentNoStatus(CloudFoundryClient cloudFoundryClient, String deploymentId) {
+        when(cloudFoundryClient.deploymentsV3()
+            .get(GetDeploymentRequest.builder()
+                .deploymentId(deploymentId)
+                .build()))
+            .thenReturn(Mono
+                .defer(new Supplier<Mono<GetDeploymentResponse>>() {
+
+                    private final Queue<GetDeploymentResponse> responses = new LinkedList<>(Arrays.asList(
+                        fill(GetDeploymentResponse.builder())
+                            .id(deploymentId)
+                            .status(null)
+                            .build(),
+                        fill(GetDeploymentResponse.builder())
+                            .id(deploymentId)
+                            .status(Status.builder()
+                                .reason(DeploymentStatusReason.DEPLOYED)
+                                .value(DeploymentStatusValue.FINALIZED)
+                                .build())
+                            .build()
+                    ));
+
+                    @Override
+                    public Mono<GetDeploymentResponse> get() {
+                        return Mono.just(this.responses.poll());
+                    }
+
+                }));
+    }
+
+    private static void requestGetPackage(CloudFoundryClient cloudFoundryClient, String packageId) {
+        when(cloudFoundryClient.packages()
+            .get(GetPackageRequest.builder()
+                .packageId(packageId)
+                .build()))
+            .thenReturn(Mono
+                .just(GetPackageResponse.builder()
+                    .createdAt("test-created-at")
+                    .data(BitsData.builder()
+                        .build())
+                    .id(packageId)
+                    .state(PackageState.READY)
+                    .type(PackageType.BITS)
+                    .build()));
+    }
+
     private static void requestGetSharedDomain(CloudFoundryClient cloudFoundryClient, String domainId) {
         when(cloudFoundryClient.sharedDomains()
             .get(GetSharedDomainRequest.builder()
@@ -3806,6 +4133,7 @@ public final class DefaultApplicationsTest extends AbstractOperationsTest {
         when(dopplerClient
             .recentLogs(RecentLogsRequest.builder()
                 .applicationId(applicationId)
+                .eventType(EventType.LOG_MESSAGE)
                 .build()))
             .thenReturn(Flux
                 .just(Envelope.builder()
@@ -3820,6 +4148,7 @@ public final class DefaultApplicationsTest extends AbstractOperationsTest {
         when(dopplerClient
             .stream(StreamRequest.builder()
                 .applicationId(applicationId)
+                .eventType(EventType.LOG_MESSAGE)
                 .build()))
             .thenReturn(Flux
                 .just(Envelope.builder()
@@ -4100,6 +4429,22 @@ public final class DefaultApplicationsTest extends AbstractOperationsTest {
                     .build()));
     }
 
+    private static void requestStackId(CloudFoundryClient cloudFoundryClient, String stack, String stackId) {
+        when(cloudFoundryClient.stacks()
+            .list(ListStacksRequest.builder()
+                .name(stack)
+                .page(1)
+                .build()))
+            .thenReturn(Mono
+                .just(fill(ListStacksResponse.builder())
+                    .resource(fill(StackResource.builder())
+                        .metadata(fill(Metadata.builder())
+                            .id(stackId)
+                            .build())
+                        .build())
+                    .build()));
+    }
+
     private static void requestStackIdEmpty(CloudFoundryClient cloudFoundryClient, String stack) {
         when(cloudFoundryClient.stacks()
             .list(ListStacksRequest.builder()
@@ -4279,4 +4624,21 @@ public final class DefaultApplicationsTest extends AbstractOperationsTest {
                     .build()));
     }
 
+    private static void requestUploadPackage(CloudFoundryClient cloudFoundryClient, String packageId, Path bits) {
+        when(cloudFoundryClient.packages()
+            .upload(UploadPackageRequest.builder()
+                .bits(bits)
+                .packageId(packageId)
+                .build()))
+            .thenReturn(Mono
+                .just(UploadPackageResponse.builder()
+                    .createdAt("test-created-at")
+                    .data(BitsData.builder()
+                        .build())
+                    .id(packageId)
+                    .state(PackageState.PROCESSING_UPLOAD)
+                    .type(PackageType.BITS)
+                    .build()));
+    }
+
 }
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.operations.applications;
+
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public final class PushLookupCacheTest {
+
+    private final PushLookupCache lookupCache = new PushLookupCache();
+
+    @Test
+    public void get() {
+        AtomicInteger lookups = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            this.lookupCache.get(() -> Mono.fromCallable(lookups::incrementAndGet), "test-type", "test-name")
+                .as(StepVerifier::create)
+                .expectNext(1)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+        }
+
+        assertThat(lookups).hasValue(1);
+    }
+
+    @Test
+    public void getError() {
+        AtomicInteger lookups = new AtomicInteger();
+        Mono<Integer> lookup = Mono.fromCallable(() -> {
+            if (lookups.incrementAndGet() == 1) {
+                throw new IllegalStateException("test-message");
+            }
+
+            return lookups.get();
+        });
+
+        this.lookupCache.get(() -> lookup, "test-type", "test-name")
+            .as(StepVerifier::create)
+            .expectErrorMessage("test-message")
+            .verify(Duration.ofSeconds(5));
+
+        for (int i = 0; i < 2; i++) {
+            this.lookupCache.get(() -> lookup, "test-type", "test-name")
+                .as(StepVerifier::create)
+                .expectNext(2)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+        }
+    }
+
+}
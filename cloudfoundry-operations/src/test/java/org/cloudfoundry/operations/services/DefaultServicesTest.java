@@ -93,6 +93,8 @@ import org.cloudfoundry.client.v2.userprovidedserviceinstances.DeleteUserProvide
 import org.cloudfoundry.client.v2.userprovidedserviceinstances.RemoveUserProvidedServiceInstanceRouteRequest;
 import org.cloudfoundry.client.v2.userprovidedserviceinstances.UpdateUserProvidedServiceInstanceResponse;
 import org.cloudfoundry.client.v2.userprovidedserviceinstances.UserProvidedServiceInstanceEntity;
+import org.cloudfoundry.client.v3.Pagination;
+import org.cloudfoundry.client.v3.serviceinstances.ServiceInstanceResource;
 import org.cloudfoundry.operations.AbstractOperationsTest;
 import org.junit.Test;
 import reactor.core.publisher.Mono;
@@ -299,7 +301,7 @@ public final class DefaultServicesTest extends AbstractOperationsTest {
         requestListSpaceServices(this.cloudFoundryClient, TEST_SPACE_ID, "test-service");
         requestListSpaceServicePlans(this.cloudFoundryClient, "test-service-id", "test-plan", "test-plan-id");
         requestCreateServiceInstance(this.cloudFoundryClient, TEST_SPACE_ID, "test-plan-id", "test-service-instance", null, null, "test-service-instance-id", "in progress");
-        requestGetServiceInstance(this.cloudFoundryClient, "test-service-instance-id", "successful");
+        requestListServiceInstancesV3(this.cloudFoundryClient, "test-service-instance-id", "successful");
 
         this.services
             .createInstance(CreateServiceInstanceRequest.builder()
@@ -381,7 +383,7 @@ public final class DefaultServicesTest extends AbstractOperationsTest {
     public void deleteServiceInstanceAcceptsIncomplete() {
         requestListSpaceServiceInstances(this.cloudFoundryClient, "test-service-instance-name", TEST_SPACE_ID);
         requestDeleteServiceInstanceAcceptsIncomplete(this.cloudFoundryClient, "test-service-instance-id");
-        requestGetServiceInstanceNotExist(this.cloudFoundryClient, "test-service-instance-id");
+        requestListServiceInstancesV3Empty(this.cloudFoundryClient, "test-service-instance-id");
 
         this.services
             .deleteInstance(DeleteServiceInstanceRequest.builder()
@@ -865,7 +867,7 @@ public final class DefaultServicesTest extends AbstractOperationsTest {
         requestListSpaceServicePlans(this.cloudFoundryClient, "test-service-id", "test-plan", "test-plan-id");
         requestUpdateServiceInstance(this.cloudFoundryClient, Collections.singletonMap("test-parameter-key", "test-parameter-value"), "test-service-instance-id", "test-plan-id",
             Collections.singletonList("test-tag"));
-        requestGetServiceInstance(this.cloudFoundryClient, "test-id", "successful");
+        requestListServiceInstancesV3(this.cloudFoundryClient, "test-id", "successful");
 
         this.services
             .updateInstance(UpdateServiceInstanceRequest.builder()
@@ -905,7 +907,7 @@ public final class DefaultServicesTest extends AbstractOperationsTest {
         requestGetService(this.cloudFoundryClient, "test-service-id", "test-service");
         requestListSpaceServicePlans(this.cloudFoundryClient, "test-service-id", "test-plan", "test-service-plan-id");
         requestUpdateServiceInstance(this.cloudFoundryClient, null, "test-service-instance-id", "test-service-plan-id", Collections.singletonList("test-tag"));
-        requestGetServiceInstance(this.cloudFoundryClient, "test-id", "successful");
+        requestListServiceInstancesV3(this.cloudFoundryClient, "test-id", "successful");
 
         this.services
             .updateInstance(UpdateServiceInstanceRequest.builder()
@@ -923,7 +925,7 @@ public final class DefaultServicesTest extends AbstractOperationsTest {
         requestListSpaceServiceInstances(this.cloudFoundryClient, "test-service", TEST_SPACE_ID);
         requestUpdateServiceInstance(this.cloudFoundryClient, Collections.singletonMap("test-parameter-key", "test-parameter-value"), "test-service-instance-id", null,
             Collections.singletonList("test-tag"));
-        requestGetServiceInstance(this.cloudFoundryClient, "test-id", "successful");
+        requestListServiceInstancesV3(this.cloudFoundryClient, "test-id", "successful");
 
         this.services
             .updateInstance(UpdateServiceInstanceRequest.builder()
@@ -959,7 +961,7 @@ public final class DefaultServicesTest extends AbstractOperationsTest {
         requestGetService(this.cloudFoundryClient, "test-service-id", "test-service");
         requestListSpaceServicePlans(this.cloudFoundryClient, "test-service-id", "test-plan", "test-plan-id");
         requestUpdateServiceInstance(this.cloudFoundryClient, Collections.singletonMap("test-parameter-key", "test-parameter-value"), "test-service-instance-id", "test-plan-id", null);
-        requestGetServiceInstance(this.cloudFoundryClient, "test-id", "successful");
+        requestListServiceInstancesV3(this.cloudFoundryClient, "test-id", "successful");
 
         this.services
             .updateInstance(UpdateServiceInstanceRequest.builder()
@@ -981,7 +983,7 @@ public final class DefaultServicesTest extends AbstractOperationsTest {
         requestListSpaceServicePlanVisibilities(this.cloudFoundryClient, "test-organization-id", "test-plan-id");
         requestUpdateServiceInstance(this.cloudFoundryClient, Collections.singletonMap("test-parameter-key", "test-parameter-value"), "test-service-instance-id", "test-plan-id",
             Collections.singletonList("test-tag"));
-        requestGetServiceInstance(this.cloudFoundryClient, "test-id", "successful");
+        requestListServiceInstancesV3(this.cloudFoundryClient, "test-id", "successful");
 
         this.services
             .updateInstance(UpdateServiceInstanceRequest.builder()
@@ -1308,33 +1310,6 @@ public final class DefaultServicesTest extends AbstractOperationsTest {
                     .build()));
     }
 
-    private static void requestGetServiceInstance(CloudFoundryClient cloudFoundryClient, String serviceInstanceId, String state) {
-        when(cloudFoundryClient.serviceInstances()
-            .get(org.cloudfoundry.client.v2.serviceinstances.GetServiceInstanceRequest.builder()
-                .serviceInstanceId(serviceInstanceId)
-                .build()))
-            .thenReturn(Mono
-                .just(fill(GetServiceInstanceResponse.builder())
-                    .metadata(fill(Metadata.builder())
-                        .id(serviceInstanceId)
-                        .build())
-                    .entity(fill(ServiceInstanceEntity.builder())
-                        .lastOperation(LastOperation.builder()
-                            .state(state)
-                            .type("create")
-                            .build())
-                        .build())
-                    .build()));
-    }
-
-    private static void requestGetServiceInstanceNotExist(CloudFoundryClient cloudFoundryClient, String serviceInstanceId) {
-        when(cloudFoundryClient.serviceInstances()
-            .get(org.cloudfoundry.client.v2.serviceinstances.GetServiceInstanceRequest.builder()
-                .serviceInstanceId(serviceInstanceId)
-                .build()))
-            .thenReturn(Mono.error(new ClientV2Exception(404, 404, "test-description", "test-error-code")));
-    }
-
     private static void requestGetServiceNotPlanUpdateable(CloudFoundryClient cloudFoundryClient, String serviceId, String service) {
         when(cloudFoundryClient.services()
             .get(GetServiceRequest.builder()
@@ -1637,6 +1612,44 @@ public final class DefaultServicesTest extends AbstractOperationsTest {
                     .build()));
     }
 
+    private static void requestListServiceInstancesV3(CloudFoundryClient cloudFoundryClient, String serviceInstanceId, String state) {
+        when(cloudFoundryClient.serviceInstancesV3()
+            .list(org.cloudfoundry.client.v3.serviceinstances.ListServiceInstancesRequest.builder()
+                .page(1)
+                .perPage(50)
+                .serviceInstanceId(serviceInstanceId)
+                .build()))
+            .thenReturn(Mono
+                .just(fill(org.cloudfoundry.client.v3.serviceinstances.ListServiceInstancesResponse.builder())
+                    .pagination(fill(Pagination.builder())
+                        .totalPages(1)
+                        .build())
+                    .resource(fill(ServiceInstanceResource.builder())
+                        .id(serviceInstanceId)
+                        .lastOperation(org.cloudfoundry.client.v3.LastOperation.builder()
+                            .state(state)
+                            .type("create")
+                            .build())
+                        .build())
+                    .build()));
+    }
+
+    private static void requestListServiceInstancesV3Empty(CloudFoundryClient cloudFoundryClient, String serviceInstanceId) {
+        when(cloudFoundryClient.serviceInstancesV3()
+            .list(org.cloudfoundry.client.v3.serviceinstances.ListServiceInstancesRequest.builder()
+                .page(1)
+                .perPage(50)
+                .serviceInstanceId(serviceInstanceId)
+                .build()))
+            .thenReturn(Mono
+                .just(fill(org.cloudfoundry.client.v3.serviceinstances.ListServiceInstancesResponse.builder())
+                    .pagination(fill(Pagination.builder())
+                        .totalPages(1)
+                        .build())
+                    .resources(Collections.emptyList())
+                    .build()));
+    }
+
     private static void requestListSpaceServiceBindings(CloudFoundryClient cloudFoundryClient, String serviceInstanceId, String applicationId) {
         when(cloudFoundryClient.serviceBindingsV2()
             .list(ListServiceBindingsRequest.builder()
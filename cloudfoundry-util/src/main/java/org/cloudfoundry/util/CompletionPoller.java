@@ -0,0 +1,381 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.util;
+
+import org.cloudfoundry.client.CloudFoundryClient;
+import org.cloudfoundry.client.v2.jobs.GetJobRequest;
+import org.cloudfoundry.client.v2.jobs.JobEntity;
+import org.cloudfoundry.client.v3.LastOperation;
+import org.cloudfoundry.client.v3.builds.BuildState;
+import org.cloudfoundry.client.v3.builds.GetBuildRequest;
+import org.cloudfoundry.client.v3.builds.GetBuildResponse;
+import org.cloudfoundry.client.v3.deployments.DeploymentStatusValue;
+import org.cloudfoundry.client.v3.deployments.GetDeploymentRequest;
+import org.cloudfoundry.client.v3.deployments.GetDeploymentResponse;
+import org.cloudfoundry.client.v3.jobs.Job;
+import org.cloudfoundry.client.v3.jobs.JobState;
+import org.cloudfoundry.client.v3.packages.GetPackageRequest;
+import org.cloudfoundry.client.v3.packages.GetPackageResponse;
+import org.cloudfoundry.client.v3.packages.PackageState;
+import org.cloudfoundry.client.v3.serviceinstances.ListServiceInstancesRequest;
+import org.cloudfoundry.client.v3.serviceinstances.ServiceInstanceResource;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A poller that waits for the completion of many jobs, service instance last operations, packages, builds and deployments at once.  All outstanding waits share a single timer that ticks at the minimum interval and only
+ * runs while there is something to wait for.  A wait is first polled on the tick after it starts, which is immediate when nothing else is waiting, and then backs off exponentially from the
+ * minimum to the maximum interval.  On each tick only the waits that are due are polled.  Service instance last operations that are due are requested in batches using a single v3 list
+ * query per batch, and each job is requested once no matter how many waits are outstanding for it.  The results are then fanned back out to the waiting {@link Mono}s.  A failed request is
+ * retried on a later tick, and only fails its waits once it has failed several times in a row.
+ */
+public final class CompletionPoller {
+
+    private static final int CONCURRENCY = 8;
+
+    private static final Duration DEFAULT_MAX_INTERVAL = Duration.ofSeconds(15);
+
+    private static final Duration DEFAULT_MIN_INTERVAL = Duration.ofSeconds(1);
+
+    private static final Set<String> LAST_OPERATION_IN_PROGRESS = new HashSet<>(Arrays.asList("initial", "in progress"));
+
+    private static final int MAX_CONSECUTIVE_FAILURES = 3;
+
+    private static final Set<PackageState> PACKAGE_IN_PROGRESS = new HashSet<>(Arrays.asList(PackageState.AWAITING_UPLOAD, PackageState.COPYING, PackageState.PROCESSING_UPLOAD));
+
+    private static final int SERVICE_INSTANCE_BATCH_SIZE = 50;
+
+    private final Poll<GetBuildResponse> builds;
+
+    private final Poll<GetDeploymentResponse> deployments;
+
+    private final Poll<JobEntity> jobsV2;
+
+    private final Poll<Job> jobsV3;
+
+    private final Poll<GetPackageResponse> packages;
+
+    private final Poll<ServiceInstanceResource> serviceInstances;
+
+    /**
+     * Creates a new instance that polls every second at first, backing off to every 15 seconds
+     *
+     * @param cloudFoundryClient the client to use to request job and last operation status
+     */
+    public CompletionPoller(CloudFoundryClient cloudFoundryClient) {
+        this(cloudFoundryClient, DEFAULT_MIN_INTERVAL, DEFAULT_MAX_INTERVAL);
+    }
+
+    /**
+     * Creates a new instance
+     *
+     * @param cloudFoundryClient the client to use to request job and last operation status
+     * @param minInterval        the interval between the first and second polls of a wait, and between ticks of the shared timer
+     * @param maxInterval        the maximum interval between polls of a wait
+     */
+    public CompletionPoller(CloudFoundryClient cloudFoundryClient, Duration minInterval, Duration maxInterval) {
+        this.builds = new Poll<>(minInterval, maxInterval, 1, ids -> requestBuild(cloudFoundryClient, ids.get(0)), build -> BuildState.STAGING != build.getState());
+        this.deployments = new Poll<>(minInterval, maxInterval, 1, ids -> requestDeployment(cloudFoundryClient, ids.get(0)),
+            deployment -> deployment.getStatus() != null && DeploymentStatusValue.FINALIZED == deployment.getStatus().getValue());
+        this.jobsV2 = new Poll<>(minInterval, maxInterval, 1, ids -> requestJobV2(cloudFoundryClient, ids.get(0)), JobUtils::isComplete);
+        this.jobsV3 = new Poll<>(minInterval, maxInterval, 1, ids -> requestJobV3(cloudFoundryClient, ids.get(0)), job -> JobState.PROCESSING != job.getState());
+        this.packages = new Poll<>(minInterval, maxInterval, 1, ids -> requestPackage(cloudFoundryClient, ids.get(0)), p -> !PACKAGE_IN_PROGRESS.contains(p.getState()));
+        this.serviceInstances = new Poll<>(minInterval, maxInterval, SERVICE_INSTANCE_BATCH_SIZE, ids -> requestServiceInstances(cloudFoundryClient, ids),
+            CompletionPoller::isLastOperationComplete);
+    }
+
+    /**
+     * Waits for a build to finish staging
+     *
+     * @param completionTimeout the amount of time to wait for the build to finish staging
+     * @param buildId           the id of the build
+     * @return the build once it has finished staging
+     */
+    public Mono<GetBuildResponse> waitForBuild(Duration completionTimeout, String buildId) {
+        return this.builds.await(completionTimeout, buildId);
+    }
+
+    /**
+     * Waits for a deployment to be finalized
+     *
+     * @param completionTimeout the amount of time to wait for the deployment to be finalized
+     * @param deploymentId      the id of the deployment
+     * @return the deployment once it has been finalized
+     */
+    public Mono<GetDeploymentResponse> waitForDeployment(Duration completionTimeout, String deploymentId) {
+        return this.deployments.await(completionTimeout, deploymentId);
+    }
+
+    /**
+     * Waits for a job to complete
+     *
+     * @param completionTimeout the amount of time to wait for the job to complete
+     * @param jobEntity         the entity representing the job
+     * @return {@code onComplete} once job has completed
+     */
+    public Mono<Void> waitForJob(Duration completionTimeout, JobEntity jobEntity) {
+        Mono<JobEntity> job;
+
+        if (JobUtils.isComplete(jobEntity)) {
+            job = Mono.just(jobEntity);
+        } else {
+            job = this.jobsV2.await(completionTimeout, jobEntity.getId());
+        }
+
+        return job
+            .filter(entity -> "failed".equals(entity.getStatus()))
+            .flatMap(JobUtils::getError);
+    }
+
+    /**
+     * Waits for a job V3 to complete
+     *
+     * @param completionTimeout the amount of time to wait for the job to complete
+     * @param jobId             the id of the job
+     * @return {@code onComplete} once job has completed
+     */
+    public Mono<Void> waitForJob(Duration completionTimeout, String jobId) {
+        return this.jobsV3.await(completionTimeout, jobId)
+            .filter(job -> JobState.FAILED == job.getState())
+            .flatMap(JobUtils::getError);
+    }
+
+    /**
+     * Waits for the upload or copy of a package to be processed
+     *
+     * @param completionTimeout the amount of time to wait for the package to be processed
+     * @param packageId         the id of the package
+     * @return the package once it has been processed
+     */
+    public Mono<GetPackageResponse> waitForPackage(Duration completionTimeout, String packageId) {
+        return this.packages.await(completionTimeout, packageId);
+    }
+
+    /**
+     * Waits for the last operation of a service instance to complete.  A service instance that no longer exists is treated as complete.
+     *
+     * @param completionTimeout the amount of time to wait for the last operation to complete
+     * @param serviceInstanceId the id of the service instance
+     * @return {@code onComplete} once the last operation has completed
+     */
+    public Mono<Void> waitForLastOperation(Duration completionTimeout, String serviceInstanceId) {
+        return this.serviceInstances.await(completionTimeout, serviceInstanceId)
+            .then();
+    }
+
+    private static boolean isLastOperationComplete(ServiceInstanceResource resource) {
+        LastOperation lastOperation = resource.getLastOperation();
+        return lastOperation == null || !LAST_OPERATION_IN_PROGRESS.contains(lastOperation.getState());
+    }
+
+    private static Flux<Tuple2<String, GetBuildResponse>> requestBuild(CloudFoundryClient cloudFoundryClient, String buildId) {
+        return cloudFoundryClient.builds()
+            .get(GetBuildRequest.builder()
+                .buildId(buildId)
+                .build())
+            .map(build -> Tuples.of(buildId, build))
+            .flux();
+    }
+
+    private static Flux<Tuple2<String, GetDeploymentResponse>> requestDeployment(CloudFoundryClient cloudFoundryClient, String deploymentId) {
+        return cloudFoundryClient.deploymentsV3()
+            .get(GetDeploymentRequest.builder()
+                .deploymentId(deploymentId)
+                .build())
+            .map(deployment -> Tuples.of(deploymentId, deployment))
+            .flux();
+    }
+
+    private static Flux<Tuple2<String, JobEntity>> requestJobV2(CloudFoundryClient cloudFoundryClient, String jobId) {
+        return cloudFoundryClient.jobs()
+            .get(GetJobRequest.builder()
+                .jobId(jobId)
+                .build())
+            .map(response -> Tuples.of(jobId, ResourceUtils.getEntity(response)))
+            .flux();
+    }
+
+    private static Flux<Tuple2<String, Job>> requestJobV3(CloudFoundryClient cloudFoundryClient, String jobId) {
+        return cloudFoundryClient.jobsV3()
+            .get(org.cloudfoundry.client.v3.jobs.GetJobRequest.builder()
+                .jobId(jobId)
+                .build())
+            .map(job -> Tuples.<String, Job>of(jobId, job))
+            .flux();
+    }
+
+    private static Flux<Tuple2<String, GetPackageResponse>> requestPackage(CloudFoundryClient cloudFoundryClient, String packageId) {
+        return cloudFoundryClient.packages()
+            .get(GetPackageRequest.builder()
+                .packageId(packageId)
+                .build())
+            .map(p -> Tuples.of(packageId, p))
+            .flux();
+    }
+
+    private static Flux<Tuple2<String, ServiceInstanceResource>> requestServiceInstances(CloudFoundryClient cloudFoundryClient, List<String> serviceInstanceIds) {
+        return PaginationUtils
+            .requestClientV3Resources(page -> cloudFoundryClient.serviceInstancesV3()
+                .list(ListServiceInstancesRequest.builder()
+                    .page(page)
+                    .perPage(SERVICE_INSTANCE_BATCH_SIZE)
+                    .serviceInstanceIds(serviceInstanceIds)
+                    .build()))
+            .map(resource -> Tuples.of(resource.getId(), resource));
+    }
+
+    private static final class Poll<T> {
+
+        private final int batchSize;
+
+        private final Function<List<String>, Flux<Tuple2<String, T>>> fetch;
+
+        private final Predicate<T> isComplete;
+
+        private final long maxInterval;
+
+        private final long minInterval;
+
+        private final Flux<Void> ticks;
+
+        private final Map<String, Waiter<T>> waiting = new ConcurrentHashMap<>();
+
+        private Poll(Duration minInterval, Duration maxInterval, int batchSize, Function<List<String>, Flux<Tuple2<String, T>>> fetch, Predicate<T> isComplete) {
+            this.batchSize = batchSize;
+            this.fetch = fetch;
+            this.isComplete = isComplete;
+            this.maxInterval = maxInterval.toNanos();
+            this.minInterval = minInterval.toNanos();
+            this.ticks = Flux.interval(Duration.ZERO, minInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> poll(), 1)
+                .share();
+        }
+
+        private static long now() {
+            return Schedulers.parallel().now(TimeUnit.NANOSECONDS);
+        }
+
+        private Mono<T> await(Duration completionTimeout, String id) {
+            return Mono.defer(() -> {
+                Waiter<T> waiter = this.waiting.computeIfAbsent(id, k -> new Waiter<>(now(), this.minInterval));
+
+                return Mono.firstWithSignal(waiter.sink.asMono(), this.ticks.then(Mono.never()))
+                    .timeout(completionTimeout, Mono.error(new DelayTimeoutException()))
+                    .doFinally(signal -> {
+                        if (waiter.sink.currentSubscriberCount() == 0) {
+                            this.waiting.remove(id, waiter);
+                        }
+                    });
+            });
+        }
+
+        private void complete(String id, Map<String, T> results, long polled) {
+            Waiter<T> waiter = this.waiting.get(id);
+            if (waiter == null) {
+                return;
+            }
+
+            waiter.failures = 0;
+
+            T result = results.get(id);
+            if (result == null) {
+                this.waiting.remove(id, waiter);
+                waiter.sink.tryEmitEmpty();
+            } else if (this.isComplete.test(result)) {
+                this.waiting.remove(id, waiter);
+                waiter.sink.tryEmitValue(result);
+            } else {
+                waiter.backOff(polled, this.maxInterval);
+            }
+        }
+
+        private void error(String id, Throwable t, long polled) {
+            Waiter<T> waiter = this.waiting.get(id);
+            if (waiter == null) {
+                return;
+            }
+
+            if (++waiter.failures < MAX_CONSECUTIVE_FAILURES) {
+                waiter.backOff(polled, this.maxInterval);
+            } else if (this.waiting.remove(id, waiter)) {
+                waiter.sink.tryEmitError(t);
+            }
+        }
+
+        private Mono<Void> poll() {
+            long now = now();
+
+            return Flux.fromIterable(new TreeMap<>(this.waiting).entrySet())
+                .filter(entry -> entry.getValue().isDue(now, this.minInterval / 2))
+                .map(Map.Entry::getKey)
+                .buffer(this.batchSize)
+                .flatMap(batch -> this.fetch.apply(batch)
+                    .collectMap(Tuple2::getT1, Tuple2::getT2)
+                    .doOnNext(results -> batch.forEach(id -> complete(id, results, now)))
+                    .onErrorResume(t -> {
+                        batch.forEach(id -> error(id, t, now));
+                        return Mono.empty();
+                    }), CONCURRENCY)
+                .then();
+        }
+
+    }
+
+    private static final class Waiter<T> {
+
+        private volatile int failures;
+
+        private volatile long interval;
+
+        private volatile long nextPoll;
+
+        private final Sinks.One<T> sink = Sinks.one();
+
+        private Waiter(long nextPoll, long interval) {
+            this.interval = interval;
+            this.nextPoll = nextPoll;
+        }
+
+        private void backOff(long polled, long maxInterval) {
+            this.nextPoll = polled + this.interval;
+            this.interval = Math.min(this.interval * 2, maxInterval);
+        }
+
+        private boolean isDue(long now, long tolerance) {
+            return now - this.nextPoll >= -tolerance;
+        }
+
+    }
+
+}
@@ -21,6 +21,8 @@ import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscription;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.ConnectableFlux;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -49,7 +51,31 @@ public final class DelayUtils {
      */
     public static Function<Flux<Long>, Publisher<?>> exponentialBackOff(Duration minimum, Duration maximum, Duration timeout) {
         Instant finish = Instant.now().plus(timeout);
-        return iterations -> getDelay(minimum, maximum, finish, iterations);
+        return iterations -> getDelay(minimum, maximum, finish, iterations, Mono.never());
+    }
+
+    /**
+     * Implements an exponential backoff delay for use with {@link Mono#repeatWhenEmpty(Function)} that ends the current delay early whenever {@code wakeup} emits.  The {@code wakeup} publisher
+     * is subscribed to once for the whole repetition.  If it errors or completes, the delay reverts to a plain exponential backoff.
+     *
+     * @param minimum the minimum duration
+     * @param maximum the maximum duration
+     * @param timeout the maximum amount of time to delay for
+     * @param wakeup  the signals that end the current delay early
+     * @return a delayed {@link Publisher}
+     */
+    public static Function<Flux<Long>, Publisher<?>> exponentialBackOff(Duration minimum, Duration maximum, Duration timeout, Publisher<?> wakeup) {
+        Instant finish = Instant.now().plus(timeout);
+
+        return iterations -> {
+            ConnectableFlux<Object> wakeups = Flux.<Object>from(wakeup)
+                .onErrorResume(t -> Mono.empty())
+                .concatWith(Flux.never())
+                .onBackpressureLatest()
+                .publish(1);
+
+            return Flux.using(wakeups::connect, connection -> getDelay(minimum, maximum, finish, iterations, wakeups.next()), Disposable::dispose);
+        };
     }
 
     /**
@@ -82,7 +108,7 @@ public final class DelayUtils {
         return min(candidate, maximum);
     }
 
-    private static Flux<?> getDelay(Duration minimum, Duration maximum, Instant finish, Flux<Long> iterations) {
+    private static Flux<?> getDelay(Duration minimum, Duration maximum, Instant finish, Flux<Long> iterations, Mono<?> wakeup) {
         return iterations
             .map(iteration -> calculateDuration(minimum, maximum, iteration))
             .concatMap(delay -> {
@@ -92,6 +118,7 @@ public final class DelayUtils {
 
                 return Mono
                     .delay(delay)
+                    .or(wakeup.thenReturn(0L))
                     .doOnSubscribe(logDelay(delay));
             });
     }
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Exceptions;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A cache of the SHA-1 hashes of files, keyed on the path, size and last modified time of each file.  A cache created with a file loads the hashes persisted in that file when first used and
+ * persists its hashes back to it when {@link #save()} is called, so that files that have not changed between runs are not read and hashed again.  Only the hashes of files hashed by this
+ * instance are persisted, so that entries for files that no longer exist do not accumulate.
+ */
+public final class FileHashCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger("cloudfoundry-client.resource-matching");
+
+    /**
+     * Files modified this recently can be modified again without changing their last modified time, so their hashes are not cached
+     */
+    private static final long MODIFICATION_RESOLUTION = Duration.ofSeconds(2).toMillis();
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final Optional<Path> file;
+
+    private final AtomicBoolean loaded = new AtomicBoolean();
+
+    private final AtomicBoolean modified = new AtomicBoolean();
+
+    private final Set<String> seen = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates a new in-memory instance
+     */
+    public FileHashCache() {
+        this.file = Optional.empty();
+    }
+
+    /**
+     * Creates a new instance persisted in a file
+     *
+     * @param file the file to persist the hashes in
+     */
+    public FileHashCache(Path file) {
+        this.file = Optional.of(file.toAbsolutePath());
+    }
+
+    /**
+     * Returns the SHA-1 hash of a file, calculating it only if the file has changed since it was last hashed
+     *
+     * @param path the {@link Path} to return the hash for
+     * @return a {@link String} representation of the hash
+     */
+    public String hash(Path path) {
+        load();
+
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            String key = path.toAbsolutePath().normalize().toString();
+            long lastModified = attributes.lastModifiedTime().toMillis();
+            this.seen.add(key);
+
+            Entry entry = this.entries.get(key);
+            if (entry != null && entry.size == attributes.size() && entry.lastModified == lastModified) {
+                return entry.hash;
+            }
+
+            String hash = FileUtils.hash(path);
+
+            if (System.currentTimeMillis() - lastModified > MODIFICATION_RESOLUTION) {
+                this.entries.put(key, new Entry(hash, attributes.size(), lastModified));
+                this.modified.set(true);
+            } else if (this.entries.remove(key) != null) {
+                this.modified.set(true);
+            }
+
+            return hash;
+        } catch (IOException e) {
+            throw Exceptions.propagate(e);
+        }
+    }
+
+    /**
+     * Persists the hashes of the files hashed by this cache in the file this cache was created with, dropping any loaded hashes of files that have not been hashed since.  Does nothing for an
+     * in-memory instance or if no hashes have changed.  A failure to write the file is logged rather than thrown, since the cache only saves work and is not required for correctness.
+     */
+    public void save() {
+        if (!this.file.isPresent() || !this.modified.getAndSet(false) && this.seen.containsAll(this.entries.keySet())) {
+            return;
+        }
+
+        Path file = this.file.get();
+        Path staging = null;
+
+        try {
+            Files.createDirectories(file.getParent());
+            staging = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+
+            Properties properties = new Properties();
+            for (Map.Entry<String, Entry> entry : this.entries.entrySet()) {
+                if (this.seen.contains(entry.getKey())) {
+                    properties.setProperty(entry.getKey(), String.format("%s %d %d", entry.getValue().hash, entry.getValue().size, entry.getValue().lastModified));
+                }
+            }
+
+            try (Writer out = Files.newBufferedWriter(staging, StandardCharsets.UTF_8)) {
+                properties.store(out, null);
+            }
+
+            Files.move(staging, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            this.modified.set(true);
+            LOGGER.warn("Unable to save file hashes to {}", file, e);
+
+            if (staging != null) {
+                try {
+                    Files.deleteIfExists(staging);
+                } catch (IOException ignored) {
+                    // best effort
+                }
+            }
+        }
+    }
+
+    private void load() {
+        if (!this.file.isPresent() || this.loaded.get()) {
+            return;
+        }
+
+        synchronized (this.loaded) {
+            if (this.loaded.get()) {
+                return;
+            }
+
+            Path file = this.file.get();
+
+            if (Files.exists(file)) {
+                Properties properties = new Properties();
+
+                try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    properties.load(in);
+                } catch (IOException | IllegalArgumentException e) {
+                    LOGGER.warn("Unable to load file hashes from {}", file, e);
+                }
+
+                for (String key : properties.stringPropertyNames()) {
+                    String[] fields = properties.getProperty(key).split(" ");
+
+                    try {
+                        if (fields.length == 3) {
+                            this.entries.putIfAbsent(key, new Entry(fields[0], Long.parseLong(fields[1]), Long.parseLong(fields[2])));
+                        }
+                    } catch (NumberFormatException e) {
+                        LOGGER.debug("Ignoring malformed file hash for {}", key);
+                    }
+                }
+            }
+
+            this.loaded.set(true);
+        }
+    }
+
+    private static final class Entry {
+
+        private final String hash;
+
+        private final long lastModified;
+
+        private final long size;
+
+        private Entry(String hash, long size, long lastModified) {
+            this.hash = hash;
+            this.lastModified = lastModified;
+            this.size = size;
+        }
+
+    }
+
+}
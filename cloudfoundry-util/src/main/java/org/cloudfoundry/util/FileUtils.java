@@ -25,15 +25,22 @@ import reactor.core.scheduler.Schedulers;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.FileTime;
 import java.nio.file.attribute.PosixFilePermission;
+import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Enumeration;
 import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
@@ -44,6 +51,8 @@ public final class FileUtils {
 
     private static final Integer DEFAULT_PERMISSIONS = 0744;
 
+    private static final ThreadLocal<ByteBuffer> HASH_BUFFERS = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(64 * 1_024));
+
     private static final Map<PosixFilePermission, Integer> PERMISSION_MODES = FluentMap.<PosixFilePermission, Integer>builder()
         .entry(PosixFilePermission.OWNER_READ, 0400)
         .entry(PosixFilePermission.OWNER_WRITE, 0200)
@@ -77,25 +86,33 @@ public final class FileUtils {
      * @return the {@link Path} for a compressed artifact
      */
     public static Mono<Path> compress(Path candidate, Predicate<String> filter) {
-        return Mono
-            .defer(() -> {
-                try {
-                    Path staging = Files.createTempFile(String.format("compressed-%s-", candidate.getFileName()), ".zip");
+        return stage(candidate, out -> compress(candidate, filter, out));
+    }
 
-                    try (ZipArchiveOutputStream out = new ZipArchiveOutputStream(staging.toFile())) {
-                        if (Files.isDirectory(candidate)) {
-                            compressFromDirectory(candidate, filter, out);
-                        } else {
-                            compressFromZip(candidate, filter, out);
-                        }
-                    }
+    /**
+     * Compresses a candidate {@link Path}, writing the archive to an {@link OutputStream} as it is created rather than staging it in a temporary file.  Blocks until the archive has been written
+     * and then closes the {@link OutputStream}.
+     *
+     * @param candidate the candidate {@link Path} to compress
+     * @param out       the {@link OutputStream} to write the archive to
+     */
+    public static void compress(Path candidate, OutputStream out) {
+        try (ZipArchiveOutputStream zip = new ZipArchiveOutputStream(out)) {
+            compress(candidate, path -> true, zip);
+        } catch (IOException e) {
+            throw Exceptions.propagate(e);
+        }
+    }
 
-                    return Mono.just(staging);
-                } catch (IOException e) {
-                    throw Exceptions.propagate(e);
-                }
-            })
-            .subscribeOn(Schedulers.boundedElastic());
+    /**
+     * Compresses a directory, calculating the SHA-1 hash of each file as it is written to the archive so that each file is only read once
+     *
+     * @param directory    the directory to compress
+     * @param hashConsumer a consumer of each file and its hash, called as each file is written
+     * @return the {@link Path} for a compressed artifact
+     */
+    public static Mono<Path> compressAndHash(Path directory, BiConsumer<Path, String> hashConsumer) {
+        return stage(directory, out -> compressFromDirectory(directory, path -> true, hashConsumer, out));
     }
 
     /**
@@ -111,14 +128,24 @@ public final class FileUtils {
     }
 
     /**
-     * Calculates the SHA-1 hash for a {@link Path}
+     * Calculates the SHA-1 hash for a {@link Path}.  The file is read through a direct buffer that is reused by each thread.
      *
      * @param path the {@link Path} to calculate the hash for
      * @return a {@link String} representation of the hash
      */
     public static String hash(Path path) {
-        try (InputStream in = Files.newInputStream(path)) {
-            return hash(in);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MessageDigest digest = createDigest();
+            ByteBuffer buffer = HASH_BUFFERS.get();
+
+            buffer.clear();
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+
+            return toHash(digest);
         } catch (IOException e) {
             throw Exceptions.propagate(e);
         }
@@ -131,24 +158,20 @@ public final class FileUtils {
      * @return {@link String} representation of the hash
      */
     public static String hash(InputStream in) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("sha1");
+        MessageDigest digest = createDigest();
 
-            ByteArrayPool.withByteArray(buffer -> {
-                try {
-                    int length;
-                    while ((length = in.read(buffer)) != -1) {
-                        digest.update(buffer, 0, length);
-                    }
-                } catch (IOException e) {
-                    throw Exceptions.propagate(e);
+        ByteArrayPool.withByteArray(buffer -> {
+            try {
+                int length;
+                while ((length = in.read(buffer)) != -1) {
+                    digest.update(buffer, 0, length);
                 }
-            });
+            } catch (IOException e) {
+                throw Exceptions.propagate(e);
+            }
+        });
 
-            return String.format("%040x", new BigInteger(1, digest.digest()));
-        } catch (NoSuchAlgorithmException e) {
-            throw Exceptions.propagate(e);
-        }
+        return toHash(digest);
     }
 
     /**
@@ -189,7 +212,15 @@ public final class FileUtils {
         }
     }
 
-    private static void compressFromDirectory(Path candidate, Predicate<String> filter, ZipArchiveOutputStream out) {
+    private static void compress(Path candidate, Predicate<String> filter, ZipArchiveOutputStream out) {
+        if (Files.isDirectory(candidate)) {
+            compressFromDirectory(candidate, filter, null, out);
+        } else {
+            compressFromZip(candidate, filter, out);
+        }
+    }
+
+    private static void compressFromDirectory(Path candidate, Predicate<String> filter, BiConsumer<Path, String> hashConsumer, ZipArchiveOutputStream out) {
         try (Stream<Path> contents = Files.walk(candidate)) {
             contents
                 .filter(path -> {
@@ -201,11 +232,17 @@ public final class FileUtils {
                 })
                 .filter(path -> filter.test(getRelativePathName(candidate, path)))
                 .forEach(path -> {
-                    try (InputStream in = Files.isDirectory(path) ? null : Files.newInputStream(path)) {
+                    MessageDigest digest = hashConsumer == null || Files.isDirectory(path) ? null : createDigest();
+
+                    try (InputStream in = open(path, digest)) {
                         write(in, Files.getLastModifiedTime(path), getUnixMode(path), out, getRelativePathName(candidate, path));
                     } catch (IOException e) {
                         throw Exceptions.propagate(e);
                     }
+
+                    if (digest != null) {
+                        hashConsumer.accept(path, toHash(digest));
+                    }
                 });
         } catch (IOException e) {
             throw Exceptions.propagate(e);
@@ -220,9 +257,12 @@ public final class FileUtils {
                 ZipArchiveEntry entry = entries.nextElement();
 
                 if (filter.test(entry.getName())) {
-                    try (InputStream in = zipFile.getInputStream(entry)) {
-                        int mode = entry.getUnixMode();
-                        write(in, entry.getLastModifiedTime(), mode == 0 ? DEFAULT_PERMISSIONS : mode, out, entry.getName());
+                    if (entry.getUnixMode() == 0) {
+                        entry.setUnixMode(DEFAULT_PERMISSIONS);
+                    }
+
+                    try (InputStream in = zipFile.getRawInputStream(entry)) {
+                        out.addRawArchiveEntry(entry, in);
                     }
                 }
             }
@@ -231,6 +271,21 @@ public final class FileUtils {
         }
     }
 
+    private static ZipArchiveEntry createEntry(FileTime lastModifiedTime, int mode, String path) {
+        ZipArchiveEntry entry = new ZipArchiveEntry(path);
+        entry.setUnixMode(mode);
+        entry.setLastModifiedTime(lastModifiedTime);
+        return entry;
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("sha1");
+        } catch (NoSuchAlgorithmException e) {
+            throw Exceptions.propagate(e);
+        }
+    }
+
     private static int getUnixMode(Path path) throws IOException {
         if (!isPosixFile(path)) {
             return DEFAULT_PERMISSIONS;
@@ -245,12 +300,46 @@ public final class FileUtils {
         return path.getFileSystem().supportedFileAttributeViews().contains("posix");
     }
 
+    private static InputStream open(Path path, MessageDigest digest) throws IOException {
+        if (Files.isDirectory(path)) {
+            return null;
+        }
+
+        InputStream in = Files.newInputStream(path);
+        return digest == null ? in : new DigestInputStream(in, digest);
+    }
+
+    private static Mono<Path> stage(Path candidate, Consumer<ZipArchiveOutputStream> compressor) {
+        return Mono
+            .fromCallable(() -> {
+                Path staging = Files.createTempFile(String.format("compressed-%s-", candidate.getFileName()), ".zip");
+
+                try (ZipArchiveOutputStream out = new ZipArchiveOutputStream(staging.toFile())) {
+                    compressor.accept(out);
+                } catch (IOException | RuntimeException e) {
+                    Files.deleteIfExists(staging);
+                    throw e;
+                }
+
+                return staging;
+            })
+            .doOnDiscard(Path.class, staging -> {
+                try {
+                    Files.deleteIfExists(staging);
+                } catch (IOException e) {
+                    throw Exceptions.propagate(e);
+                }
+            })
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private static String toHash(MessageDigest digest) {
+        return String.format("%040x", new BigInteger(1, digest.digest()));
+    }
+
     private static void write(InputStream in, FileTime lastModifiedTime, int mode, ZipArchiveOutputStream out, String path) {
         try {
-            ZipArchiveEntry entry = new ZipArchiveEntry(path);
-            entry.setUnixMode(mode);
-            entry.setLastModifiedTime(lastModifiedTime);
-            out.putArchiveEntry(entry);
+            out.putArchiveEntry(createEntry(lastModifiedTime, mode, path));
 
             if (in != null) {
                 ByteArrayPool.withByteArray(buffer -> {
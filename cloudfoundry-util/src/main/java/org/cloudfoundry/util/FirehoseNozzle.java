@@ -0,0 +1,243 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.util;
+
+import org.cloudfoundry.doppler.DopplerClient;
+import org.cloudfoundry.doppler.Envelope;
+import org.cloudfoundry.doppler.FirehoseRequest;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * A firehose consumer that spreads a single subscription over several connections. Doppler balances the envelopes of a subscription across every connection that shares its subscription id, so
+ * each additional connection adds throughput. Each connection reconnects with jittered exponential back-off whenever it fails or is closed, and keeps its own counters so that a slow or failing
+ * connection can be identified.
+ */
+public final class FirehoseNozzle {
+
+    private static final double JITTER = 0.5;
+
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(1);
+
+    private static final Duration MIN_BACKOFF = Duration.ofSeconds(1);
+
+    private final List<ConnectionStatistics> connections;
+
+    private final DopplerClient dopplerClient;
+
+    private final Duration maxBackoff;
+
+    private final Duration minBackoff;
+
+    private final FirehoseRequest request;
+
+    /**
+     * Creates a new instance that reconnects after between one second and one minute
+     *
+     * @param dopplerClient the client to use to connect to the firehose
+     * @param request       the firehose request shared by all connections
+     * @param connections   the number of connections to open
+     */
+    public FirehoseNozzle(DopplerClient dopplerClient, FirehoseRequest request, int connections) {
+        this(dopplerClient, request, connections, MIN_BACKOFF, MAX_BACKOFF);
+    }
+
+    /**
+     * Creates a new instance
+     *
+     * @param dopplerClient the client to use to connect to the firehose
+     * @param request       the firehose request shared by all connections
+     * @param connections   the number of connections to open
+     * @param minBackoff    the delay before the first reconnect attempt after a connection is lost
+     * @param maxBackoff    the maximum delay between reconnect attempts
+     */
+    public FirehoseNozzle(DopplerClient dopplerClient, FirehoseRequest request, int connections, Duration minBackoff, Duration maxBackoff) {
+        if (connections < 1) {
+            throw new IllegalArgumentException("connections must be greater than 0");
+        }
+
+        List<ConnectionStatistics> statistics = new ArrayList<>(connections);
+        for (int i = 0; i < connections; i++) {
+            statistics.add(new ConnectionStatistics(i));
+        }
+
+        this.connections = Collections.unmodifiableList(statistics);
+        this.dopplerClient = dopplerClient;
+        this.maxBackoff = maxBackoff;
+        this.minBackoff = minBackoff;
+        this.request = request;
+    }
+
+    /**
+     * Opens all connections and merges their envelopes. Demand is propagated to every connection, so a slow subscriber slows reading from the firehose rather than buffering without bound.
+     *
+     * @return the envelopes received over all connections
+     */
+    public Flux<Envelope> envelopes() {
+        return Flux.merge(Flux.fromIterable(this.connections)
+            .map(this::connect), this.connections.size());
+    }
+
+    /**
+     * Returns the statistics of each connection. The counters accumulate over the lifetime of this nozzle.
+     *
+     * @return the statistics of each connection, in connection order
+     */
+    public List<ConnectionStatistics> getStatistics() {
+        return this.connections;
+    }
+
+    private static FirehoseRequest countDropped(FirehoseRequest request, ConnectionStatistics statistics) {
+        if (request.getOverflowPolicy() == null) {
+            return request;
+        }
+
+        Consumer<Envelope> droppedEnvelopeConsumer = Optional.ofNullable(request.getDroppedEnvelopeConsumer()).orElse(envelope -> {
+        });
+
+        return FirehoseRequest.builder()
+            .from(request)
+            .droppedEnvelopeConsumer(envelope -> {
+                statistics.dropped.incrementAndGet();
+                droppedEnvelopeConsumer.accept(envelope);
+            })
+            .build();
+    }
+
+    private Flux<Envelope> connect(ConnectionStatistics statistics) {
+        return Flux.defer(() -> this.dopplerClient.firehose(countDropped(this.request, statistics)))
+            .doOnSubscribe(subscription -> statistics.connected.set(true))
+            .doOnNext(statistics::onEnvelope)
+            .concatWith(Mono.error(() -> new IllegalStateException("Firehose connection closed")))
+            .doOnError(t -> statistics.connected.set(false))
+            .doOnCancel(() -> statistics.connected.set(false))
+            .retryWhen(Retry.backoff(Long.MAX_VALUE, this.minBackoff)
+                .maxBackoff(this.maxBackoff)
+                .jitter(JITTER)
+                .transientErrors(true)
+                .doBeforeRetry(signal -> statistics.reconnects.incrementAndGet()));
+    }
+
+    /**
+     * The counters of a single firehose connection
+     */
+    public static final class ConnectionStatistics {
+
+        private final AtomicBoolean connected = new AtomicBoolean();
+
+        private final AtomicLong dropped = new AtomicLong();
+
+        private final AtomicLong envelopes = new AtomicLong();
+
+        private final int index;
+
+        private final AtomicLong lastTimestamp = new AtomicLong();
+
+        private final AtomicLong reconnects = new AtomicLong();
+
+        private ConnectionStatistics(int index) {
+            this.index = index;
+        }
+
+        /**
+         * Returns the number of envelopes dropped by the overflow policy of the firehose request
+         *
+         * @return the number of envelopes dropped
+         */
+        public long getDropped() {
+            return this.dropped.get();
+        }
+
+        /**
+         * Returns the number of envelopes received over this connection
+         *
+         * @return the number of envelopes received
+         */
+        public long getEnvelopes() {
+            return this.envelopes.get();
+        }
+
+        /**
+         * Returns the index of this connection
+         *
+         * @return the index of this connection
+         */
+        public int getIndex() {
+            return this.index;
+        }
+
+        /**
+         * Returns how far behind the origin this connection is, measured as the age of the timestamp of the most recently received envelope
+         *
+         * @return the lag of this connection, or {@link Duration#ZERO} if no timestamped envelope has been received
+         */
+        public Duration getLag() {
+            long lastTimestamp = this.lastTimestamp.get();
+
+            if (lastTimestamp == 0) {
+                return Duration.ZERO;
+            }
+
+            return Duration.ofNanos(Math.max(0, TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis()) - lastTimestamp));
+        }
+
+        /**
+         * Returns the number of times this connection has been re-established
+         *
+         * @return the number of reconnects
+         */
+        public long getReconnects() {
+            return this.reconnects.get();
+        }
+
+        /**
+         * Returns whether this connection is currently open
+         *
+         * @return {@code true} if this connection is open
+         */
+        public boolean isConnected() {
+            return this.connected.get();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("ConnectionStatistics{index=%d, connected=%b, envelopes=%d, dropped=%d, reconnects=%d, lag=%s}", this.index, isConnected(), getEnvelopes(), getDropped(), getReconnects(),
+                getLag());
+        }
+
+        private void onEnvelope(Envelope envelope) {
+            this.envelopes.incrementAndGet();
+
+            if (envelope.getTimestamp() != null) {
+                this.lastTimestamp.set(envelope.getTimestamp());
+            }
+        }
+
+    }
+
+}
@@ -98,17 +98,17 @@ public final class JobUtils {
             .flatMap(JobUtils::getError);
     }
 
-    private static Mono<Void> getError(JobEntity entity) {
+    static Mono<Void> getError(JobEntity entity) {
         ErrorDetails errorDetails = entity.getErrorDetails();
         return Mono.error(new ClientV2Exception(null, errorDetails.getCode(), errorDetails.getDescription(), errorDetails.getErrorCode()));
     }
 
-    private static Mono<Void> getError(Job job) {
+    static Mono<Void> getError(Job job) {
         List<Error> errors = job.getErrors();
         return Mono.error(new ClientV3Exception(STATUS_OK, errors));
     }
 
-    private static boolean isComplete(JobEntity entity) {
+    static boolean isComplete(JobEntity entity) {
         String status = entity.getStatus();
         return "finished".equals(status) || "failed".equals(status);
     }
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.util;
+
+import org.cloudfoundry.logcache.v1.Envelope;
+import org.cloudfoundry.logcache.v1.LogCacheClient;
+import org.cloudfoundry.logcache.v1.ReadRequest;
+import org.cloudfoundry.logcache.v1.ReadResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A Log Cache consumer that walks a source forward in time by repeatedly reading with an advancing start time. Log Cache treats the start time as inclusive, so envelopes at the boundary between
+ * two reads are returned twice; these are removed before being emitted. The delay between reads adapts to the rate at which envelopes are observed: a full page is followed immediately by the next
+ * read, a partial page shortens the delay, and an empty page lengthens it. The next read is not made until the envelopes of the previous read have been requested downstream.
+ */
+public final class LogCacheWalker {
+
+    private static final Duration MAX_INTERVAL = Duration.ofSeconds(5);
+
+    private static final int MAX_LIMIT = 1000;
+
+    private static final Duration MIN_INTERVAL = Duration.ofMillis(250);
+
+    private final Duration maxInterval;
+
+    private final Duration minInterval;
+
+    private final LogCacheClient logCacheClient;
+
+    private final ReadRequest request;
+
+    /**
+     * Creates a new instance that waits between a quarter of a second and five seconds between reads
+     *
+     * @param logCacheClient the client to use to read from Log Cache
+     * @param request        the read request to walk. Its start time, if set, is where the walk begins and its end time, if set, is where it ends. If it has no limit, pages of 1000 envelopes are read.
+     */
+    public LogCacheWalker(LogCacheClient logCacheClient, ReadRequest request) {
+        this(logCacheClient, request, MIN_INTERVAL, MAX_INTERVAL);
+    }
+
+    /**
+     * Creates a new instance
+     *
+     * @param logCacheClient the client to use to read from Log Cache
+     * @param request        the read request to walk. Its start time, if set, is where the walk begins and its end time, if set, is where it ends. If it has no limit, pages of 1000 envelopes are read.
+     * @param minInterval    the minimum delay between reads that do not return a full page
+     * @param maxInterval    the maximum delay between reads
+     */
+    public LogCacheWalker(LogCacheClient logCacheClient, ReadRequest request, Duration minInterval, Duration maxInterval) {
+        if (Boolean.TRUE.equals(request.getDescending())) {
+            throw new IllegalArgumentException("Descending reads cannot be walked");
+        }
+
+        if (minInterval.compareTo(maxInterval) > 0) {
+            throw new IllegalArgumentException("minInterval must not be greater than maxInterval");
+        }
+
+        this.logCacheClient = logCacheClient;
+        this.maxInterval = maxInterval;
+        this.minInterval = minInterval;
+        this.request = request;
+    }
+
+    /**
+     * Walks the source in timestamp order. If the read request has an end time, the walk completes once a read returns no further envelopes, otherwise it continues indefinitely. Each subscription
+     * starts a new walk from the start time of the read request.
+     *
+     * @return the envelopes of the source
+     */
+    public Flux<Envelope> walk() {
+        return Flux.defer(() -> {
+            Cursor cursor = new Cursor(Optional.ofNullable(this.request.getStartTime()).orElse(0L), this.request.getEndTime() != null);
+
+            return Flux.defer(() -> delay(cursor.interval)
+                .then(Mono.defer(() -> this.logCacheClient.read(cursor.next(this.request))))
+                .flatMapIterable(response -> cursor.advance(response, this.minInterval, this.maxInterval)))
+                .repeat(() -> !cursor.complete);
+        });
+    }
+
+    private static Mono<Long> delay(Duration interval) {
+        return interval.isZero() ? Mono.empty() : Mono.delay(interval);
+    }
+
+    private static Duration max(Duration a, Duration b) {
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+
+    private static Duration min(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+
+    private static final class Cursor {
+
+        private final Set<Envelope> boundary = new HashSet<>();
+
+        private final boolean bounded;
+
+        private boolean complete;
+
+        private Duration interval = Duration.ZERO;
+
+        private int limit;
+
+        private long startTime;
+
+        private Cursor(long startTime, boolean bounded) {
+            this.bounded = bounded;
+            this.startTime = startTime;
+        }
+
+        private List<Envelope> advance(ReadResponse response, Duration minInterval, Duration maxInterval) {
+            List<Envelope> batch = response.getEnvelopes().getBatch();
+            List<Envelope> envelopes = new ArrayList<>(batch.size());
+
+            long last = this.startTime;
+            for (Envelope envelope : batch) {
+                long timestamp = Optional.ofNullable(envelope.getTimestamp()).orElse(this.startTime);
+
+                if (timestamp < this.startTime || (timestamp == this.startTime && this.boundary.contains(envelope))) {
+                    continue;
+                }
+
+                if (timestamp > last) {
+                    this.boundary.clear();
+                    last = timestamp;
+                }
+
+                this.boundary.add(envelope);
+                envelopes.add(envelope);
+            }
+
+            if (batch.size() >= this.limit) {
+                this.interval = Duration.ZERO;
+
+                if (envelopes.isEmpty()) {
+                    last++;
+                    this.boundary.clear();
+                }
+            } else if (envelopes.isEmpty()) {
+                this.complete = this.bounded;
+                this.interval = min(max(this.interval.multipliedBy(2), minInterval), maxInterval);
+            } else {
+                this.interval = max(this.interval.dividedBy(2), minInterval);
+            }
+
+            this.startTime = last;
+            return envelopes;
+        }
+
+        private ReadRequest next(ReadRequest request) {
+            this.limit = Optional.ofNullable(request.getLimit()).orElse(MAX_LIMIT);
+
+            return ReadRequest.builder()
+                .from(request)
+                .limit(this.limit)
+                .startTime(this.startTime)
+                .build();
+        }
+
+    }
+
+}
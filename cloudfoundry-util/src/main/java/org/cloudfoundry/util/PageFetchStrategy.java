@@ -0,0 +1,164 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.util;
+
+import org.cloudfoundry.AbstractCloudFoundryException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * A strategy for fetching the additional pages of a paginated listing once the first page has been received.
+ * <p>
+ * The default strategy fetches up to {@value #DEFAULT_CONCURRENCY} pages concurrently and emits them in page order as soon as all earlier pages have been emitted.
+ */
+public final class PageFetchStrategy {
+
+    /**
+     * The default number of pages requested concurrently
+     */
+    public static final int DEFAULT_CONCURRENCY = 16;
+
+    private static final PageFetchStrategy DEFAULT = ordered(DEFAULT_CONCURRENCY);
+
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    private static final int SERVICE_UNAVAILABLE = 503;
+
+    private final BackOff backOff;
+
+    private final int concurrency;
+
+    private final boolean ordered;
+
+    private PageFetchStrategy(BackOff backOff, int concurrency, boolean ordered) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("concurrency must be at least 1");
+        }
+
+        this.backOff = backOff;
+        this.concurrency = concurrency;
+        this.ordered = ordered;
+    }
+
+    /**
+     * Returns the default strategy
+     *
+     * @return the default strategy
+     */
+    public static PageFetchStrategy defaultStrategy() {
+        return DEFAULT;
+    }
+
+    /**
+     * Creates a strategy that emits pages in page order, each as soon as all earlier pages have been emitted
+     *
+     * @param concurrency the maximum number of pages requested concurrently
+     * @return the strategy
+     */
+    public static PageFetchStrategy ordered(int concurrency) {
+        return new PageFetchStrategy(null, concurrency, true);
+    }
+
+    /**
+     * Creates a strategy that emits pages in the order that they are received
+     *
+     * @param concurrency the maximum number of pages requested concurrently
+     * @return the strategy
+     */
+    public static PageFetchStrategy unordered(int concurrency) {
+        return new PageFetchStrategy(null, concurrency, false);
+    }
+
+    /**
+     * Returns a copy of this strategy that backs off when the server signals that it is overloaded ({@code 429 Too Many Requests} or {@code 503 Service Unavailable}).  A page request that is
+     * rejected is retried with an exponentially increasing delay, and no other page of the same listing is requested until that delay has elapsed.
+     *
+     * @param minimum    the delay before the first retry
+     * @param maximum    the maximum delay between retries
+     * @param maxRetries the maximum number of retries of a single page request
+     * @return the strategy
+     */
+    public PageFetchStrategy withBackOff(Duration minimum, Duration maximum, long maxRetries) {
+        return new PageFetchStrategy(new BackOff(minimum, maximum, maxRetries), this.concurrency, this.ordered);
+    }
+
+    <T> Flux<T> fetch(Flux<Integer> pages, Function<Integer, Mono<T>> pageSupplier) {
+        Function<Integer, Mono<T>> fetcher = this.backOff == null ? pageSupplier : this.backOff.apply(pageSupplier);
+
+        if (this.ordered) {
+            return pages.flatMapSequential(fetcher, this.concurrency);
+        } else {
+            return pages.flatMap(fetcher, this.concurrency);
+        }
+    }
+
+    private static boolean isOverloaded(Throwable t) {
+        if (!(t instanceof AbstractCloudFoundryException)) {
+            return false;
+        }
+
+        int statusCode = ((AbstractCloudFoundryException) t).getStatusCode();
+        return statusCode == TOO_MANY_REQUESTS || statusCode == SERVICE_UNAVAILABLE;
+    }
+
+    private static final class BackOff {
+
+        private final long maxRetries;
+
+        private final Duration maximum;
+
+        private final Duration minimum;
+
+        private BackOff(Duration minimum, Duration maximum, long maxRetries) {
+            this.maxRetries = maxRetries;
+            this.maximum = maximum;
+            this.minimum = minimum;
+        }
+
+        private static void pause(AtomicReference<Instant> pausedUntil, Instant until) {
+            pausedUntil.accumulateAndGet(until, (a, b) -> a.isAfter(b) ? a : b);
+        }
+
+        private <T> Function<Integer, Mono<T>> apply(Function<Integer, Mono<T>> pageSupplier) {
+            AtomicReference<Instant> pausedUntil = new AtomicReference<>(Instant.EPOCH);
+
+            return page -> Mono
+                .defer(() -> {
+                    Duration pause = Duration.between(Instant.now(), pausedUntil.get());
+                    return pause.isNegative() || pause.isZero() ? Mono.<Long>empty() : Mono.delay(pause);
+                })
+                .then(Mono.defer(() -> pageSupplier.apply(page)))
+                .retryWhen(Retry.backoff(this.maxRetries, this.minimum)
+                    .maxBackoff(this.maximum)
+                    .filter(PageFetchStrategy::isOverloaded)
+                    .doBeforeRetry(signal -> pause(pausedUntil, Instant.now().plus(getDelay(signal.totalRetries())))));
+        }
+
+        private Duration getDelay(long retries) {
+            Duration candidate = this.minimum.multipliedBy(1L << Math.min(retries, 30));
+            return candidate.compareTo(this.maximum) > 0 ? this.maximum : candidate;
+        }
+
+    }
+
+}
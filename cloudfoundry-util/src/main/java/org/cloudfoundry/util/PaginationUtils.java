@@ -16,11 +16,20 @@
 
 package org.cloudfoundry.util;
 
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * A utility class to provide functions for handling PaginatedResponse and those containing lists of Resources.
@@ -41,9 +50,24 @@ public final class PaginationUtils {
     public static <T extends org.cloudfoundry.client.v2.Resource<?>, U extends org.cloudfoundry.client.v2.PaginatedResponse<T>> Flux<T> requestClientV2Resources(
         Function<Integer, Mono<U>> pageSupplier) {
 
+        return requestClientV2Resources(pageSupplier, PageFetchStrategy.defaultStrategy());
+    }
+
+    /**
+     * Generate the stream of resources accumulated from a series of responses obtained from the page supplier.
+     *
+     * @param pageSupplier a function from integers to {@link Mono}s of {@link org.cloudfoundry.client.v2.PaginatedResponse}s.
+     * @param strategy     the {@link PageFetchStrategy} used to request the pages after the first
+     * @param <T>          the type of resource in the list on each {@link org.cloudfoundry.client.v2.PaginatedResponse}.
+     * @param <U>          the type of {@link org.cloudfoundry.client.v2.PaginatedResponse}.
+     * @return a stream of <code>T</code> objects.
+     */
+    public static <T extends org.cloudfoundry.client.v2.Resource<?>, U extends org.cloudfoundry.client.v2.PaginatedResponse<T>> Flux<T> requestClientV2Resources(
+        Function<Integer, Mono<U>> pageSupplier, PageFetchStrategy strategy) {
+
         return pageSupplier
             .apply(1)
-            .flatMapMany(requestClientV2AdditionalPages(pageSupplier))
+            .flatMapMany(requestClientV2AdditionalPages(pageSupplier, strategy))
             .flatMap(ResourceUtils::getResources);
     }
 
@@ -57,10 +81,55 @@ public final class PaginationUtils {
      */
     @SuppressWarnings("rawtypes")
     public static <T, U extends org.cloudfoundry.client.v3.PaginatedResponse<T>> Flux<T> requestClientV3Resources(Function<Integer, Mono<U>> pageSupplier) {
+        return requestClientV3Resources(pageSupplier, PageFetchStrategy.defaultStrategy());
+    }
+
+    /**
+     * Generate the stream of resources accumulated from a series of responses obtained from the page supplier.
+     *
+     * @param pageSupplier a function from integers to {@link Mono}s of {@link org.cloudfoundry.client.v3.PaginatedResponse}s.
+     * @param strategy     the {@link PageFetchStrategy} used to request the pages after the first
+     * @param <T>          the type of resource in the list on each {@link org.cloudfoundry.client.v3.PaginatedResponse}.
+     * @param <U>          the type of {@link org.cloudfoundry.client.v3.PaginatedResponse}.
+     * @return a stream of <code>T</code> objects.
+     */
+    @SuppressWarnings("rawtypes")
+    public static <T, U extends org.cloudfoundry.client.v3.PaginatedResponse<T>> Flux<T> requestClientV3Resources(Function<Integer, Mono<U>> pageSupplier, PageFetchStrategy strategy) {
         return pageSupplier
             .apply(1)
-            .flatMapMany(requestClientV3AdditionalPages(pageSupplier))
-            .flatMapIterable(org.cloudfoundry.client.v3.PaginatedResponse::getResources);
+            .flatMapMany(requestClientV3AdditionalPages(pageSupplier, strategy))
+            .flatMapIterable(PaginationUtils::getResources);
+    }
+
+    /**
+     * Generate the stream of resources from a series of responses obtained from the page supplier, following the {@code next} link of each response.  Unlike
+     * {@link #requestClientV3Resources(Function)}, a page is only requested once all the resources of the previous page have been consumed and more are requested, so a
+     * subscriber that cancels early (e.g. with {@code next()} or {@code take(n)}) does not cause the remaining pages to be requested.
+     *
+     * @param pageSupplier a function from integers to {@link Mono}s of {@link org.cloudfoundry.client.v3.PaginatedResponse}s.
+     * @param <T>          the type of resource in the list on each {@link org.cloudfoundry.client.v3.PaginatedResponse}.
+     * @param <U>          the type of {@link org.cloudfoundry.client.v3.PaginatedResponse}.
+     * @return a stream of <code>T</code> objects.
+     */
+    public static <T, U extends org.cloudfoundry.client.v3.PaginatedResponse<T>> Flux<T> requestClientV3ResourcesLazily(Function<Integer, Mono<U>> pageSupplier) {
+        return PaginationUtils.<T, U>requestClientV3StreamedPages((page, pageConsumer) -> pageSupplier
+            .apply(page)
+            .doOnNext(pageConsumer)
+            .flatMapIterable(PaginationUtils::getResources), 1);
+    }
+
+    /**
+     * Generate the stream of resources from a series of pages whose resources are emitted as they are decoded, following the {@code next} link of each page.  The page
+     * supplier is given the page number and a consumer for the rest of the page (at least its pagination), which it must call before the resources of the page complete.  A
+     * page is only requested once all the resources of the previous page have been consumed and more are requested.
+     *
+     * @param pageSupplier a function from a page number and a consumer of the rest of the page to the resources of that page
+     * @param <T>          the type of resource in the list on each {@link org.cloudfoundry.client.v3.PaginatedResponse}.
+     * @param <U>          the type of {@link org.cloudfoundry.client.v3.PaginatedResponse}.
+     * @return a stream of <code>T</code> objects.
+     */
+    public static <T, U extends org.cloudfoundry.client.v3.PaginatedResponse<T>> Flux<T> requestClientV3StreamedResources(BiFunction<Integer, Consumer<U>, Flux<T>> pageSupplier) {
+        return requestClientV3StreamedPages(pageSupplier, 1);
     }
 
     /**
@@ -73,45 +142,117 @@ public final class PaginationUtils {
      */
     @SuppressWarnings("rawtypes")
     public static <T, U extends org.cloudfoundry.uaa.PaginatedResponse<T>> Flux<T> requestUaaResources(Function<Integer, Mono<U>> pageSupplier) {
+        return requestUaaResources(pageSupplier, PageFetchStrategy.defaultStrategy());
+    }
+
+    /**
+     * Generate the stream of resources accumulated from a series of responses obtained from the page supplier.
+     *
+     * @param pageSupplier a function from integers to {@link Mono}s of {@link org.cloudfoundry.uaa.PaginatedResponse}s.
+     * @param strategy     the {@link PageFetchStrategy} used to request the pages after the first
+     * @param <T>          the type of resource in the list on each {@link org.cloudfoundry.uaa.PaginatedResponse}.
+     * @param <U>          the type of {@link org.cloudfoundry.uaa.PaginatedResponse}.
+     * @return a stream of <code>T</code> objects.
+     */
+    @SuppressWarnings("rawtypes")
+    public static <T, U extends org.cloudfoundry.uaa.PaginatedResponse<T>> Flux<T> requestUaaResources(Function<Integer, Mono<U>> pageSupplier, PageFetchStrategy strategy) {
         return pageSupplier
             .apply(1)
-            .flatMapMany(requestUaaAdditionalPages(pageSupplier))
+            .flatMapMany(requestUaaAdditionalPages(pageSupplier, strategy))
             .flatMapIterable(org.cloudfoundry.uaa.PaginatedResponse::getResources);
     }
 
-    private static <T> Function<T, Flux<T>> requestAdditionalPages(Function<Integer, Mono<T>> pageSupplier, Function<T, Integer> totalPagesSupplier) {
+    private static <T> List<T> getResources(org.cloudfoundry.client.v3.PaginatedResponse<T> response) {
+        return Optional.ofNullable(response.getResources()).orElse(Collections.emptyList());
+    }
+
+    private static boolean hasNextPage(org.cloudfoundry.client.v3.PaginatedResponse<?> response) {
+        return response.getPagination() != null && response.getPagination().getNext() != null;
+    }
+
+    private static <T> Function<T, Flux<T>> requestAdditionalPages(Function<Integer, Mono<T>> pageSupplier, Function<T, Integer> totalPagesSupplier, PageFetchStrategy strategy) {
         return response -> {
             Integer totalPages = Optional.ofNullable(totalPagesSupplier.apply(response)).orElse(1);
 
-            return Flux
-                .range(2, totalPages - 1)
-                .flatMap(pageSupplier)
-                .startWith(response)
-                .buffer()
-                .flatMapIterable(d -> d);
+            return strategy
+                .fetch(Flux.range(2, totalPages - 1), pageSupplier)
+                .startWith(response);
         };
     }
 
-    private static <T extends org.cloudfoundry.client.v2.PaginatedResponse<?>> Function<T, Flux<T>> requestClientV2AdditionalPages(Function<Integer, Mono<T>> pageSupplier) {
-        return requestAdditionalPages(pageSupplier, response -> response.getTotalPages());
+    private static <T extends org.cloudfoundry.client.v2.PaginatedResponse<?>> Function<T, Flux<T>> requestClientV2AdditionalPages(Function<Integer, Mono<T>> pageSupplier,
+                                                                                                                                PageFetchStrategy strategy) {
+        return requestAdditionalPages(pageSupplier, response -> response.getTotalPages(), strategy);
     }
 
-    private static <T extends org.cloudfoundry.client.v3.PaginatedResponse<?>> Function<T, Flux<T>> requestClientV3AdditionalPages(Function<Integer, Mono<T>> pageSupplier) {
-        return requestAdditionalPages(pageSupplier, response -> response.getPagination().getTotalPages());
+    private static <T extends org.cloudfoundry.client.v3.PaginatedResponse<?>> Function<T, Flux<T>> requestClientV3AdditionalPages(Function<Integer, Mono<T>> pageSupplier,
+                                                                                                                                PageFetchStrategy strategy) {
+        return requestAdditionalPages(pageSupplier, response -> response.getPagination().getTotalPages(), strategy);
+    }
+
+    private static <T, U extends org.cloudfoundry.client.v3.PaginatedResponse<T>> Flux<T> requestClientV3StreamedPages(BiFunction<Integer, Consumer<U>, Flux<T>> pageSupplier,
+                                                                                                                      int page) {
+        return Flux.defer(() -> {
+            AtomicReference<U> response = new AtomicReference<>();
+
+            return pageSupplier.apply(page, response::set)
+                .concatWith(whenRequested(() -> Mono.justOrEmpty(response.get())
+                    .filter(PaginationUtils::hasNextPage)
+                    .flatMapMany(ignore -> requestClientV3StreamedPages(pageSupplier, page + 1))));
+        });
     }
 
-    private static <T extends org.cloudfoundry.uaa.PaginatedResponse<?>> Function<T, Flux<T>> requestUaaAdditionalPages(Function<Integer, Mono<T>> pageSupplier) {
+    private static <T extends org.cloudfoundry.uaa.PaginatedResponse<?>> Function<T, Flux<T>> requestUaaAdditionalPages(Function<Integer, Mono<T>> pageSupplier, PageFetchStrategy strategy) {
         return response -> {
             Integer totalPages = (response.getTotalResults() - 1) / response.getItemsPerPage() + 1;
 
-            return Flux
-                .range(1, totalPages - 1)
-                .map(page -> 1 + (page * response.getItemsPerPage()))
-                .flatMap(pageSupplier)
-                .startWith(response)
-                .buffer()
-                .flatMapIterable(d -> d);
+            return strategy
+                .fetch(Flux.range(1, totalPages - 1)
+                    .map(page -> 1 + (page * response.getItemsPerPage())), pageSupplier)
+                .startWith(response);
         };
     }
 
+    /**
+     * Subscribes to the supplied {@link Flux} only once the subscriber requests an element, passing each request through, so that concatenating it after another source
+     * does not start it until the elements of that source have been consumed and more are requested.  Elements are only emitted on request, so the sink never buffers.
+     */
+    private static <T> Flux<T> whenRequested(Supplier<Flux<T>> supplier) {
+        return Flux.create(sink -> {
+            AtomicBoolean subscribed = new AtomicBoolean();
+
+            BaseSubscriber<T> subscriber = new BaseSubscriber<T>() {
+
+                @Override
+                protected void hookOnComplete() {
+                    sink.complete();
+                }
+
+                @Override
+                protected void hookOnError(Throwable throwable) {
+                    sink.error(throwable);
+                }
+
+                @Override
+                protected void hookOnNext(T value) {
+                    sink.next(value);
+                }
+
+                @Override
+                protected void hookOnSubscribe(Subscription subscription) {
+                }
+
+            };
+
+            sink.onDispose(subscriber);
+            sink.onRequest(n -> {
+                if (subscribed.compareAndSet(false, true)) {
+                    supplier.get().subscribe(subscriber);
+                }
+
+                subscriber.request(n);
+            });
+        });
+    }
+
 }
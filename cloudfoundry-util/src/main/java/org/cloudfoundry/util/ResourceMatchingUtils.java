@@ -16,7 +16,6 @@
 
 package org.cloudfoundry.util;
 
-import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
 import org.apache.commons.compress.archivers.zip.ZipFile;
 import org.cloudfoundry.client.CloudFoundryClient;
 import org.cloudfoundry.client.v2.resourcematch.ListMatchingResourcesRequest;
@@ -28,6 +27,8 @@ import reactor.core.Exceptions;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -35,33 +36,124 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Enumeration;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 /**
  * Utilities for matching resources
  */
 public final class ResourceMatchingUtils {
 
+    /**
+     * The default number of resources sent in each resource matching request
+     */
+    public static final int DEFAULT_MATCH_BATCH_SIZE = 500;
+
+    /**
+     * The default number of resource matching requests in flight at once
+     */
+    public static final int DEFAULT_MATCH_CONCURRENCY = 4;
+
+    private static final int HASH_CONCURRENCY = Runtime.getRuntime().availableProcessors();
+
     private static final Logger LOGGER = LoggerFactory.getLogger("cloudfoundry-client.resource-matching");
 
     private ResourceMatchingUtils() {
     }
 
+    /**
+     * Compresses an application directory and returns the resources of it that the Cloud Controller already has.  Each file is hashed as it is written to the archive, so it is only read from
+     * disk once.
+     *
+     * @param cloudFoundryClient the client to use to match resources
+     * @param application        the application directory
+     * @param batchSize          the number of resources sent in each resource matching request
+     * @param concurrency        the number of resource matching requests in flight at once
+     * @return the compressed application, which the caller is responsible for deleting once it is emitted, and the matched resources
+     */
+    public static Mono<Tuple2<Path, List<ArtifactMetadata>>> compressAndGetMatchedResources(CloudFoundryClient cloudFoundryClient, Path application, int batchSize, int concurrency) {
+        return Mono
+            .defer(() -> {
+                List<ArtifactMetadata> artifactMetadatas = new ArrayList<>();
+
+                return Mono.usingWhen(
+                    FileUtils.compressAndHash(application, (path, hash) -> artifactMetadatas.add(new ArtifactMetadata(hash, FileUtils.getRelativePathName(application, path),
+                        FileUtils.permissions(path), FileUtils.size(path)))),
+                    compressed -> getMatchedResources(cloudFoundryClient, Flux.fromIterable(artifactMetadatas), batchSize, concurrency)
+                        .map(matched -> Tuples.of(compressed, matched)),
+                    compressed -> Mono.empty(),
+                    (compressed, t) -> delete(compressed),
+                    ResourceMatchingUtils::delete);
+            });
+    }
+
     public static Mono<List<ArtifactMetadata>> getMatchedResources(CloudFoundryClient cloudFoundryClient, Path application) {
-        return (Files.isDirectory(application) ? getArtifactMetadataFromDirectory(application) : getArtifactMetadataFromZip(application))
-            .collectMap(ArtifactMetadata::getHash)
-            .flatMapMany(artifactMetadatas -> requestListMatchingResources(cloudFoundryClient, artifactMetadatas.values())
-                .flatMapIterable(ListMatchingResourcesResponse::getResources)
-                .map(resource -> artifactMetadatas.get(resource.getHash())))
-            .collectList()
-            .doOnNext(matched -> LOGGER.debug("{} resources matched totaling {}", matched.size(), SizeUtils.asIbi(matched.stream()
-                .mapToInt(ArtifactMetadata::getSize)
-                .sum())))
-            .subscribeOn(Schedulers.boundedElastic());
+        return getMatchedResources(cloudFoundryClient, application, DEFAULT_MATCH_BATCH_SIZE, DEFAULT_MATCH_CONCURRENCY);
+    }
+
+    /**
+     * Returns the resources of an application that the Cloud Controller already has
+     *
+     * @param cloudFoundryClient the client to use to match resources
+     * @param application        the application directory or archive
+     * @param batchSize          the number of resources sent in each resource matching request
+     * @param concurrency        the number of resource matching requests in flight at once
+     * @return the matched resources
+     */
+    public static Mono<List<ArtifactMetadata>> getMatchedResources(CloudFoundryClient cloudFoundryClient, Path application, int batchSize, int concurrency) {
+        return getMatchedResources(cloudFoundryClient, getArtifactMetadata(application, FileUtils::hash), batchSize, concurrency);
+    }
+
+    /**
+     * Returns the resources of an application that the Cloud Controller already has, looking up the hashes of files in a directory in a {@link FileHashCache} and persisting any new hashes
+     *
+     * @param cloudFoundryClient the client to use to match resources
+     * @param application        the application directory or archive
+     * @param fileHashCache      the cache of file hashes
+     * @param batchSize          the number of resources sent in each resource matching request
+     * @param concurrency        the number of resource matching requests in flight at once
+     * @return the matched resources
+     */
+    public static Mono<List<ArtifactMetadata>> getMatchedResources(CloudFoundryClient cloudFoundryClient, Path application, FileHashCache fileHashCache, int batchSize, int concurrency) {
+        return getMatchedResources(cloudFoundryClient, getArtifactMetadata(application, fileHashCache::hash)
+            .doOnComplete(fileHashCache::save), batchSize, concurrency);
     }
 
-    private static Flux<ArtifactMetadata> getArtifactMetadataFromDirectory(Path application) {
+    /**
+     * Returns a filter that accepts the relative paths of an application that have not been matched, suitable for use with {@link FileUtils#compress(Path, Predicate)}.  The matched paths are
+     * indexed so that each test takes constant time regardless of the number of matched resources.
+     *
+     * @param matchedResources the resources that have been matched
+     * @return a filter that accepts paths that have not been matched
+     */
+    public static Predicate<String> isUnmatched(Collection<ArtifactMetadata> matchedResources) {
+        Set<String> paths = matchedResources.stream()
+            .map(ArtifactMetadata::getPath)
+            .collect(Collectors.toSet());
+
+        return path -> !paths.contains(path);
+    }
+
+    private static Mono<Void> delete(Path path) {
+        return Mono.fromRunnable(() -> {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                throw Exceptions.propagate(e);
+            }
+        });
+    }
+
+    private static Flux<ArtifactMetadata> getArtifactMetadata(Path application, Function<Path, String> hasher) {
+        return Files.isDirectory(application) ? getArtifactMetadataFromDirectory(application, hasher) : getArtifactMetadataFromZip(application);
+    }
+
+    private static Flux<ArtifactMetadata> getArtifactMetadataFromDirectory(Path application, Function<Path, String> hasher) {
         return Flux
             .defer(() -> {
                 try {
@@ -71,35 +163,51 @@ public final class ResourceMatchingUtils {
                 }
             })
             .filter(path -> !Files.isDirectory(path))
-            .map(path -> new ArtifactMetadata(FileUtils.hash(path), FileUtils.getRelativePathName(application, path), FileUtils.permissions(path), FileUtils.size(path)));
+            .flatMap(path -> Mono
+                .fromCallable(() -> new ArtifactMetadata(hasher.apply(path), FileUtils.getRelativePathName(application, path), FileUtils.permissions(path), FileUtils.size(path)))
+                .subscribeOn(Schedulers.boundedElastic()), HASH_CONCURRENCY);
     }
 
     private static Flux<ArtifactMetadata> getArtifactMetadataFromZip(Path application) {
-        List<ArtifactMetadata> artifactMetadatas = new ArrayList<>();
-
-        try (ZipFile zipFile = new ZipFile(application.toFile())) {
-            Enumeration<ZipArchiveEntry> entries = zipFile.getEntries();
-
-            while (entries.hasMoreElements()) {
-                ZipArchiveEntry entry = entries.nextElement();
-
-                if (!entry.isDirectory()) {
-                    try (InputStream in = zipFile.getInputStream(entry)) {
-                        String hash = FileUtils.hash(in);
-                        String path = entry.getName();
-                        String permissions = FileUtils.permissions(entry.getUnixMode());
-                        int size = (int) entry.getSize();
-
-                        artifactMetadatas.add(new ArtifactMetadata(hash, path, permissions, size));
+        return Flux
+            .using(() -> new ZipFile(application.toFile()), zipFile -> Flux.fromIterable(Collections.list(zipFile.getEntries()))
+                    .filter(entry -> !entry.isDirectory())
+                    .flatMap(entry -> Mono
+                        .fromCallable(() -> {
+                            try (InputStream in = zipFile.getInputStream(entry)) {
+                                return new ArtifactMetadata(FileUtils.hash(in), entry.getName(), FileUtils.permissions(entry.getUnixMode()), (int) entry.getSize());
+                            }
+                        })
+                        .subscribeOn(Schedulers.boundedElastic()), HASH_CONCURRENCY),
+                zipFile -> {
+                    try {
+                        zipFile.close();
+                    } catch (IOException e) {
+                        throw Exceptions.propagate(e);
                     }
+                });
+    }
 
-                }
-            }
-        } catch (IOException e) {
-            throw Exceptions.propagate(e);
-        }
+    static Mono<List<ArtifactMetadata>> getMatchedResources(CloudFoundryClient cloudFoundryClient, Flux<ArtifactMetadata> artifactMetadata, int batchSize, int concurrency) {
+        return artifactMetadata
+            .buffer(batchSize)
+            .flatMap(batch -> getMatchedResources(cloudFoundryClient, batch), concurrency)
+            .collectList()
+            .doOnNext(matched -> LOGGER.debug("{} resources matched totaling {}", matched.size(), SizeUtils.asIbi(matched.stream()
+                .mapToInt(ArtifactMetadata::getSize)
+                .sum())))
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private static Flux<ArtifactMetadata> getMatchedResources(CloudFoundryClient cloudFoundryClient, List<ArtifactMetadata> batch) {
+        Map<String, List<ArtifactMetadata>> artifactMetadatas = batch.stream()
+            .collect(Collectors.groupingBy(ArtifactMetadata::getHash));
 
-        return Flux.fromIterable(artifactMetadatas);
+        return requestListMatchingResources(cloudFoundryClient, artifactMetadatas.values().stream()
+            .map(candidates -> candidates.get(0))
+            .collect(Collectors.toList()))
+            .flatMapIterable(ListMatchingResourcesResponse::getResources)
+            .flatMapIterable(resource -> artifactMetadatas.get(resource.getHash()));
     }
 
     private static Mono<ListMatchingResourcesResponse> requestListMatchingResources(CloudFoundryClient cloudFoundryClient, Collection<ArtifactMetadata> artifactMetadatas) {
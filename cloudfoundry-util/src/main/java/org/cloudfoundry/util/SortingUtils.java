@@ -17,8 +17,11 @@
 package org.cloudfoundry.util;
 
 import reactor.core.Disposable;
+import reactor.core.Disposables;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 import reactor.util.function.Tuple2;
 
 import java.time.Duration;
@@ -26,10 +29,14 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
 import java.util.PriorityQueue;
 import java.util.Queue;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
+import java.util.function.ToLongFunction;
 
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static reactor.core.publisher.Sinks.EmitFailureHandler.FAIL_FAST;
 
 /**
@@ -48,7 +55,9 @@ public final class SortingUtils {
      * @param timespan   the duration of the 'temporal locality'
      * @param <T>        The type of the elements to be sorted
      * @return a {@link Flux} providing the sorted elements
+     * @deprecated use {@link #watermark(ToLongFunction, Duration, int)}, which emits elements as soon as their order is settled
      */
+    @Deprecated
     public static <T> Function<Flux<T>, Flux<T>> timespan(Comparator<T> comparator, Duration timespan) {
         return source -> {
             Queue<Tuple2<Long, T>> accumulator = new PriorityQueue<>((o1, o2) -> comparator.compare(o1.getT2(), o2.getT2()));
@@ -73,6 +82,35 @@ public final class SortingUtils {
         };
     }
 
+    /**
+     * Sorts the elements of a {@link Flux} by event time using a watermark.  The watermark trails the latest event time seen by {@code lateness}, and every element at or before the watermark
+     * is emitted as soon as it is passed, so elements are held back only as long as an earlier element could still arrive.  If no element arrives for {@code lateness} of wall-clock time, all held
+     * back elements are emitted.  Elements with equal event times keep their arrival order.
+     *
+     * @param eventTime   a function returning the event time of an element, in nanoseconds
+     * @param lateness    how far out of order, in event time, elements may arrive
+     * @param maxBuffered the maximum number of elements to hold back.  When exceeded, the earliest element is emitted even though it has not been passed by the watermark.
+     * @param <T>         The type of the elements to be sorted
+     * @return a {@link Flux} providing the sorted elements
+     */
+    public static <T> Function<Flux<T>, Flux<T>> watermark(ToLongFunction<T> eventTime, Duration lateness, int maxBuffered) {
+        return source -> Flux.defer(() -> {
+            IdleTimer<T> idleTimer = new IdleTimer<>(lateness.toNanos(), Schedulers.parallel());
+            Watermark<T> watermark = new Watermark<>(eventTime, idleTimer, lateness.toNanos(), maxBuffered);
+
+            return source
+                .publish(shared -> shared
+                    .map(Optional::of)
+                    .mergeWith(idleTimer.ticks()
+                        .takeUntilOther(shared.then())))
+                .concatMapIterable(item -> item
+                    .map(watermark::add)
+                    .orElseGet(watermark::drain))
+                .concatWith(Flux.defer(() -> Flux.fromIterable(watermark.drain())))
+                .doFinally(signal -> idleTimer.dispose());
+        });
+    }
+
     private static <T> Flux<T> getItems(Queue<Tuple2<Long, T>> accumulator, Object monitor, Duration timespan) {
         List<T> items = new ArrayList<>();
 
@@ -89,4 +127,141 @@ public final class SortingUtils {
         return candidate != null && (Duration.ZERO == timespan || Instant.ofEpochMilli(candidate.getT1()).isBefore(Instant.now().minus(timespan)));
     }
 
+    /**
+     * A single timer that signals once no element has arrived for the idle duration.  It is armed only when held back elements appear, and when it fires early it is re-scheduled for the
+     * remainder of the idle duration instead of being replaced on every arrival.
+     */
+    private static final class IdleTimer<T> {
+
+        private final AtomicBoolean armed = new AtomicBoolean();
+
+        private final long idle;
+
+        private volatile long lastArrival;
+
+        private final Scheduler scheduler;
+
+        private final Disposable.Swap task = Disposables.swap();
+
+        private final Sinks.Many<Optional<T>> ticks = Sinks.many().unicast().onBackpressureBuffer();
+
+        private IdleTimer(long idle, Scheduler scheduler) {
+            this.idle = idle;
+            this.scheduler = scheduler;
+        }
+
+        private void arm() {
+            if (this.armed.compareAndSet(false, true)) {
+                schedule(this.idle);
+            }
+        }
+
+        private void arrived() {
+            this.lastArrival = this.scheduler.now(NANOSECONDS);
+        }
+
+        private void dispose() {
+            this.task.dispose();
+        }
+
+        private void fire() {
+            long remaining = this.lastArrival + this.idle - this.scheduler.now(NANOSECONDS);
+
+            if (remaining > 0) {
+                schedule(remaining);
+                return;
+            }
+
+            this.armed.set(false);
+            this.ticks.tryEmitNext(Optional.empty());
+        }
+
+        private void schedule(long delay) {
+            this.task.replace(this.scheduler.schedule(this::fire, delay, NANOSECONDS));
+        }
+
+        private Flux<Optional<T>> ticks() {
+            return this.ticks.asFlux();
+        }
+
+    }
+
+    private static final class Watermark<T> {
+
+        private final PriorityQueue<Element<T>> elements = new PriorityQueue<>();
+
+        private final ToLongFunction<T> eventTime;
+
+        private final IdleTimer<T> idleTimer;
+
+        private final long lateness;
+
+        private long latest = Long.MIN_VALUE;
+
+        private final int maxBuffered;
+
+        private long sequence;
+
+        private Watermark(ToLongFunction<T> eventTime, IdleTimer<T> idleTimer, long lateness, int maxBuffered) {
+            this.eventTime = eventTime;
+            this.idleTimer = idleTimer;
+            this.lateness = lateness;
+            this.maxBuffered = maxBuffered;
+        }
+
+        private List<T> add(T value) {
+            this.idleTimer.arrived();
+
+            long time = this.eventTime.applyAsLong(value);
+            this.elements.add(new Element<>(time, this.sequence++, value));
+            this.latest = Math.max(this.latest, time);
+
+            long watermark = this.latest - this.lateness;
+            List<T> items = new ArrayList<>();
+
+            while (!this.elements.isEmpty() && (this.elements.size() > this.maxBuffered || this.elements.peek().time <= watermark)) {
+                items.add(this.elements.remove().value);
+            }
+
+            if (!this.elements.isEmpty()) {
+                this.idleTimer.arm();
+            }
+
+            return items;
+        }
+
+        private List<T> drain() {
+            List<T> items = new ArrayList<>(this.elements.size());
+
+            while (!this.elements.isEmpty()) {
+                items.add(this.elements.remove().value);
+            }
+
+            return items;
+        }
+
+        private static final class Element<T> implements Comparable<Element<T>> {
+
+            private final long sequence;
+
+            private final long time;
+
+            private final T value;
+
+            private Element(long time, long sequence, T value) {
+                this.sequence = sequence;
+                this.time = time;
+                this.value = value;
+            }
+
+            @Override
+            public int compareTo(Element<T> other) {
+                int result = Long.compare(this.time, other.time);
+                return result != 0 ? result : Long.compare(this.sequence, other.sequence);
+            }
+
+        }
+
+    }
+
 }
@@ -0,0 +1,310 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.util;
+
+import org.cloudfoundry.client.CloudFoundryClient;
+import org.cloudfoundry.client.v3.ClientV3Exception;
+import org.cloudfoundry.client.v3.Error;
+import org.cloudfoundry.client.v3.LastOperation;
+import org.cloudfoundry.client.v3.Pagination;
+import org.cloudfoundry.client.v3.jobs.GetJobRequest;
+import org.cloudfoundry.client.v3.jobs.GetJobResponse;
+import org.cloudfoundry.client.v3.jobs.JobState;
+import org.cloudfoundry.client.v3.jobs.JobsV3;
+import org.cloudfoundry.client.v3.packages.BitsData;
+import org.cloudfoundry.client.v3.packages.GetPackageRequest;
+import org.cloudfoundry.client.v3.packages.GetPackageResponse;
+import org.cloudfoundry.client.v3.packages.PackageState;
+import org.cloudfoundry.client.v3.packages.PackageType;
+import org.cloudfoundry.client.v3.packages.Packages;
+import org.cloudfoundry.client.v3.serviceinstances.ListServiceInstancesRequest;
+import org.cloudfoundry.client.v3.serviceinstances.ListServiceInstancesResponse;
+import org.cloudfoundry.client.v3.serviceinstances.ServiceInstanceResource;
+import org.cloudfoundry.client.v3.serviceinstances.ServiceInstancesV3;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.RETURNS_SMART_NULLS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public final class CompletionPollerTest {
+
+    private final CloudFoundryClient cloudFoundryClient = mock(CloudFoundryClient.class, RETURNS_SMART_NULLS);
+
+    private final JobsV3 jobsV3 = mock(JobsV3.class, RETURNS_SMART_NULLS);
+
+    private final Packages packages = mock(Packages.class, RETURNS_SMART_NULLS);
+
+    private final CompletionPoller poller = new CompletionPoller(this.cloudFoundryClient, Duration.ofMillis(10), Duration.ofMillis(40));
+
+    private final ServiceInstancesV3 serviceInstancesV3 = mock(ServiceInstancesV3.class, RETURNS_SMART_NULLS);
+
+    {
+        when(this.cloudFoundryClient.jobsV3()).thenReturn(this.jobsV3);
+        when(this.cloudFoundryClient.packages()).thenReturn(this.packages);
+        when(this.cloudFoundryClient.serviceInstancesV3()).thenReturn(this.serviceInstancesV3);
+    }
+
+    @Test
+    public void waitForJobBackOff() {
+        when(this.jobsV3
+            .get(GetJobRequest.builder()
+                .jobId("test-job-id")
+                .build()))
+            .thenReturn(Mono
+                .just(job(JobState.PROCESSING)))
+            .thenReturn(Mono
+                .just(job(JobState.PROCESSING)))
+            .thenReturn(Mono
+                .just(job(JobState.PROCESSING)))
+            .thenReturn(Mono
+                .just(job(JobState.COMPLETE)));
+
+        StepVerifier.withVirtualTime(() -> new CompletionPoller(this.cloudFoundryClient, Duration.ofSeconds(1), Duration.ofSeconds(4))
+            .waitForJob(Duration.ofMinutes(1), "test-job-id"))
+            .expectSubscription()
+            .expectNoEvent(Duration.ofSeconds(7).minusMillis(1))
+            .thenAwait(Duration.ofMillis(1))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        verify(this.jobsV3, times(4)).get(GetJobRequest.builder()
+            .jobId("test-job-id")
+            .build());
+    }
+
+    @Test
+    public void waitForJobFailed() {
+        when(this.jobsV3
+            .get(GetJobRequest.builder()
+                .jobId("test-job-id")
+                .build()))
+            .thenReturn(Mono
+                .just(job(JobState.PROCESSING)))
+            .thenReturn(Mono
+                .just(job(JobState.FAILED)));
+
+        this.poller
+            .waitForJob(Duration.ofSeconds(5), "test-job-id")
+            .as(StepVerifier::create)
+            .consumeErrorWith(t -> assertThat(t).isInstanceOf(ClientV3Exception.class).hasMessage("test-title(1): test-detail"))
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void waitForLastOperation() {
+        ListServiceInstancesRequest request = listServiceInstancesRequest("test-service-instance-id-1");
+
+        when(this.serviceInstancesV3
+            .list(request))
+            .thenReturn(Mono
+                .just(serviceInstances("initial")))
+            .thenReturn(Mono
+                .just(serviceInstances("in progress")))
+            .thenReturn(Mono
+                .just(serviceInstances("succeeded")));
+
+        this.poller
+            .waitForLastOperation(Duration.ofSeconds(5), "test-service-instance-id-1")
+            .as(StepVerifier::create)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        verify(this.serviceInstancesV3, times(3)).list(request);
+    }
+
+    @Test
+    public void waitForLastOperationBatched() {
+        ListServiceInstancesRequest first = listServiceInstancesRequest("test-service-instance-id-1");
+        ListServiceInstancesRequest both = listServiceInstancesRequest("test-service-instance-id-1", "test-service-instance-id-2");
+
+        when(this.serviceInstancesV3
+            .list(first))
+            .thenReturn(Mono
+                .just(serviceInstances("in progress")));
+
+        when(this.serviceInstancesV3
+            .list(both))
+            .thenReturn(Mono
+                .just(serviceInstances("succeeded", "failed")));
+
+        StepVerifier.withVirtualTime(() -> {
+            CompletionPoller poller = new CompletionPoller(this.cloudFoundryClient, Duration.ofSeconds(1), Duration.ofSeconds(4));
+
+            return Mono
+                .when(
+                    poller.waitForLastOperation(Duration.ofMinutes(1), "test-service-instance-id-1"),
+                    poller.waitForLastOperation(Duration.ofMinutes(1), "test-service-instance-id-2"));
+        })
+            .expectSubscription()
+            .thenAwait(Duration.ofSeconds(1))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        verify(this.serviceInstancesV3, times(1)).list(first);
+        verify(this.serviceInstancesV3, times(1)).list(both);
+    }
+
+    @Test
+    public void waitForLastOperationDeleted() {
+        when(this.serviceInstancesV3
+            .list(listServiceInstancesRequest("test-service-instance-id-1")))
+            .thenReturn(Mono
+                .just(serviceInstances()));
+
+        this.poller
+            .waitForLastOperation(Duration.ofSeconds(5), "test-service-instance-id-1")
+            .as(StepVerifier::create)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void waitForLastOperationError() {
+        ListServiceInstancesRequest request = listServiceInstancesRequest("test-service-instance-id-1");
+
+        when(this.serviceInstancesV3
+            .list(request))
+            .thenReturn(Mono
+                .error(new IllegalStateException("test-error")));
+
+        this.poller
+            .waitForLastOperation(Duration.ofSeconds(5), "test-service-instance-id-1")
+            .as(StepVerifier::create)
+            .consumeErrorWith(t -> assertThat(t).isInstanceOf(IllegalStateException.class).hasMessage("test-error"))
+            .verify(Duration.ofSeconds(5));
+
+        verify(this.serviceInstancesV3, times(3)).list(request);
+    }
+
+    @Test
+    public void waitForLastOperationRetried() {
+        ListServiceInstancesRequest request = listServiceInstancesRequest("test-service-instance-id-1");
+
+        when(this.serviceInstancesV3
+            .list(request))
+            .thenReturn(Mono
+                .error(new IllegalStateException("test-error")))
+            .thenReturn(Mono
+                .just(serviceInstances("succeeded")));
+
+        this.poller
+            .waitForLastOperation(Duration.ofSeconds(5), "test-service-instance-id-1")
+            .as(StepVerifier::create)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        verify(this.serviceInstancesV3, times(2)).list(request);
+    }
+
+    @Test
+    public void waitForLastOperationTimeout() {
+        when(this.serviceInstancesV3
+            .list(listServiceInstancesRequest("test-service-instance-id-1")))
+            .thenReturn(Mono
+                .just(serviceInstances("in progress")));
+
+        this.poller
+            .waitForLastOperation(Duration.ofMillis(100), "test-service-instance-id-1")
+            .as(StepVerifier::create)
+            .expectError(DelayTimeoutException.class)
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void waitForPackage() {
+        when(this.packages
+            .get(GetPackageRequest.builder()
+                .packageId("test-package-id")
+                .build()))
+            .thenReturn(Mono
+                .just(getPackage(PackageState.AWAITING_UPLOAD)))
+            .thenReturn(Mono
+                .just(getPackage(PackageState.PROCESSING_UPLOAD)))
+            .thenReturn(Mono
+                .just(getPackage(PackageState.READY)));
+
+        this.poller
+            .waitForPackage(Duration.ofSeconds(5), "test-package-id")
+            .map(GetPackageResponse::getState)
+            .as(StepVerifier::create)
+            .expectNext(PackageState.READY)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    private static GetPackageResponse getPackage(PackageState state) {
+        return GetPackageResponse.builder()
+            .createdAt("test-created-at")
+            .data(BitsData.builder()
+                .build())
+            .id("test-package-id")
+            .state(state)
+            .type(PackageType.BITS)
+            .build();
+    }
+
+    private static GetJobResponse job(JobState state) {
+        return GetJobResponse.builder()
+            .createdAt("test-created-at")
+            .error(Error.builder()
+                .code(1)
+                .detail("test-detail")
+                .title("test-title")
+                .build())
+            .id("test-job-id")
+            .operation("test-operation")
+            .state(state)
+            .build();
+    }
+
+    private static ListServiceInstancesRequest listServiceInstancesRequest(String... serviceInstanceIds) {
+        return ListServiceInstancesRequest.builder()
+            .page(1)
+            .perPage(50)
+            .serviceInstanceIds(serviceInstanceIds)
+            .build();
+    }
+
+    private static ListServiceInstancesResponse serviceInstances(String... states) {
+        ListServiceInstancesResponse.Builder builder = ListServiceInstancesResponse.builder()
+            .pagination(Pagination.builder()
+                .totalPages(1)
+                .build());
+
+        for (int i = 0; i < states.length; i++) {
+            builder.resource(ServiceInstanceResource.builder()
+                .createdAt("test-created-at")
+                .id("test-service-instance-id-" + (i + 1))
+                .lastOperation(LastOperation.builder()
+                    .state(states[i])
+                    .build())
+                .name("test-service-instance-name-" + (i + 1))
+                .build());
+        }
+
+        return builder.build();
+    }
+
+}
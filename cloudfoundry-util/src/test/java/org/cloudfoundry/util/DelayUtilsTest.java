@@ -20,6 +20,7 @@ import org.junit.Test;
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 import reactor.test.StepVerifier;
 import reactor.test.scheduler.VirtualTimeScheduler;
 
@@ -66,6 +67,36 @@ public final class DelayUtilsTest {
             .verify(Duration.ofSeconds(5));
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void exponentialBackOffWakeup() {
+        Sinks.Many<String> wakeup = Sinks.many().multicast().directBestEffort();
+
+        StepVerifier.withVirtualTime(() -> (Publisher<Long>) DelayUtils.exponentialBackOff(Duration.ofSeconds(1), Duration.ofSeconds(5), Duration.ofSeconds(5), wakeup.asFlux())
+            .apply(Flux.just(1L, 2L)))
+            .expectSubscription()
+            .then(() -> wakeup.tryEmitNext("test-wakeup"))
+            .expectNext(0L)
+            .then(() -> VirtualTimeScheduler.get().advanceTimeBy(Duration.ofSeconds(4)))
+            .expectNext(0L)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void exponentialBackOffWakeupError() {
+        StepVerifier.withVirtualTime(() -> (Publisher<Long>) DelayUtils.exponentialBackOff(Duration.ofSeconds(1), Duration.ofSeconds(5), Duration.ofSeconds(5),
+            Flux.error(new IllegalStateException("test-wakeup-error")))
+            .apply(Flux.just(1L, 2L)))
+            .then(() -> VirtualTimeScheduler.get().advanceTimeBy(Duration.ofSeconds(2)))
+            .expectNext(0L)
+            .then(() -> VirtualTimeScheduler.get().advanceTimeBy(Duration.ofSeconds(4)))
+            .expectNext(0L)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
     @SuppressWarnings("unchecked")
     @Test
     public void fixed() {
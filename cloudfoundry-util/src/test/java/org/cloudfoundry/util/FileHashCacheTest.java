@@ -0,0 +1,159 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.util;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public final class FileHashCacheTest {
+
+    private static final FileTime LAST_MODIFIED = FileTime.from(Instant.now().minus(1, ChronoUnit.HOURS));
+
+    private final Path root;
+
+    public FileHashCacheTest() throws IOException {
+        this.root = Files.createTempDirectory("file-hash-cache-test-");
+    }
+
+    @After
+    public void deleteRoot() throws IOException {
+        try (Stream<Path> paths = Files.walk(this.root)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Test
+    public void hashLargeFile() throws IOException {
+        byte[] content = new byte[3 * 1_024 * 1_024];
+        new Random(0).nextBytes(content);
+        Path file = write("test-file", content);
+
+        assertThat(new FileHashCache().hash(file)).isEqualTo(FileUtils.hash(new ByteArrayInputStream(content)));
+    }
+
+    @Test
+    public void hashModified() throws IOException {
+        Path file = write("test-file", new byte[]{1, 2, 3});
+        FileHashCache fileHashCache = new FileHashCache();
+        String hash = fileHashCache.hash(file);
+
+        write("test-file", new byte[]{1, 2, 3, 4});
+
+        assertThat(fileHashCache.hash(file))
+            .isNotEqualTo(hash)
+            .isEqualTo(FileUtils.hash(new ByteArrayInputStream(new byte[]{1, 2, 3, 4})));
+    }
+
+    @Test
+    public void hashPersisted() throws IOException {
+        Path file = write("test-file", new byte[]{1, 2, 3});
+        Path cache = this.root.resolve("cache").resolve("hashes");
+
+        FileHashCache fileHashCache = new FileHashCache(cache);
+        String hash = fileHashCache.hash(file);
+        fileHashCache.save();
+
+        // same size and last modified time, so the persisted hash is trusted
+        write("test-file", new byte[]{4, 5, 6});
+
+        assertThat(new FileHashCache(cache).hash(file)).isEqualTo(hash);
+    }
+
+    @Test
+    public void hashPersistedNewline() throws IOException {
+        Path file = write("test\nfile", new byte[]{1, 2, 3});
+        Path cache = this.root.resolve("cache").resolve("hashes");
+
+        FileHashCache fileHashCache = new FileHashCache(cache);
+        String hash = fileHashCache.hash(file);
+        fileHashCache.save();
+
+        write("test\nfile", new byte[]{4, 5, 6});
+
+        assertThat(new FileHashCache(cache).hash(file)).isEqualTo(hash);
+    }
+
+    @Test
+    public void hashRecentlyModified() throws IOException {
+        Path file = this.root.resolve("test-file");
+        Files.write(file, new byte[]{1, 2, 3});
+        FileHashCache fileHashCache = new FileHashCache();
+        fileHashCache.hash(file);
+
+        Files.write(file, new byte[]{4, 5, 6});
+
+        assertThat(fileHashCache.hash(file)).isEqualTo(FileUtils.hash(new ByteArrayInputStream(new byte[]{4, 5, 6})));
+    }
+
+    @Test
+    public void saveEvictsUnhashed() throws IOException {
+        Path file1 = write("test-file-1", new byte[]{1, 2, 3});
+        Path file2 = write("test-file-2", new byte[]{1, 2, 3});
+        Path cache = this.root.resolve("cache").resolve("hashes");
+
+        FileHashCache fileHashCache = new FileHashCache(cache);
+        String hash = fileHashCache.hash(file1);
+        fileHashCache.hash(file2);
+        fileHashCache.save();
+
+        FileHashCache fileHashCache2 = new FileHashCache(cache);
+        fileHashCache2.hash(file1);
+        fileHashCache2.save();
+
+        write("test-file-1", new byte[]{4, 5, 6});
+        write("test-file-2", new byte[]{4, 5, 6});
+
+        FileHashCache fileHashCache3 = new FileHashCache(cache);
+        assertThat(fileHashCache3.hash(file1)).isEqualTo(hash);
+        assertThat(fileHashCache3.hash(file2)).isEqualTo(FileUtils.hash(new ByteArrayInputStream(new byte[]{4, 5, 6})));
+    }
+
+    @Test
+    public void saveUnwritable() throws IOException {
+        Path file = write("test-file", new byte[]{1, 2, 3});
+        Path cache = write("cache", new byte[0]).resolve("hashes");
+
+        FileHashCache fileHashCache = new FileHashCache(cache);
+        String hash = fileHashCache.hash(file);
+        fileHashCache.save();
+
+        assertThat(fileHashCache.hash(file)).isEqualTo(hash);
+    }
+
+    private Path write(String name, byte[] content) throws IOException {
+        Path file = Files.write(this.root.resolve(name), content);
+        Files.setLastModifiedTime(file, LAST_MODIFIED);
+        return file;
+    }
+
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.util;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public final class FileUtilsTest {
+
+    private final Path root;
+
+    public FileUtilsTest() throws IOException {
+        this.root = Files.createTempDirectory("file-utils-test-");
+    }
+
+    @After
+    public void deleteRoot() throws IOException {
+        try (Stream<Path> paths = Files.walk(this.root)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Test
+    public void compressAndHash() throws IOException {
+        Random random = new Random(0);
+        Map<String, String> expected = new HashMap<>();
+
+        Files.createDirectory(this.root.resolve("test-directory"));
+        for (int i = 0; i < 20; i++) {
+            byte[] content = new byte[random.nextInt(256 * 1_024)];
+            random.nextBytes(content);
+
+            String name = String.format("%stest-file-%d", i % 2 == 0 ? "test-directory/" : "", i);
+            Files.write(this.root.resolve(name), content);
+            expected.put(name, FileUtils.hash(this.root.resolve(name)));
+        }
+
+        Map<String, String> hashes = new HashMap<>();
+        Path compressed = FileUtils.compressAndHash(this.root, (path, hash) -> hashes.put(FileUtils.getRelativePathName(this.root, path), hash))
+            .block(Duration.ofSeconds(10));
+
+        try {
+            assertThat(hashes).isEqualTo(expected);
+            assertThat(entries(compressed)).containsAllEntriesOf(expected).containsKey("test-directory/").hasSize(21);
+
+            Path filtered = FileUtils.compress(compressed, path -> !path.startsWith("test-directory/"))
+                .block(Duration.ofSeconds(10));
+
+            try {
+                assertThat(entries(filtered)).hasSize(10).allSatisfy((name, hash) -> assertThat(hash).isEqualTo(expected.get(name)));
+            } finally {
+                Files.delete(filtered);
+            }
+        } finally {
+            Files.delete(compressed);
+        }
+    }
+
+    @Test
+    public void compressUnmatched() throws IOException {
+        Random random = new Random(0);
+        Map<String, String> expected = new HashMap<>();
+        List<ResourceMatchingUtils.ArtifactMetadata> matched = new ArrayList<>();
+
+        Files.createDirectory(this.root.resolve("test-directory"));
+        for (int i = 0; i < 20; i++) {
+            byte[] content = new byte[random.nextInt(256 * 1_024)];
+            random.nextBytes(content);
+
+            String name = String.format("%stest-file-%d", i % 2 == 0 ? "test-directory/" : "", i);
+            Files.write(this.root.resolve(name), content);
+
+            if (i % 4 == 0) {
+                matched.add(new ResourceMatchingUtils.ArtifactMetadata(FileUtils.hash(this.root.resolve(name)), name, "744", content.length));
+            } else {
+                expected.put(name, FileUtils.hash(this.root.resolve(name)));
+            }
+        }
+
+        Path compressed = FileUtils.compress(this.root, ResourceMatchingUtils.isUnmatched(matched))
+            .block(Duration.ofSeconds(10));
+
+        try {
+            assertThat(entries(compressed)).containsAllEntriesOf(expected).containsKey("test-directory/").hasSize(16);
+        } finally {
+            Files.delete(compressed);
+        }
+    }
+
+    @Test
+    public void hash() throws IOException {
+        Random random = new Random(0);
+
+        for (int size : new int[]{0, 1_000, 200 * 1_024 + 1}) {
+            byte[] content = new byte[size];
+            random.nextBytes(content);
+
+            Path file = this.root.resolve(String.format("test-file-%d", size));
+            Files.write(file, content);
+
+            assertThat(FileUtils.hash(file)).isEqualTo(FileUtils.hash(new ByteArrayInputStream(content)));
+        }
+    }
+
+    private static Map<String, String> entries(Path compressed) throws IOException {
+        try (ZipFile zipFile = new ZipFile(compressed.toFile())) {
+            Map<String, String> entries = new HashMap<>();
+
+            for (ZipArchiveEntry entry : Collections.list(zipFile.getEntries())) {
+                try (InputStream in = zipFile.getInputStream(entry)) {
+                    entries.put(entry.getName(), FileUtils.hash(in));
+                }
+            }
+
+            return entries;
+        }
+    }
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.util;
+
+import org.cloudfoundry.doppler.DopplerClient;
+import org.cloudfoundry.doppler.Envelope;
+import org.cloudfoundry.doppler.EventType;
+import org.cloudfoundry.doppler.FirehoseRequest;
+import org.cloudfoundry.doppler.OverflowPolicy;
+import org.cloudfoundry.doppler.ValueMetric;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_SMART_NULLS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public final class FirehoseNozzleTest {
+
+    private static final FirehoseRequest REQUEST = FirehoseRequest.builder()
+        .subscriptionId("test-subscription-id")
+        .build();
+
+    private final DopplerClient dopplerClient = mock(DopplerClient.class, RETURNS_SMART_NULLS);
+
+    @Test
+    public void envelopes() {
+        when(this.dopplerClient.firehose(REQUEST)).thenReturn(Flux.just(envelope(1L), envelope(2L)).concatWith(Flux.never()));
+
+        FirehoseNozzle nozzle = new FirehoseNozzle(this.dopplerClient, REQUEST, 3);
+
+        nozzle.envelopes()
+            .take(6)
+            .as(StepVerifier::create)
+            .expectNextCount(6)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        verify(this.dopplerClient, times(3)).firehose(REQUEST);
+        assertThat(nozzle.getStatistics()).hasSize(3)
+            .allSatisfy(statistics -> {
+                assertThat(statistics.getEnvelopes()).isEqualTo(2);
+                assertThat(statistics.getLag()).isPositive();
+                assertThat(statistics.getReconnects()).isZero();
+                assertThat(statistics.isConnected()).isFalse();
+            });
+    }
+
+    @Test
+    public void envelopesDropped() {
+        FirehoseRequest request = FirehoseRequest.builder()
+            .bufferSize(10)
+            .overflowPolicy(OverflowPolicy.DROP_OLDEST)
+            .subscriptionId("test-subscription-id")
+            .build();
+
+        when(this.dopplerClient.firehose(any(FirehoseRequest.class))).thenAnswer(invocation -> {
+            FirehoseRequest connectionRequest = invocation.getArgument(0);
+            connectionRequest.getDroppedEnvelopeConsumer().accept(envelope(1L));
+
+            return Flux.just(envelope(2L)).concatWith(Flux.never());
+        });
+
+        FirehoseNozzle nozzle = new FirehoseNozzle(this.dopplerClient, request, 2);
+
+        nozzle.envelopes()
+            .take(2)
+            .as(StepVerifier::create)
+            .expectNextCount(2)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(nozzle.getStatistics())
+            .allSatisfy(statistics -> {
+                assertThat(statistics.getDropped()).isEqualTo(1);
+                assertThat(statistics.getEnvelopes()).isEqualTo(1);
+            });
+    }
+
+    @Test
+    public void envelopesReconnect() {
+        when(this.dopplerClient.firehose(REQUEST))
+            .thenReturn(Flux.error(new IllegalStateException("test-error")))
+            .thenReturn(Flux.just(envelope(1L)))
+            .thenReturn(Flux.just(envelope(2L)).concatWith(Flux.never()));
+
+        FirehoseNozzle nozzle = new FirehoseNozzle(this.dopplerClient, REQUEST, 1, Duration.ofSeconds(1), Duration.ofSeconds(10));
+
+        StepVerifier.withVirtualTime(() -> nozzle.envelopes()
+            .map(Envelope::getTimestamp)
+            .take(2))
+            .expectSubscription()
+            .expectNoEvent(Duration.ofMillis(400))
+            .thenAwait(Duration.ofSeconds(2))
+            .expectNext(1L)
+            .thenAwait(Duration.ofSeconds(2))
+            .expectNext(2L)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(nozzle.getStatistics().get(0).getEnvelopes()).isEqualTo(2);
+        assertThat(nozzle.getStatistics().get(0).getReconnects()).isEqualTo(2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void noConnections() {
+        new FirehoseNozzle(this.dopplerClient, REQUEST, 0);
+    }
+
+    private static Envelope envelope(long timestamp) {
+        return Envelope.builder()
+            .eventType(EventType.VALUE_METRIC)
+            .origin("test-origin")
+            .timestamp(timestamp)
+            .valueMetric(ValueMetric.builder()
+                .name("test-name")
+                .unit("test-unit")
+                .value(1.0)
+                .build())
+            .build();
+    }
+
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.util;
+
+import org.cloudfoundry.logcache.v1.Envelope;
+import org.cloudfoundry.logcache.v1.EnvelopeBatch;
+import org.cloudfoundry.logcache.v1.LogCacheClient;
+import org.cloudfoundry.logcache.v1.ReadRequest;
+import org.cloudfoundry.logcache.v1.ReadResponse;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.mockito.Mockito.RETURNS_SMART_NULLS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public final class LogCacheWalkerTest {
+
+    private final LogCacheClient logCacheClient = mock(LogCacheClient.class, RETURNS_SMART_NULLS);
+
+    @Test
+    public void walk() {
+        ReadRequest request = ReadRequest.builder()
+            .endTime(100L)
+            .limit(2)
+            .sourceId("test-source-id")
+            .build();
+
+        requestRead(this.logCacheClient, request, 0L, envelope(10L, "test-source-id-1"), envelope(20L, "test-source-id-2"));
+        requestRead(this.logCacheClient, request, 20L, envelope(20L, "test-source-id-2"), envelope(30L, "test-source-id-3"));
+        requestRead(this.logCacheClient, request, 30L, envelope(30L, "test-source-id-3"));
+
+        new LogCacheWalker(this.logCacheClient, request)
+            .walk()
+            .as(StepVerifier::create)
+            .expectNext(envelope(10L, "test-source-id-1"), envelope(20L, "test-source-id-2"), envelope(30L, "test-source-id-3"))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void walkAdaptiveInterval() {
+        ReadRequest request = ReadRequest.builder()
+            .limit(10)
+            .sourceId("test-source-id")
+            .build();
+
+        requestRead(this.logCacheClient, request, 0L, envelope(10L, "test-source-id-1"));
+        when(this.logCacheClient.read(read(request, 10L)))
+            .thenReturn(Mono.just(response(envelope(10L, "test-source-id-1"))))
+            .thenReturn(Mono.just(response(envelope(10L, "test-source-id-1"))))
+            .thenReturn(Mono.just(response(envelope(10L, "test-source-id-1"), envelope(20L, "test-source-id-2"))));
+
+        StepVerifier.withVirtualTime(() -> new LogCacheWalker(this.logCacheClient, request, Duration.ofSeconds(1), Duration.ofSeconds(4))
+            .walk()
+            .take(2))
+            .expectSubscription()
+            .expectNext(envelope(10L, "test-source-id-1"))
+            .expectNoEvent(Duration.ofSeconds(7).minusMillis(1))
+            .thenAwait(Duration.ofMillis(1))
+            .expectNext(envelope(20L, "test-source-id-2"))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void walkDescending() {
+        new LogCacheWalker(this.logCacheClient, ReadRequest.builder()
+            .descending(true)
+            .sourceId("test-source-id")
+            .build());
+    }
+
+    @Test
+    public void walkFullPageOfDuplicates() {
+        ReadRequest request = ReadRequest.builder()
+            .endTime(100L)
+            .limit(1)
+            .sourceId("test-source-id")
+            .build();
+
+        requestRead(this.logCacheClient, request, 0L, envelope(10L, "test-source-id-1"));
+        requestRead(this.logCacheClient, request, 10L, envelope(10L, "test-source-id-1"));
+        requestRead(this.logCacheClient, request, 11L);
+
+        new LogCacheWalker(this.logCacheClient, request)
+            .walk()
+            .as(StepVerifier::create)
+            .expectNext(envelope(10L, "test-source-id-1"))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    private static Envelope envelope(Long timestamp, String sourceId) {
+        return Envelope.builder()
+            .sourceId(sourceId)
+            .timestamp(timestamp)
+            .build();
+    }
+
+    private static ReadRequest read(ReadRequest request, Long startTime) {
+        return ReadRequest.builder()
+            .from(request)
+            .startTime(startTime)
+            .build();
+    }
+
+    private static void requestRead(LogCacheClient logCacheClient, ReadRequest request, Long startTime, Envelope... envelopes) {
+        when(logCacheClient.read(read(request, startTime)))
+            .thenReturn(Mono.just(response(envelopes)));
+    }
+
+    private static ReadResponse response(Envelope... envelopes) {
+        return ReadResponse.builder()
+            .envelopes(EnvelopeBatch.builder()
+                .batch(envelopes)
+                .build())
+            .build();
+    }
+
+}
@@ -16,11 +16,13 @@
 
 package org.cloudfoundry.util;
 
+import org.cloudfoundry.UnknownCloudFoundryException;
 import org.cloudfoundry.client.v2.spaces.ListSpacesRequest;
 import org.cloudfoundry.client.v2.spaces.ListSpacesResponse;
 import org.cloudfoundry.client.v2.spaces.SpaceEntity;
 import org.cloudfoundry.client.v2.spaces.SpaceResource;
 import org.cloudfoundry.client.v2.spaces.Spaces;
+import org.cloudfoundry.client.v3.Link;
 import org.cloudfoundry.client.v3.Pagination;
 import org.cloudfoundry.client.v3.packages.BitsData;
 import org.cloudfoundry.client.v3.packages.ListPackagesRequest;
@@ -45,6 +47,8 @@ import java.util.concurrent.TimeoutException;
 
 import static org.mockito.Mockito.RETURNS_SMART_NULLS;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public final class PaginationUtilsTest {
@@ -119,6 +123,181 @@ public final class PaginationUtilsTest {
             .verify(Duration.ofSeconds(1));
     }
 
+    @Test
+    public void requestClientV3ResourcesBackOff() {
+        Packages packages = mock(Packages.class, RETURNS_SMART_NULLS);
+
+        requestListPackages(packages, 1, 2);
+        when(packages
+            .list(ListPackagesRequest.builder()
+                .page(2)
+                .build()))
+            .thenReturn(Mono.error(new UnknownCloudFoundryException(429)))
+            .thenReturn(listPackagesResponse(2, 2));
+
+        PaginationUtils
+            .requestClientV3Resources(page -> packages
+                .list(ListPackagesRequest.builder()
+                    .page(page)
+                    .build()), PageFetchStrategy.ordered(1).withBackOff(Duration.ofMillis(1), Duration.ofMillis(10), 3))
+            .map(PackageResource::getId)
+            .as(StepVerifier::create)
+            .expectNext("1", "2")
+            .expectComplete()
+            .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    public void requestClientV3ResourcesLazily() {
+        Packages packages = mock(Packages.class, RETURNS_SMART_NULLS);
+
+        requestListPackages(packages, 1, 3);
+        requestListPackages(packages, 2, 3);
+        requestListPackages(packages, 3, 3);
+
+        PaginationUtils
+            .requestClientV3ResourcesLazily(page -> packages
+                .list(ListPackagesRequest.builder()
+                    .page(page)
+                    .build()))
+            .map(PackageResource::getId)
+            .as(StepVerifier::create)
+            .expectNext("1", "2", "3")
+            .expectComplete()
+            .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    public void requestClientV3ResourcesLazilyCancelled() {
+        Packages packages = mock(Packages.class, RETURNS_SMART_NULLS);
+
+        requestListPackages(packages, 1, 3);
+        requestListPackages(packages, 2, 3);
+        requestListPackages(packages, 3, 3);
+
+        PaginationUtils
+            .requestClientV3ResourcesLazily(page -> packages
+                .list(ListPackagesRequest.builder()
+                    .page(page)
+                    .build()))
+            .next()
+            .map(PackageResource::getId)
+            .as(StepVerifier::create)
+            .expectNext("1")
+            .expectComplete()
+            .verify(Duration.ofSeconds(1));
+
+        verify(packages, never()).list(ListPackagesRequest.builder()
+            .page(2)
+            .build());
+    }
+
+    @Test
+    public void requestClientV3ResourcesLazilyPageBoundary() {
+        Packages packages = mock(Packages.class, RETURNS_SMART_NULLS);
+
+        requestListPackages(packages, 1, 3);
+        requestListPackages(packages, 2, 3);
+        requestListPackages(packages, 3, 3);
+
+        PaginationUtils
+            .requestClientV3ResourcesLazily(page -> packages
+                .list(ListPackagesRequest.builder()
+                    .page(page)
+                    .build()))
+            .map(PackageResource::getId)
+            .as(flux -> StepVerifier.create(flux, 1))
+            .expectNext("1")
+            .then(() -> verify(packages, never()).list(ListPackagesRequest.builder()
+                .page(2)
+                .build()))
+            .thenRequest(1)
+            .expectNext("2")
+            .thenCancel()
+            .verify(Duration.ofSeconds(1));
+
+        verify(packages, never()).list(ListPackagesRequest.builder()
+            .page(3)
+            .build());
+    }
+
+    @Test
+    public void requestClientV3ResourcesOrdered() {
+        Packages packages = mock(Packages.class, RETURNS_SMART_NULLS);
+
+        requestListPackages(packages, 1, 3);
+        when(packages
+            .list(ListPackagesRequest.builder()
+                .page(2)
+                .build()))
+            .thenReturn(listPackagesResponse(2, 3).delayElement(Duration.ofMillis(100)));
+        requestListPackages(packages, 3, 3);
+
+        PaginationUtils
+            .requestClientV3Resources(page -> packages
+                .list(ListPackagesRequest.builder()
+                    .page(page)
+                    .build()), PageFetchStrategy.ordered(2))
+            .map(PackageResource::getId)
+            .as(StepVerifier::create)
+            .expectNext("1", "2", "3")
+            .expectComplete()
+            .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    public void requestClientV3StreamedResources() {
+        Packages packages = mock(Packages.class, RETURNS_SMART_NULLS);
+
+        requestListPackages(packages, 1, 3);
+        requestListPackages(packages, 2, 3);
+        requestListPackages(packages, 3, 3);
+
+        PaginationUtils
+            .<PackageResource, ListPackagesResponse>requestClientV3StreamedResources((page, pageConsumer) -> packages
+                .list(ListPackagesRequest.builder()
+                    .page(page)
+                    .build())
+                .doOnNext(pageConsumer)
+                .flatMapIterable(ListPackagesResponse::getResources))
+            .map(PackageResource::getId)
+            .as(StepVerifier::create)
+            .expectNext("1", "2", "3")
+            .expectComplete()
+            .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    public void requestClientV3StreamedResourcesPageBoundary() {
+        Packages packages = mock(Packages.class, RETURNS_SMART_NULLS);
+
+        requestListPackages(packages, 1, 3);
+        requestListPackages(packages, 2, 3);
+        requestListPackages(packages, 3, 3);
+
+        PaginationUtils
+            .<PackageResource, ListPackagesResponse>requestClientV3StreamedResources((page, pageConsumer) -> packages
+                .list(ListPackagesRequest.builder()
+                    .page(page)
+                    .build())
+                .doOnNext(pageConsumer)
+                .flatMapIterable(ListPackagesResponse::getResources))
+            .map(PackageResource::getId)
+            .as(flux -> StepVerifier.create(flux, 1))
+            .expectNext("1")
+            .then(() -> verify(packages, never()).list(ListPackagesRequest.builder()
+                .page(2)
+                .build()))
+            .thenRequest(1)
+            .expectNext("2")
+            .thenCancel()
+            .verify(Duration.ofSeconds(1));
+
+        verify(packages, never()).list(ListPackagesRequest.builder()
+            .page(3)
+            .build());
+    }
+
     @Test
     public void requestUaaResources() {
         Users users = mock(Users.class, RETURNS_SMART_NULLS);
@@ -154,26 +333,33 @@ public final class PaginationUtilsTest {
             .verify(Duration.ofSeconds(1));
     }
 
+    private static Mono<ListPackagesResponse> listPackagesResponse(Integer page, Integer totalPages) {
+        return Mono
+            .just(ListPackagesResponse.builder()
+                .resource(PackageResource.builder()
+                    .id(page.toString())
+                    .createdAt("test-created-at")
+                    .updatedAt("test-updated-at")
+                    .type(PackageType.BITS)
+                    .data(BitsData.builder()
+                        .build())
+                    .state(PackageState.READY)
+                    .build())
+                .pagination(Pagination.builder()
+                    .next(page < totalPages ? Link.builder()
+                        .href("https://api.run.pivotal.io/v3/packages?page=" + (page + 1))
+                        .build() : null)
+                    .totalPages(totalPages)
+                    .build())
+                .build());
+    }
+
     private static void requestListPackages(Packages packages, Integer page, Integer totalPages) {
         when(packages
             .list(ListPackagesRequest.builder()
                 .page(page)
                 .build()))
-            .thenReturn(Mono
-                .just(ListPackagesResponse.builder()
-                    .resource(PackageResource.builder()
-                        .id(page.toString())
-                        .createdAt("test-created-at")
-                        .updatedAt("test-updated-at")
-                        .type(PackageType.BITS)
-                        .data(BitsData.builder()
-                            .build())
-                        .state(PackageState.READY)
-                        .build())
-                    .pagination(Pagination.builder()
-                        .totalPages(totalPages)
-                        .build())
-                    .build()));
+            .thenReturn(listPackagesResponse(page, totalPages));
     }
 
     private static void requestListPackagesEmpty(Packages packages) {
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.util;
+
+import org.cloudfoundry.client.CloudFoundryClient;
+import org.cloudfoundry.client.v2.resourcematch.ListMatchingResourcesRequest;
+import org.cloudfoundry.client.v2.resourcematch.ListMatchingResourcesResponse;
+import org.cloudfoundry.client.v2.resourcematch.Resource;
+import org.cloudfoundry.client.v2.resourcematch.ResourceMatch;
+import org.cloudfoundry.util.ResourceMatchingUtils.ArtifactMetadata;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_SMART_NULLS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public final class ResourceMatchingUtilsTest {
+
+    private final CloudFoundryClient cloudFoundryClient = mock(CloudFoundryClient.class, RETURNS_SMART_NULLS);
+
+    private final ResourceMatch resourceMatch = mock(ResourceMatch.class, RETURNS_SMART_NULLS);
+
+    {
+        when(this.cloudFoundryClient.resourceMatch()).thenReturn(this.resourceMatch);
+    }
+
+    @Test
+    public void getMatchedResourcesBatched() {
+        requestListMatchingResources("test-hash-1", true);
+        requestListMatchingResources("test-hash-2", false);
+
+        ResourceMatchingUtils
+            .getMatchedResources(this.cloudFoundryClient, Flux.just(
+                new ArtifactMetadata("test-hash-1", "test-path-1", "rw-r--r--", 1),
+                new ArtifactMetadata("test-hash-1", "test-path-2", "rw-r--r--", 1),
+                new ArtifactMetadata("test-hash-2", "test-path-3", "rw-r--r--", 1),
+                new ArtifactMetadata("test-hash-2", "test-path-4", "rw-r--r--", 1),
+                new ArtifactMetadata("test-hash-1", "test-path-5", "rw-r--r--", 1)), 2, 1)
+            .flatMapIterable(matched -> matched)
+            .map(ArtifactMetadata::getPath)
+            .collectList()
+            .as(StepVerifier::create)
+            .consumeNextWith(paths -> assertThat(paths).containsExactlyInAnyOrder("test-path-1", "test-path-2", "test-path-5"))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        verify(this.resourceMatch, times(3)).list(any());
+        verify(this.resourceMatch, times(2)).list(listMatchingResourcesRequest("test-hash-1"));
+        verify(this.resourceMatch, times(1)).list(listMatchingResourcesRequest("test-hash-2"));
+    }
+
+    private static ListMatchingResourcesRequest listMatchingResourcesRequest(String hash) {
+        return ListMatchingResourcesRequest.builder()
+            .resource(resource(hash))
+            .build();
+    }
+
+    private static Resource resource(String hash) {
+        return Resource.builder()
+            .hash(hash)
+            .mode("rw-r--r--")
+            .size(1)
+            .build();
+    }
+
+    private void requestListMatchingResources(String hash, boolean matched) {
+        ListMatchingResourcesResponse.Builder response = ListMatchingResourcesResponse.builder();
+        if (matched) {
+            response.resource(resource(hash));
+        }
+
+        when(this.resourceMatch
+            .list(listMatchingResourcesRequest(hash)))
+            .thenReturn(Mono
+                .just(response.build()));
+    }
+
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.util;
+
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+public final class SortingUtilsTest {
+
+    private static final Duration LATENESS = Duration.ofSeconds(10);
+
+    @Test
+    public void watermark() {
+        Sinks.Many<String> source = Sinks.many().unicast().onBackpressureBuffer();
+
+        source.asFlux()
+            .transform(SortingUtils.watermark(SortingUtilsTest::eventTime, LATENESS, Integer.MAX_VALUE))
+            .as(StepVerifier::create)
+            .then(() -> source.tryEmitNext("15-a"))
+            .then(() -> source.tryEmitNext("10-b"))
+            .then(() -> source.tryEmitNext("20-c"))
+            .expectNext("10-b")
+            .then(() -> source.tryEmitNext("30-d"))
+            .expectNext("15-a", "20-c")
+            .then(source::tryEmitComplete)
+            .expectNext("30-d")
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void watermarkEqualEventTimes() {
+        Flux.just("10-a", "10-b", "5-c", "10-d")
+            .transform(SortingUtils.watermark(SortingUtilsTest::eventTime, LATENESS, Integer.MAX_VALUE))
+            .as(StepVerifier::create)
+            .expectNext("5-c", "10-a", "10-b", "10-d")
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void watermarkError() {
+        Flux.just("20-a", "10-b", "15-c")
+            .concatWith(Flux.error(new IllegalStateException()))
+            .transform(SortingUtils.watermark(SortingUtilsTest::eventTime, LATENESS, Integer.MAX_VALUE))
+            .as(StepVerifier::create)
+            .expectNext("10-b")
+            .expectError(IllegalStateException.class)
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void watermarkIdle() {
+        Sinks.Many<String> source = Sinks.many().unicast().onBackpressureBuffer();
+
+        StepVerifier.withVirtualTime(() -> source.asFlux()
+            .transform(SortingUtils.watermark(SortingUtilsTest::eventTime, Duration.ofSeconds(10), Integer.MAX_VALUE)))
+            .then(() -> source.tryEmitNext("20-a"))
+            .then(() -> source.tryEmitNext("10-b"))
+            .expectNoEvent(Duration.ofMillis(9_999))
+            .thenAwait(Duration.ofMillis(1))
+            .expectNext("10-b", "20-a")
+            .then(() -> source.tryEmitNext("5-c"))
+            .expectNoEvent(Duration.ofMillis(9_999))
+            .thenAwait(Duration.ofMillis(1))
+            .expectNext("5-c")
+            .then(source::tryEmitComplete)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void watermarkIdleAfterLastArrival() {
+        Sinks.Many<String> source = Sinks.many().unicast().onBackpressureBuffer();
+
+        StepVerifier.withVirtualTime(() -> source.asFlux()
+            .transform(SortingUtils.watermark(SortingUtilsTest::eventTime, Duration.ofSeconds(10), Integer.MAX_VALUE)))
+            .then(() -> source.tryEmitNext("20-a"))
+            .expectNoEvent(Duration.ofSeconds(6))
+            .then(() -> source.tryEmitNext("15-b"))
+            .expectNoEvent(Duration.ofMillis(9_999))
+            .thenAwait(Duration.ofMillis(1))
+            .expectNext("15-b", "20-a")
+            .then(source::tryEmitComplete)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void watermarkMaxBuffered() {
+        Sinks.Many<String> source = Sinks.many().unicast().onBackpressureBuffer();
+
+        source.asFlux()
+            .transform(SortingUtils.watermark(SortingUtilsTest::eventTime, LATENESS, 2))
+            .as(StepVerifier::create)
+            .then(() -> source.tryEmitNext("12-a"))
+            .then(() -> source.tryEmitNext("11-b"))
+            .then(() -> source.tryEmitNext("13-c"))
+            .expectNext("11-b")
+            .then(() -> source.tryEmitNext("10-d"))
+            .expectNext("10-d")
+            .then(source::tryEmitComplete)
+            .expectNext("12-a", "13-c")
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    private static long eventTime(String value) {
+        return Duration.ofSeconds(Long.parseLong(value.substring(0, value.indexOf('-')))).toNanos();
+    }
+
+}